@@ -5,21 +5,29 @@ import org.hikarii.customrecipes.command.CustomRecipesCommand;
 import org.hikarii.customrecipes.config.ConfigManager;
 import org.hikarii.customrecipes.config.ConfigMigration;
 import org.hikarii.customrecipes.config.DefaultRecipesManager;
+import org.hikarii.customrecipes.config.RecipeFileWatcher;
+import org.hikarii.customrecipes.config.RecipeReloadResult;
 import org.hikarii.customrecipes.config.RecipeStateTracker;
+import org.hikarii.customrecipes.gui.ChatPromptService;
+import org.hikarii.customrecipes.gui.GUIDispatcher;
 import org.hikarii.customrecipes.language.LanguageManager;
 import org.hikarii.customrecipes.listener.FurnaceFuelListener;
-import org.hikarii.customrecipes.listener.RecipeAmountListener;
 import org.hikarii.customrecipes.listener.RecipeCraftListener;
 import org.hikarii.customrecipes.listener.RecipeDiscoverListener;
 import org.hikarii.customrecipes.listener.RecipeHidingListener;
-import org.hikarii.customrecipes.listener.RecipePreviewListener;
+import org.hikarii.customrecipes.listener.prepare.PrepareCraftPipeline;
+import org.hikarii.customrecipes.listener.prepare.RandomPreviewCache;
 import org.hikarii.customrecipes.recipe.CraftEventPresetManager;
 import org.hikarii.customrecipes.recipe.CraftTracker;
 import org.hikarii.customrecipes.recipe.RecipeDataManager;
+import org.hikarii.customrecipes.recipe.RecipeKeyClassifier;
 import org.hikarii.customrecipes.recipe.RecipeManager;
 import org.hikarii.customrecipes.recipe.RecipeWorldManager;
 import org.hikarii.customrecipes.integration.VaultIntegration;
 import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeManager;
+import org.hikarii.customrecipes.storage.PlayerDataStorage;
+import org.hikarii.customrecipes.trace.TraceCategory;
+import org.hikarii.customrecipes.trace.TraceManager;
 import org.hikarii.customrecipes.update.UpdateChecker;
 import org.hikarii.customrecipes.update.UpdateNotifier;
 import org.hikarii.customrecipes.update.UpdateSource;
@@ -29,12 +37,14 @@ import org.hikarii.customrecipes.version.MaterialValidator;
 import org.bstats.bukkit.Metrics;
 import org.bstats.charts.SimplePie;
 import org.bstats.charts.SingleLineChart;
+import java.util.function.Supplier;
 
 public final class CustomRecipes extends JavaPlugin {
     private static CustomRecipes instance;
     private ConfigManager configManager;
     private ConfigMigration configMigration;
     private RecipeManager recipeManager;
+    private RecipeKeyClassifier recipeKeyClassifier;
     private boolean debugMode = false;
     private boolean keepSpawnEggNames = false;
     private boolean useCraftedCustomNames = true;
@@ -50,17 +60,30 @@ public final class CustomRecipes extends JavaPlugin {
     private VaultIntegration vaultIntegration;
     private CraftEventPresetManager craftEventPresetManager;
     private org.hikarii.customrecipes.data.PlayerFavoritesManager playerFavoritesManager;
+    private TraceManager traceManager;
+    private PlayerDataStorage playerDataStorage;
+    private RecipeFileWatcher recipeFileWatcher;
+    private GUIDispatcher guiDispatcher;
+    private ChatPromptService chatPromptService;
+    private FurnaceFuelListener furnaceFuelListener;
+    private RandomPreviewCache randomPreviewCache;
 
     @Override
     public void onEnable() {
         instance = this;
         saveDefaultConfig();
         MessageUtil.setPlugin(this);
+        debugMode = getConfig().getBoolean("debug", false);
+        this.traceManager = new TraceManager(this);
+        traceManager.start();
 
         this.versionManager = new VersionManager();
         this.materialValidator = new MaterialValidator(this, versionManager);
         getLogger().info("Running on Minecraft " + versionManager.getVersionString());
 
+        this.playerDataStorage = PlayerDataStorage.create(this);
+        getLogger().info("Using " + playerDataStorage.getName() + " player data storage");
+        this.recipeKeyClassifier = new RecipeKeyClassifier(this);
         this.recipeManager = new RecipeManager(this);
         this.recipeDataManager = new RecipeDataManager(this);
         this.recipeWorldManager = new RecipeWorldManager(this);
@@ -75,6 +98,9 @@ public final class CustomRecipes extends JavaPlugin {
         this.languageManager = new LanguageManager(this);
 
         this.craftTracker = new CraftTracker(this);
+        this.guiDispatcher = new GUIDispatcher(this);
+        this.chatPromptService = new ChatPromptService(this);
+        this.randomPreviewCache = new RandomPreviewCache();
         this.vaultIntegration = new VaultIntegration(this);
         this.craftEventPresetManager = new CraftEventPresetManager(this);
         this.playerFavoritesManager = new org.hikarii.customrecipes.data.PlayerFavoritesManager(this);
@@ -87,6 +113,9 @@ public final class CustomRecipes extends JavaPlugin {
             getServer().getPluginManager().disablePlugin(this);
             return;
         }
+        this.recipeFileWatcher = new RecipeFileWatcher(this,
+                configManager.getRecipeFileManager().getRecipesFolder(), vanillaRecipeManager.getVanillaRecipesFolder());
+        recipeFileWatcher.reload();
         registerCommands();
         registerListeners();
         getLogger().info("CustomRecipes has been enabled!");
@@ -97,17 +126,36 @@ public final class CustomRecipes extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (recipeFileWatcher != null) {
+            recipeFileWatcher.stop();
+        }
         if (recipeManager != null) {
             recipeManager.unregisterAll();
         }
+        if (recipeKeyClassifier != null) {
+            debug("Recipe key classifier: " + recipeKeyClassifier.getFastPathEvents() + " fast path, " +
+                    recipeKeyClassifier.getSlowPathEvents() + " slow path events");
+        }
+        if (furnaceFuelListener != null) {
+            debug("Furnace state registry: " + furnaceFuelListener.getTrackedFurnaceCount() + " furnaces tracked");
+        }
         if (updateChecker != null) {
             updateChecker.stopPeriodicCheck();
         }
-        if (vanillaRecipeManager != null) {
-            vanillaRecipeManager.stopCleanupTask();
-        }
         if (craftTracker != null) {
-            craftTracker.saveData();
+            craftTracker.shutdown();
+        }
+        if (chatPromptService != null) {
+            chatPromptService.shutdown();
+        }
+        if (guiDispatcher != null) {
+            guiDispatcher.shutdown();
+        }
+        if (playerDataStorage != null) {
+            playerDataStorage.close();
+        }
+        if (traceManager != null) {
+            traceManager.shutdown();
         }
         getLogger().info("CustomRecipes has been disabled!");
     }
@@ -118,7 +166,8 @@ public final class CustomRecipes extends JavaPlugin {
             debugMode = getConfig().getBoolean("debug", false);
             useCraftedCustomNames = getConfig().getBoolean("use-crafted-custom-names", true);
             keepSpawnEggNames = getConfig().getBoolean("spawn-egg-keep-custom-name", false);
-            
+            traceManager.reload();
+
             configManager.syncEnabledRecipesWithFiles();
             configManager.loadRecipes();
             recipeStateTracker.syncEnabledRecipes();
@@ -136,6 +185,43 @@ public final class CustomRecipes extends JavaPlugin {
         }
     }
 
+    public RecipeReloadResult reloadConfiguration() {
+        try {
+            reloadConfig();
+            boolean previousCraftedNames = useCraftedCustomNames;
+            boolean previousSpawnEggNames = keepSpawnEggNames;
+            debugMode = getConfig().getBoolean("debug", false);
+            useCraftedCustomNames = getConfig().getBoolean("use-crafted-custom-names", true);
+            keepSpawnEggNames = getConfig().getBoolean("spawn-egg-keep-custom-name", false);
+            traceManager.reload();
+            if (previousCraftedNames != useCraftedCustomNames || previousSpawnEggNames != keepSpawnEggNames) {
+                debug("Result naming options changed, rebuilding all recipes");
+                configManager.clearFingerprints();
+            }
+
+            configManager.syncEnabledRecipesWithFiles();
+            RecipeReloadResult result = configManager.reloadRecipes();
+            recipeStateTracker.syncEnabledRecipes();
+            result = result.withRegistration(recipeManager.applyRecipeChanges(result.updated(), result.removed()));
+            if (!result.updated().isEmpty() || !result.removed().isEmpty()) {
+                configManager.saveRecipeBundle();
+            }
+            if (recipeWorldManager != null) {
+                recipeWorldManager.loadWorldRestrictions();
+            }
+            if (recipeFileWatcher != null) {
+                recipeFileWatcher.reload();
+            }
+            return result;
+        } catch (Exception e) {
+            getLogger().severe("Error reloading configuration: " + e.getMessage());
+            if (debugMode) {
+                e.printStackTrace();
+            }
+            return null;
+        }
+    }
+
     private void registerCommands() {
         CustomRecipesCommand commandExecutor = new CustomRecipesCommand(this);
         getCommand("customrecipes").setExecutor(commandExecutor);
@@ -143,24 +229,23 @@ public final class CustomRecipes extends JavaPlugin {
     }
 
     private void registerListeners() {
+        getServer().getPluginManager().registerEvents(guiDispatcher, this);
+        getServer().getPluginManager().registerEvents(chatPromptService, this);
         getServer().getPluginManager().registerEvents(
                 new RecipeDiscoverListener(this), this
         );
         getServer().getPluginManager().registerEvents(
                 new RecipeHidingListener(this), this
         );
-        getServer().getPluginManager().registerEvents(
-                new RecipeAmountListener(this), this
-        );
         getServer().getPluginManager().registerEvents(
                 new RecipeCraftListener(this), this
         );
+        this.furnaceFuelListener = new FurnaceFuelListener(this);
+        getServer().getPluginManager().registerEvents(furnaceFuelListener, this);
         getServer().getPluginManager().registerEvents(
-                new FurnaceFuelListener(this), this
-        );
-        getServer().getPluginManager().registerEvents(
-                new RecipePreviewListener(this), this
+                new PrepareCraftPipeline(this), this
         );
+        getServer().getPluginManager().registerEvents(randomPreviewCache, this);
         getServer().getPluginManager().registerEvents(
                 new org.hikarii.customrecipes.listener.VanillaRecipeSyncListener(this), this
         );
@@ -170,6 +255,9 @@ public final class CustomRecipes extends JavaPlugin {
         getServer().getPluginManager().registerEvents(
                 new org.hikarii.customrecipes.listener.NoPlaceBlockListener(this), this
         );
+        getServer().getPluginManager().registerEvents(
+                new org.hikarii.customrecipes.listener.CraftDataListener(this), this
+        );
     }
 
     public static CustomRecipes getInstance() {
@@ -184,6 +272,22 @@ public final class CustomRecipes extends JavaPlugin {
         return recipeManager;
     }
 
+    public RecipeKeyClassifier getRecipeKeyClassifier() {
+        return recipeKeyClassifier;
+    }
+
+    public GUIDispatcher getGUIDispatcher() {
+        return guiDispatcher;
+    }
+
+    public ChatPromptService getChatPromptService() {
+        return chatPromptService;
+    }
+
+    public RandomPreviewCache getRandomPreviewCache() {
+        return randomPreviewCache;
+    }
+
     public VanillaRecipeManager getVanillaRecipeManager() {
         return vanillaRecipeManager;
     }
@@ -208,6 +312,10 @@ public final class CustomRecipes extends JavaPlugin {
         return useCraftedCustomNames;
     }
 
+    public PlayerDataStorage getPlayerDataStorage() {
+        return playerDataStorage;
+    }
+
     public RecipeDataManager getRecipeDataManager() {
         return recipeDataManager;
     }
@@ -224,6 +332,14 @@ public final class CustomRecipes extends JavaPlugin {
         }
     }
 
+    public void trace(TraceCategory category, Supplier<String> message) {
+        traceManager.trace(category, message);
+    }
+
+    public TraceManager getTraceManager() {
+        return traceManager;
+    }
+
     private void initializeMetrics() {
         int pluginId = 27998;
         Metrics metrics = new Metrics(this, pluginId);
@@ -7,6 +7,7 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.command.subcommands.BenchmarkSubcommand;
 import org.hikarii.customrecipes.command.subcommands.GuiSubcommand;
 import org.hikarii.customrecipes.command.subcommands.ListSubcommand;
 import org.hikarii.customrecipes.command.subcommands.ReloadSubcommand;
@@ -24,6 +25,7 @@ public class CustomRecipesCommand implements CommandExecutor, TabCompleter {
         registerSubcommand(new ReloadSubcommand(plugin));
         registerSubcommand(new GuiSubcommand(plugin));
         registerSubcommand(new ListSubcommand(plugin));
+        registerSubcommand(new BenchmarkSubcommand(plugin));
     }
 
     private void registerSubcommand(SubCommand subCommand) {
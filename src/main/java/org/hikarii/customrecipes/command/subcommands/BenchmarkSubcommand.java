@@ -0,0 +1,146 @@
+package org.hikarii.customrecipes.command.subcommands;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Furnace;
+import org.bukkit.command.CommandSender;
+import org.bukkit.inventory.ItemStack;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.command.CustomRecipesCommand;
+import org.hikarii.customrecipes.util.MessageUtil;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class BenchmarkSubcommand implements CustomRecipesCommand.SubCommand {
+    private static final int DEFAULT_ITERATIONS = 1000;
+    private static final int MAX_FURNACES = 256;
+
+    private final CustomRecipes plugin;
+
+    public BenchmarkSubcommand(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() {
+        return "benchmark";
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of("bench");
+    }
+
+    @Override
+    public String getDescription() {
+        return "Compare furnace state reads with and without snapshots";
+    }
+
+    @Override
+    public String getUsage() {
+        return "customrecipes benchmark [iterations]";
+    }
+
+    @Override
+    public String getPermission() {
+        return "customrecipes.manage";
+    }
+
+    @Override
+    public void execute(CommandSender sender, String[] args) {
+        int iterations = DEFAULT_ITERATIONS;
+        if (args.length > 0) {
+            try {
+                iterations = Math.max(1, Integer.parseInt(args[0]));
+            } catch (NumberFormatException e) {
+                MessageUtil.sendError(sender, plugin.getLanguageManager().getMessage("general.invalid_command"));
+                return;
+            }
+        }
+
+        List<Block> furnaces = findLoadedFurnaces();
+        if (furnaces.isEmpty()) {
+            MessageUtil.sendWarning(sender, plugin.getLanguageManager().getMessage("general.benchmark_no_furnaces"));
+            return;
+        }
+
+        measure(furnaces, Math.min(iterations, 10), true);
+        measure(furnaces, Math.min(iterations, 10), false);
+        Result snapshot = measure(furnaces, iterations, true);
+        Result live = measure(furnaces, iterations, false);
+
+        long reads = (long) furnaces.size() * iterations;
+        Map<String, String> placeholders = Map.of(
+                "furnaces", String.valueOf(furnaces.size()),
+                "iterations", String.valueOf(iterations),
+                "snapshot_bytes", formatPerRead(snapshot.allocatedBytes(), reads),
+                "snapshot_ns", formatPerRead(snapshot.nanos(), reads),
+                "live_bytes", formatPerRead(live.allocatedBytes(), reads),
+                "live_ns", formatPerRead(live.nanos(), reads)
+        );
+        MessageUtil.sendInfo(sender, plugin.getLanguageManager().getMessage("general.benchmark_furnace_state", placeholders));
+    }
+
+    private List<Block> findLoadedFurnaces() {
+        List<Block> furnaces = new ArrayList<>();
+        for (World world : plugin.getServer().getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                for (BlockState state : chunk.getTileEntities()) {
+                    if (state instanceof Furnace) {
+                        furnaces.add(state.getBlock());
+                        if (furnaces.size() >= MAX_FURNACES) {
+                            return furnaces;
+                        }
+                    }
+                }
+            }
+        }
+        return furnaces;
+    }
+
+    private Result measure(List<Block> furnaces, int iterations, boolean useSnapshot) {
+        int seen = 0;
+        long allocatedBefore = currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (Block block : furnaces) {
+                BlockState state = useSnapshot ? block.getState() : block.getState(false);
+                if (state instanceof Furnace furnace) {
+                    ItemStack input = furnace.getInventory().getSmelting();
+                    if (input != null) {
+                        seen++;
+                    }
+                }
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = currentThreadAllocatedBytes() - allocatedBefore;
+        plugin.debug("Furnace state benchmark (" + (useSnapshot ? "snapshot" : "live") + "): " + seen + " inputs read");
+        return new Result(allocated, nanos);
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean) {
+            return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static String formatPerRead(long total, long reads) {
+        return String.format(Locale.ROOT, "%.1f", (double) total / reads);
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String[] args) {
+        return Collections.emptyList();
+    }
+
+    private record Result(long allocatedBytes, long nanos) {
+    }
+}
@@ -3,10 +3,12 @@ package org.hikarii.customrecipes.command.subcommands;
 import org.bukkit.command.CommandSender;
 import org.hikarii.customrecipes.CustomRecipes;
 import org.hikarii.customrecipes.command.CustomRecipesCommand;
+import org.hikarii.customrecipes.config.RecipeReloadResult;
 import org.hikarii.customrecipes.language.LanguageManager;
 import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public class ReloadSubcommand implements CustomRecipesCommand.SubCommand {
@@ -50,20 +52,36 @@ public class ReloadSubcommand implements CustomRecipesCommand.SubCommand {
 
         langManager.reload();
 
-        boolean success = plugin.loadConfiguration();
+        RecipeReloadResult result = plugin.reloadConfiguration();
         long duration = System.currentTimeMillis() - startTime;
 
-        if (success) {
+        if (result != null) {
             int recipeCount = plugin.getRecipeManager().getRecipeCount();
             Map<String, String> placeholders = Map.of(
                 "count", String.valueOf(recipeCount),
                 "time", String.valueOf(duration)
             );
             MessageUtil.sendSuccess(sender, langManager.getMessage("general.reload_success", placeholders));
+            Map<String, String> timings = Map.of(
+                "added", String.valueOf(result.added().size()),
+                "changed", String.valueOf(result.changed()),
+                "removed", String.valueOf(result.removed().size()),
+                "unchanged", String.valueOf(result.unchanged()),
+                "scan", formatMillis(result.scanMicros()),
+                "parse", formatMillis(result.parseMicros()),
+                "register", formatMillis(result.registerMicros()),
+                "resend", formatMillis(result.resendMicros())
+            );
+            MessageUtil.sendInfo(sender, langManager.getMessage("general.reload_timings", timings));
         } else {
             MessageUtil.sendError(sender, langManager.getMessage("general.reload_failed"));
         }
     }
+
+    private static String formatMillis(long micros) {
+        return String.format(Locale.ROOT, "%.1f", micros / 1000.0);
+    }
+
     @Override
     public List<String> tabComplete(CommandSender sender, String[] args) {
         return Collections.emptyList();
@@ -1,25 +1,38 @@
 package org.hikarii.customrecipes.config;
 
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.hikarii.customrecipes.CustomRecipes;
 import org.hikarii.customrecipes.recipe.CustomRecipe;
 import org.hikarii.customrecipes.recipe.RecipeManager;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class ConfigManager {
     private final CustomRecipes plugin;
     private final RecipeConfigLoader recipeLoader;
     private final RecipeFileManager recipeFileManager;
+    private final RecipeLoadPipeline loadPipeline;
+    private final RecipeBundleCache bundleCache;
+    private final Map<String, RecipeFingerprint> fingerprints = new HashMap<>();
     public ConfigManager(CustomRecipes plugin) {
         this.plugin = plugin;
         this.recipeLoader = new RecipeConfigLoader(plugin);
+        this.loadPipeline = new RecipeLoadPipeline(plugin);
+        this.bundleCache = new RecipeBundleCache(plugin);
         this.recipeFileManager = new RecipeFileManager(plugin);
     }
 
@@ -27,51 +40,277 @@ public class ConfigManager {
         FileConfiguration config = plugin.getConfig();
         RecipeManager recipeManager = plugin.getRecipeManager();
         recipeManager.clearRecipes();
+        fingerprints.clear();
         List<String> enabledRecipes = config.getStringList("enabled-recipes");
         if (enabledRecipes.isEmpty()) {
             plugin.getLogger().warning("No recipes are enabled in configuration");
             return;
         }
+        Map<String, File> recipeFiles = recipeFileManager.indexRecipeFiles();
+        Map<String, RecipeBundleCache.Entry> cached = bundleCache.loadRecipes();
         Set<String> loadedKeys = new HashSet<>();
+        List<String> keys = new ArrayList<>();
         int successCount = 0;
         int failCount = 0;
+        int cachedCount = 0;
         for (String key : enabledRecipes) {
             try {
                 recipeLoader.validateKey(key);
-                String keyLower = key.toLowerCase();
-                if (loadedKeys.contains(keyLower)) {
+                if (!loadedKeys.add(key.toLowerCase())) {
                     plugin.getLogger().warning("Duplicate recipe key in enabled-recipes: " + key);
                     continue;
                 }
-                
-                File recipeFile = recipeFileManager.findRecipeFile(key);
-                ConfigurationSection recipeSection;
-                if (recipeFile != null) {
-                    YamlConfiguration fileConfig = YamlConfiguration.loadConfiguration(recipeFile);
-                    recipeSection = fileConfig;
-                    plugin.debug("Loading recipe '" + key + "' from file: " + recipeFile.getPath());
-                } else {
-                    recipeSection = config.getConfigurationSection(key);
-                    if (recipeSection == null) {
-                        throw new ValidationException("Recipe file not found and not in main config: " + key);
-                    }
-                    plugin.debug("Loading recipe '" + key + "' from main config (legacy)");
-                }
-                CustomRecipe recipe = recipeLoader.loadRecipe(key, recipeSection);
-                recipeManager.addRecipe(recipe);
-                loadedKeys.add(keyLower);
+            } catch (ValidationException e) {
+                logLoadFailure(key, e);
+                failCount++;
+                continue;
+            }
+            RecipeBundleCache.Entry entry = cached.get(key.toLowerCase());
+            if (entry != null && entry.fingerprint().matchesMetadata(recipeFiles.get(key.toLowerCase()))) {
+                recipeManager.addRecipe(entry.recipe());
+                fingerprints.put(key.toLowerCase(), entry.fingerprint());
                 successCount++;
-                plugin.debug("Loaded recipe: " + key);
+                cachedCount++;
+                continue;
+            }
+            keys.add(key);
+        }
+
+        List<RecipeLoadPipeline.Outcome<String, LoadedRecipe>> outcomes = loadPipeline.run(keys, key -> {
+            RecipeSource source = readRecipeSource(key, recipeFiles.get(key.toLowerCase()), config);
+            RecipeBundleCache.Entry entry = cached.get(key.toLowerCase());
+            if (entry != null && source.fingerprint().file() != null &&
+                    entry.fingerprint().hash() == source.fingerprint().hash()) {
+                return new LoadedRecipe(entry.recipe(), source.fingerprint());
+            }
+            return new LoadedRecipe(recipeLoader.loadRecipe(key, source.parse()), source.fingerprint());
+        });
+        int parsedCount = 0;
+        for (RecipeLoadPipeline.Outcome<String, LoadedRecipe> outcome : outcomes) {
+            if (outcome.error() != null) {
+                logLoadFailure(outcome.input(), outcome.error());
+                failCount++;
+                continue;
+            }
+            CustomRecipe recipe = outcome.value().recipe();
+            RecipeBundleCache.Entry entry = cached.get(outcome.input().toLowerCase());
+            if (entry != null && entry.recipe() == recipe) {
+                cachedCount++;
+            } else {
+                parsedCount++;
+            }
+            recipeManager.addRecipe(recipe);
+            fingerprints.put(outcome.input().toLowerCase(), outcome.value().fingerprint());
+            successCount++;
+            plugin.debug("Loaded recipe: " + outcome.input());
+        }
+        plugin.getLogger().info("Loaded " + successCount + " recipes successfully" +
+                (cachedCount > 0 ? " (" + cachedCount + " from cache)" : "") +
+                (failCount > 0 ? " (" + failCount + " failed)" : ""));
+        if (parsedCount > 0 || cached.size() != cachedCount) {
+            saveRecipeBundle();
+        }
+    }
+
+    public void saveRecipeBundle() {
+        if (!bundleCache.isEnabled()) {
+            return;
+        }
+        RecipeManager recipeManager = plugin.getRecipeManager();
+        List<RecipeBundleCache.Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, RecipeFingerprint> fingerprint : fingerprints.entrySet()) {
+            CustomRecipe recipe = recipeManager.getRecipe(fingerprint.getKey());
+            if (recipe != null && fingerprint.getValue().file() != null) {
+                entries.add(new RecipeBundleCache.Entry(recipe, fingerprint.getValue()));
+            }
+        }
+        bundleCache.saveRecipes(entries);
+    }
+
+    public RecipeBundleCache getRecipeBundleCache() {
+        return bundleCache;
+    }
+
+    public RecipeReloadResult reloadRecipes() {
+        FileConfiguration config = plugin.getConfig();
+        RecipeManager recipeManager = plugin.getRecipeManager();
+        long scanStart = System.nanoTime();
+        Map<String, File> recipeFiles = recipeFileManager.indexRecipeFiles();
+        Set<String> enabledKeys = new HashSet<>();
+        List<ReloadCandidate> candidates = new ArrayList<>();
+        Set<String> removed = new LinkedHashSet<>();
+        int unchanged = 0;
+        int failCount = 0;
+        for (String key : config.getStringList("enabled-recipes")) {
+            String keyLower = key.toLowerCase();
+            try {
+                recipeLoader.validateKey(key);
             } catch (ValidationException e) {
-                plugin.getLogger().severe("Failed to load recipe '" + key + "': " + e.getMessage());
-                if (plugin.isDebugMode() && e.getCause() != null) {
-                    e.getCause().printStackTrace();
+                logLoadFailure(key, e);
+                failCount++;
+                continue;
+            }
+            if (!enabledKeys.add(keyLower)) {
+                plugin.getLogger().warning("Duplicate recipe key in enabled-recipes: " + key);
+                continue;
+            }
+
+            File recipeFile = recipeFiles.get(keyLower);
+            RecipeFingerprint previous = recipeManager.hasRecipe(keyLower) ? fingerprints.get(keyLower) : null;
+            if (previous != null && previous.matchesMetadata(recipeFile)) {
+                unchanged++;
+                continue;
+            }
+            candidates.add(new ReloadCandidate(key, recipeFile, previous));
+        }
+        for (CustomRecipe recipe : recipeManager.getAllRecipes()) {
+            if (!enabledKeys.contains(recipe.getKey())) {
+                removed.add(recipe.getKey());
+                fingerprints.remove(recipe.getKey());
+            }
+        }
+        long parseStart = System.nanoTime();
+
+        List<RecipeLoadPipeline.Outcome<ReloadCandidate, LoadedRecipe>> outcomes = loadPipeline.run(candidates, candidate -> {
+            RecipeSource source = readRecipeSource(candidate.key(), candidate.file(), config);
+            if (candidate.previous() != null && candidate.previous().hash() == source.fingerprint().hash()) {
+                return new LoadedRecipe(null, source.fingerprint());
+            }
+            return new LoadedRecipe(recipeLoader.loadRecipe(candidate.key(), source.parse()), source.fingerprint());
+        });
+        Map<String, CustomRecipe> updated = new LinkedHashMap<>();
+        Set<String> added = new LinkedHashSet<>();
+        for (RecipeLoadPipeline.Outcome<ReloadCandidate, LoadedRecipe> outcome : outcomes) {
+            String key = outcome.input().key();
+            String keyLower = key.toLowerCase();
+            if (outcome.error() != null) {
+                logLoadFailure(key, outcome.error());
+                fingerprints.remove(keyLower);
+                if (recipeManager.hasRecipe(keyLower)) {
+                    removed.add(keyLower);
                 }
                 failCount++;
+                continue;
+            }
+            fingerprints.put(keyLower, outcome.value().fingerprint());
+            CustomRecipe recipe = outcome.value().recipe();
+            if (recipe == null) {
+                unchanged++;
+                continue;
+            }
+            updated.put(recipe.getKey(), recipe);
+            if (!recipeManager.hasRecipe(recipe.getKey())) {
+                added.add(recipe.getKey());
             }
+            plugin.debug("Reloaded recipe: " + key);
         }
-        plugin.getLogger().info("Loaded " + successCount + " recipes successfully" +
+        long parseEnd = System.nanoTime();
+
+        RecipeReloadResult result = new RecipeReloadResult(updated, added, removed, unchanged, failCount,
+                (parseStart - scanStart) / 1000, (parseEnd - parseStart) / 1000, 0L, 0L);
+        plugin.getLogger().info("Reloaded recipes: " + added.size() + " added, " + result.changed() + " changed, " +
+                removed.size() + " removed, " + unchanged + " unchanged" +
                 (failCount > 0 ? " (" + failCount + " failed)" : ""));
+        return result;
+    }
+
+    public RecipeFileChange readRecipeFile(File file) {
+        String key = file.getName().replace(".yml", "");
+        if (!file.isFile()) {
+            return new RecipeFileChange(key, null, null, null);
+        }
+        try {
+            recipeLoader.validateKey(key);
+            RecipeSource source = readRecipeSource(key, file, null);
+            return new RecipeFileChange(key, recipeLoader.loadRecipe(key, source.parse()), source.fingerprint(), null);
+        } catch (ValidationException e) {
+            return new RecipeFileChange(key, null, null, e);
+        }
+    }
+
+    public RecipeReloadResult applyRecipeFileChanges(List<RecipeFileChange> changes, long parseMicros) {
+        RecipeManager recipeManager = plugin.getRecipeManager();
+        RecipeStateTracker stateTracker = plugin.getRecipeStateTracker();
+        Map<String, CustomRecipe> updated = new LinkedHashMap<>();
+        Set<String> added = new LinkedHashSet<>();
+        Set<String> removed = new LinkedHashSet<>();
+        int unchanged = 0;
+        int failCount = 0;
+        for (RecipeFileChange change : changes) {
+            String keyLower = change.key().toLowerCase();
+            boolean loaded = recipeManager.hasRecipe(keyLower);
+            if (change.error() != null || change.recipe() == null) {
+                if (change.error() != null) {
+                    logLoadFailure(change.key(), change.error());
+                    failCount++;
+                } else {
+                    removeEnabledRecipe(change.key());
+                }
+                fingerprints.remove(keyLower);
+                if (loaded) {
+                    removed.add(keyLower);
+                }
+                continue;
+            }
+
+            RecipeFingerprint previous = fingerprints.get(keyLower);
+            if (loaded && previous != null && previous.hash() == change.fingerprint().hash()) {
+                fingerprints.put(keyLower, change.fingerprint());
+                unchanged++;
+                continue;
+            }
+            if (!loaded && !isRecipeEnabledIgnoreCase(change.key())) {
+                if (stateTracker.wasDefaultRecipeDeleted(change.key()) || stateTracker.isRecipeDisabled(change.key())) {
+                    plugin.debug("Skipping disabled/deleted recipe: " + change.key());
+                    continue;
+                }
+                addEnabledRecipe(change.key());
+            }
+            fingerprints.put(keyLower, change.fingerprint());
+            updated.put(change.recipe().getKey(), change.recipe());
+            if (!loaded) {
+                added.add(change.recipe().getKey());
+            }
+        }
+        return new RecipeReloadResult(updated, added, removed, unchanged, failCount, 0L, parseMicros, 0L, 0L);
+    }
+
+    private boolean isRecipeEnabledIgnoreCase(String recipeKey) {
+        for (String enabled : plugin.getConfig().getStringList("enabled-recipes")) {
+            if (enabled.equalsIgnoreCase(recipeKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clearFingerprints() {
+        fingerprints.clear();
+    }
+
+    private RecipeSource readRecipeSource(String key, File recipeFile, FileConfiguration config) throws ValidationException {
+        if (recipeFile != null) {
+            try {
+                byte[] content = Files.readAllBytes(recipeFile.toPath());
+                plugin.debug("Loading recipe '" + key + "' from file: " + recipeFile.getPath());
+                return new RecipeSource(key, content, null, RecipeFingerprint.of(recipeFile, content));
+            } catch (IOException e) {
+                throw new ValidationException("Failed to read recipe file: " + recipeFile.getName(), e);
+            }
+        }
+        ConfigurationSection recipeSection = config.getConfigurationSection(key);
+        if (recipeSection == null) {
+            throw new ValidationException("Recipe file not found and not in main config: " + key);
+        }
+        plugin.debug("Loading recipe '" + key + "' from main config (legacy)");
+        return new RecipeSource(key, null, recipeSection, RecipeFingerprint.of(recipeSection));
+    }
+
+    private void logLoadFailure(String key, ValidationException e) {
+        plugin.getLogger().severe("Failed to load recipe '" + key + "': " + e.getMessage());
+        if (plugin.isDebugMode() && e.getCause() != null) {
+            e.getCause().printStackTrace();
+        }
     }
 
     public boolean validateConfiguration() {
@@ -169,4 +408,29 @@ public class ConfigManager {
             plugin.debug("enabled-recipes already synchronized");
         }
     }
+
+    private record RecipeSource(String key, byte[] content, ConfigurationSection section, RecipeFingerprint fingerprint) {
+        ConfigurationSection parse() throws ValidationException {
+            if (section != null) {
+                return section;
+            }
+            YamlConfiguration fileConfig = new YamlConfiguration();
+            try {
+                fileConfig.loadFromString(new String(content, StandardCharsets.UTF_8));
+            } catch (InvalidConfigurationException e) {
+                throw new ValidationException("Invalid YAML in recipe file: " + fingerprint.file().getName(), e);
+            }
+            return fileConfig;
+        }
+    }
+
+    private record ReloadCandidate(String key, File file, RecipeFingerprint previous) {
+    }
+
+    private record LoadedRecipe(CustomRecipe recipe, RecipeFingerprint fingerprint) {
+    }
+
+    public record RecipeFileChange(String key, CustomRecipe recipe, RecipeFingerprint fingerprint,
+                                   ValidationException error) {
+    }
 }
\ No newline at end of file
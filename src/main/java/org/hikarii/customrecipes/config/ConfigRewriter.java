@@ -17,9 +17,13 @@ public class ConfigRewriter {
 
     private static final List<String> PRESERVED_KEYS = Arrays.asList(
             "debug",
+            "trace",
             "use-crafted-custom-names",
             "spawn-egg-keep-custom-name",
             "ignore-metadata",
+            "storage",
+            "file-watcher",
+            "recipe-cache",
             "world-restrictions",
             "recipe-world-settings",
             "enabled-recipes"
@@ -0,0 +1,178 @@
+package org.hikarii.customrecipes.config;
+
+import org.bukkit.Bukkit;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeInfo;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+public class RecipeBundleCache {
+    private static final int MAGIC = 0x43524243;
+    private static final int VERSION = 1;
+
+    private final CustomRecipes plugin;
+    private final File cacheFolder;
+    private final File recipesBundle;
+    private final File vanillaBundle;
+
+    public RecipeBundleCache(CustomRecipes plugin) {
+        this.plugin = plugin;
+        this.cacheFolder = new File(plugin.getDataFolder(), "cache");
+        this.recipesBundle = new File(cacheFolder, "recipes.bundle");
+        this.vanillaBundle = new File(cacheFolder, "vanilla-recipes.bundle");
+    }
+
+    public boolean isEnabled() {
+        return plugin.getConfig().getBoolean("recipe-cache", true);
+    }
+
+    public Map<String, Entry> loadRecipes() {
+        Map<String, Entry> entries = new HashMap<>();
+        if (!isEnabled() || !recipesBundle.isFile()) {
+            return entries;
+        }
+        long start = System.nanoTime();
+        try (DataInputStream in = open(recipesBundle)) {
+            if (!readHeader(in, environmentKey(), 0L)) {
+                plugin.debug("Recipe bundle is stale, ignoring it");
+                return entries;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                RecipeFingerprint fingerprint = new RecipeFingerprint(new File(in.readUTF()), in.readLong(),
+                        in.readLong(), in.readLong(), in.readLong());
+                CustomRecipe recipe = RecipeBundleCodec.readRecipe(in);
+                entries.put(recipe.getKey(), new Entry(recipe, fingerprint));
+            }
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().warning("Failed to read recipe bundle, recipes will be parsed from YAML: " + e.getMessage());
+            entries.clear();
+            return entries;
+        }
+        plugin.debug("Read " + entries.size() + " recipes from bundle in " + ((System.nanoTime() - start) / 1000) / 1000.0 + "ms");
+        return entries;
+    }
+
+    public void saveRecipes(Collection<Entry> entries) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                writeHeader(out, environmentKey(), 0L);
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    RecipeFingerprint fingerprint = entry.fingerprint();
+                    out.writeUTF(fingerprint.file().getPath());
+                    out.writeLong(fingerprint.lastModified());
+                    out.writeLong(fingerprint.size());
+                    out.writeLong(fingerprint.hash());
+                    out.writeLong(fingerprint.capturedAt());
+                    RecipeBundleCodec.writeRecipe(out, entry.recipe());
+                }
+            }
+            write(recipesBundle, bytes.toByteArray());
+            plugin.debug("Wrote recipe bundle with " + entries.size() + " recipes");
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().warning("Failed to write recipe bundle: " + e.getMessage());
+        }
+    }
+
+    public Map<String, VanillaRecipeInfo> loadVanillaRecipes(File... sources) {
+        if (!isEnabled() || !vanillaBundle.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = open(vanillaBundle)) {
+            if (!readHeader(in, environmentKey(), hashFiles(sources))) {
+                plugin.debug("Vanilla recipe bundle is stale, ignoring it");
+                return null;
+            }
+            int count = in.readInt();
+            Map<String, VanillaRecipeInfo> recipes = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                Map.Entry<String, VanillaRecipeInfo> entry = RecipeBundleCodec.readVanillaRecipe(in);
+                recipes.put(entry.getKey(), entry.getValue());
+            }
+            return recipes;
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().warning("Failed to read vanilla recipe bundle: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void saveVanillaRecipes(Map<String, VanillaRecipeInfo> recipes, File... sources) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                writeHeader(out, environmentKey(), hashFiles(sources));
+                out.writeInt(recipes.size());
+                for (Map.Entry<String, VanillaRecipeInfo> entry : recipes.entrySet()) {
+                    RecipeBundleCodec.writeVanillaRecipe(out, entry.getKey(), entry.getValue());
+                }
+            }
+            write(vanillaBundle, bytes.toByteArray());
+            plugin.debug("Wrote vanilla recipe bundle with " + recipes.size() + " recipes");
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().warning("Failed to write vanilla recipe bundle: " + e.getMessage());
+        }
+    }
+
+    private String environmentKey() {
+        File presetsFile = new File(plugin.getDataFolder(), "craft-event-presets.yml");
+        long presetsHash;
+        try {
+            presetsHash = hashFiles(presetsFile);
+        } catch (IOException e) {
+            presetsHash = -1L;
+        }
+        return plugin.getDescription().getVersion() + "|" + Bukkit.getBukkitVersion() + "|" + presetsHash + "|" +
+                plugin.isUseCraftedCustomNames() + "|" + plugin.isKeepSpawnEggNames();
+    }
+
+    private static long hashFiles(File... files) throws IOException {
+        CRC32C crc = new CRC32C();
+        for (File file : files) {
+            if (file.isFile()) {
+                crc.update(Files.readAllBytes(file.toPath()));
+            }
+            crc.update(0);
+        }
+        return crc.getValue();
+    }
+
+    private static DataInputStream open(File file) throws IOException {
+        return new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
+    }
+
+    private static void writeHeader(DataOutputStream out, String environment, long sourceHash) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(environment);
+        out.writeLong(sourceHash);
+    }
+
+    private static boolean readHeader(DataInputStream in, String environment, long sourceHash) throws IOException {
+        return in.readInt() == MAGIC && in.readInt() == VERSION &&
+                in.readUTF().equals(environment) && in.readLong() == sourceHash;
+    }
+
+    private void write(File target, byte[] content) throws IOException {
+        if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+        }
+        File temp = new File(cacheFolder, target.getName() + ".tmp");
+        Files.write(temp.toPath(), content);
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public record Entry(CustomRecipe recipe, RecipeFingerprint fingerprint) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,445 @@
+package org.hikarii.customrecipes.config;
+
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.hikarii.customrecipes.recipe.CraftEvents;
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+import org.hikarii.customrecipes.recipe.RecipeConditions;
+import org.hikarii.customrecipes.recipe.RecipeType;
+import org.hikarii.customrecipes.recipe.data.FurnaceRecipeData;
+import org.hikarii.customrecipes.recipe.data.RandomResult;
+import org.hikarii.customrecipes.recipe.data.RandomResultPool;
+import org.hikarii.customrecipes.recipe.data.RecipeIngredient;
+import org.hikarii.customrecipes.recipe.data.ShapedRecipeData;
+import org.hikarii.customrecipes.recipe.data.ShapelessRecipeData;
+import org.hikarii.customrecipes.recipe.vanilla.IngredientChoice;
+import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeInfo;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+public final class RecipeBundleCodec {
+    private static final byte ITEM_NULL = 0;
+    private static final byte ITEM_AIR = 1;
+    private static final byte ITEM_BYTES = 2;
+    private static final byte POOL_NULL = 0;
+    private static final byte POOL_CANCELLED = 1;
+    private static final byte POOL_EMPTY_SAVED = 2;
+    private static final byte POOL_RESULTS = 3;
+
+    private RecipeBundleCodec() {
+    }
+
+    public static void writeRecipe(DataOutputStream out, CustomRecipe recipe) throws IOException {
+        out.writeUTF(recipe.getKey());
+        writeNullableString(out, recipe.getName());
+        writeStringList(out, recipe.getDescription());
+        out.writeUTF(recipe.getType().name());
+
+        ShapedRecipeData shaped = recipe.getRecipeData();
+        out.writeBoolean(shaped != null);
+        if (shaped != null) {
+            for (RecipeIngredient ingredient : shaped.ingredients()) {
+                writeIngredient(out, ingredient);
+            }
+            writeItemList(out, shaped.exactItems());
+        }
+
+        ShapelessRecipeData shapeless = recipe.getShapelessData();
+        out.writeBoolean(shapeless != null);
+        if (shapeless != null) {
+            out.writeShort(shapeless.ingredients().size());
+            for (Map.Entry<Material, Integer> entry : shapeless.ingredients().entrySet()) {
+                out.writeUTF(entry.getKey().name());
+                out.writeByte(entry.getValue());
+            }
+            writeItemList(out, shapeless.exactIngredients());
+        }
+
+        FurnaceRecipeData furnace = recipe.getFurnaceData();
+        out.writeBoolean(furnace != null);
+        if (furnace != null) {
+            writeIngredient(out, furnace.getInput());
+            writeItem(out, furnace.getExactInput());
+            out.writeInt(furnace.getCookingTime());
+            out.writeFloat(furnace.getExperience());
+            out.writeUTF(furnace.getGroup());
+            out.writeShort(furnace.getCustomFuels().size());
+            for (FurnaceRecipeData.CustomFuel fuel : furnace.getCustomFuels()) {
+                writeIngredient(out, fuel.getIngredient());
+                writeItem(out, fuel.getExactItem());
+                out.writeInt(fuel.getBurnTime());
+            }
+        }
+
+        writeItem(out, recipe.getResultItem());
+        out.writeBoolean(recipe.isHidden());
+
+        out.writeShort(recipe.getPotionEffects().size());
+        for (PotionEffect effect : recipe.getPotionEffects()) {
+            out.writeUTF(effect.getType().getName());
+            out.writeInt(effect.getDuration());
+            out.writeInt(effect.getAmplifier());
+            out.writeBoolean(effect.isAmbient());
+            out.writeBoolean(effect.hasParticles());
+            out.writeBoolean(effect.hasIcon());
+        }
+
+        RecipeConditions conditions = recipe.getConditions();
+        writeNullableString(out, conditions.getPermission());
+        out.writeInt(conditions.getRequiredXpLevel());
+        out.writeInt(conditions.getXpReward());
+        out.writeInt(conditions.getCooldownSeconds());
+        out.writeInt(conditions.getCraftLimitDaily());
+        out.writeInt(conditions.getCraftLimitWeekly());
+        out.writeInt(conditions.getCraftLimitTotal());
+        out.writeDouble(conditions.getMoneyCost());
+
+        writeRandomResults(out, recipe.getRandomResults());
+        writeCraftEvents(out, recipe.getCraftEvents());
+    }
+
+    public static CustomRecipe readRecipe(DataInputStream in) throws IOException {
+        String key = in.readUTF();
+        String name = readNullableString(in);
+        List<String> description = readStringList(in);
+        RecipeType type = RecipeType.valueOf(in.readUTF());
+
+        ShapedRecipeData shaped = null;
+        if (in.readBoolean()) {
+            List<RecipeIngredient> ingredients = new ArrayList<>(9);
+            for (int i = 0; i < 9; i++) {
+                ingredients.add(readIngredient(in));
+            }
+            shaped = new ShapedRecipeData(ingredients, readItemList(in));
+        }
+
+        ShapelessRecipeData shapeless = null;
+        if (in.readBoolean()) {
+            int size = in.readShort();
+            Map<Material, Integer> ingredients = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                ingredients.put(readMaterial(in), (int) in.readByte());
+            }
+            shapeless = new ShapelessRecipeData(ingredients, readItemList(in));
+        }
+
+        FurnaceRecipeData furnace = null;
+        if (in.readBoolean()) {
+            RecipeIngredient input = readIngredient(in);
+            ItemStack exactInput = readItem(in);
+            int cookingTime = in.readInt();
+            float experience = in.readFloat();
+            String group = in.readUTF();
+            int fuelCount = in.readShort();
+            List<FurnaceRecipeData.CustomFuel> fuels = new ArrayList<>(fuelCount);
+            for (int i = 0; i < fuelCount; i++) {
+                fuels.add(new FurnaceRecipeData.CustomFuel(readIngredient(in), readItem(in), in.readInt()));
+            }
+            furnace = new FurnaceRecipeData(input, exactInput, cookingTime, experience, group, fuels);
+        }
+
+        ItemStack result = readItem(in);
+        boolean hidden = in.readBoolean();
+
+        int effectCount = in.readShort();
+        List<PotionEffect> effects = new ArrayList<>(effectCount);
+        for (int i = 0; i < effectCount; i++) {
+            String effectName = in.readUTF();
+            PotionEffectType effectType = PotionEffectType.getByName(effectName);
+            int duration = in.readInt();
+            int amplifier = in.readInt();
+            boolean ambient = in.readBoolean();
+            boolean particles = in.readBoolean();
+            boolean icon = in.readBoolean();
+            if (effectType == null) {
+                throw new IOException("Unknown potion effect: " + effectName);
+            }
+            effects.add(new PotionEffect(effectType, duration, amplifier, ambient, particles, icon));
+        }
+
+        RecipeConditions conditions = new RecipeConditions(readNullableString(in), in.readInt(), in.readInt(),
+                in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readDouble());
+
+        RandomResultPool randomResults = readRandomResults(in);
+        CraftEvents craftEvents = readCraftEvents(in);
+        if (result == null) {
+            throw new IOException("Recipe '" + key + "' has no result item");
+        }
+        return new CustomRecipe(key, name, description, type, shaped, shapeless, furnace, result, hidden,
+                effects, conditions, randomResults, craftEvents);
+    }
+
+    public static void writeVanillaRecipe(DataOutputStream out, String recipeKey, VanillaRecipeInfo info) throws IOException {
+        out.writeUTF(recipeKey);
+        out.writeUTF(info.getKey());
+        out.writeUTF(info.getDisplayName());
+        out.writeUTF(info.getResultMaterial().name());
+        out.writeInt(info.getResultAmount());
+        out.writeUTF(info.getType().name());
+        out.writeByte(info.getIngredientGrid().size());
+        for (List<IngredientChoice> row : info.getIngredientGrid()) {
+            out.writeByte(row.size());
+            for (IngredientChoice choice : row) {
+                out.writeShort(choice.getOptions().size());
+                for (Material option : choice.getOptions()) {
+                    out.writeUTF(option.name());
+                }
+            }
+        }
+        out.writeUTF(info.getCategory().name());
+        out.writeUTF(info.getStation().name());
+        Map<Integer, ItemStack> variantResults = info.getVariantResults();
+        out.writeShort(variantResults.size());
+        for (Map.Entry<Integer, ItemStack> entry : variantResults.entrySet()) {
+            out.writeShort(entry.getKey());
+            writeItem(out, entry.getValue());
+        }
+    }
+
+    public static Map.Entry<String, VanillaRecipeInfo> readVanillaRecipe(DataInputStream in) throws IOException {
+        String recipeKey = in.readUTF();
+        String key = in.readUTF();
+        String displayName = in.readUTF();
+        Material resultMaterial = readMaterial(in);
+        int resultAmount = in.readInt();
+        RecipeType type = RecipeType.valueOf(in.readUTF());
+        int rows = in.readByte();
+        List<List<IngredientChoice>> grid = new ArrayList<>(rows);
+        for (int r = 0; r < rows; r++) {
+            int columns = in.readByte();
+            List<IngredientChoice> row = new ArrayList<>(columns);
+            for (int c = 0; c < columns; c++) {
+                int optionCount = in.readShort();
+                List<Material> options = new ArrayList<>(optionCount);
+                for (int o = 0; o < optionCount; o++) {
+                    options.add(readMaterial(in));
+                }
+                row.add(new IngredientChoice(options));
+            }
+            grid.add(row);
+        }
+        VanillaRecipeInfo.RecipeCategory category = VanillaRecipeInfo.RecipeCategory.valueOf(in.readUTF());
+        VanillaRecipeInfo.RecipeStation station = VanillaRecipeInfo.RecipeStation.valueOf(in.readUTF());
+        int variantCount = in.readShort();
+        Map<Integer, ItemStack> variantResults = new HashMap<>();
+        for (int i = 0; i < variantCount; i++) {
+            variantResults.put((int) in.readShort(), readItem(in));
+        }
+        VanillaRecipeInfo info = new VanillaRecipeInfo(key, displayName, resultMaterial, resultAmount, type, grid,
+                category, station, variantResults);
+        return Map.entry(recipeKey, info);
+    }
+
+    private static void writeRandomResults(DataOutputStream out, RandomResultPool pool) throws IOException {
+        if (pool == null) {
+            out.writeByte(POOL_NULL);
+        } else if (pool.isCancelled()) {
+            out.writeByte(POOL_CANCELLED);
+        } else if (pool.isEmptySaved()) {
+            out.writeByte(POOL_EMPTY_SAVED);
+        } else {
+            out.writeByte(POOL_RESULTS);
+            out.writeBoolean(pool.isShowChances());
+            out.writeInt(pool.getFailureChance());
+            out.writeShort(pool.getResults().size());
+            for (RandomResult result : pool.getResults()) {
+                writeItem(out, result.getItem());
+                out.writeInt(result.getWeight());
+                writeNullableString(out, result.getName());
+            }
+        }
+    }
+
+    private static RandomResultPool readRandomResults(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case POOL_NULL:
+                return null;
+            case POOL_CANCELLED:
+                return RandomResultPool.CANCELLED;
+            case POOL_EMPTY_SAVED:
+                return RandomResultPool.EMPTY_SAVED;
+            case POOL_RESULTS:
+                boolean showChances = in.readBoolean();
+                int failureChance = in.readInt();
+                int size = in.readShort();
+                List<RandomResult> results = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    results.add(new RandomResult(readItem(in), in.readInt(), readNullableString(in)));
+                }
+                return new RandomResultPool(results, showChances, failureChance);
+            default:
+                throw new IOException("Unknown random result tag " + tag);
+        }
+    }
+
+    private static void writeCraftEvents(DataOutputStream out, CraftEvents events) throws IOException {
+        out.writeBoolean(events != null);
+        if (events == null) {
+            return;
+        }
+        out.writeShort(events.getSounds().size());
+        for (CraftEvents.SoundEvent sound : events.getSounds()) {
+            out.writeUTF(sound.getSound().name());
+            out.writeFloat(sound.getVolume());
+            out.writeFloat(sound.getPitch());
+        }
+        out.writeShort(events.getParticles().size());
+        for (CraftEvents.ParticleEvent particle : events.getParticles()) {
+            out.writeUTF(particle.getParticle().name());
+            out.writeInt(particle.getCount());
+            out.writeDouble(particle.getOffsetX());
+            out.writeDouble(particle.getOffsetY());
+            out.writeDouble(particle.getOffsetZ());
+            out.writeDouble(particle.getSpeed());
+        }
+        out.writeShort(events.getCommands().size());
+        for (CraftEvents.CommandEvent command : events.getCommands()) {
+            out.writeUTF(command.getCommand());
+            out.writeUTF(command.getType().name());
+        }
+    }
+
+    private static CraftEvents readCraftEvents(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        try {
+            int soundCount = in.readShort();
+            List<CraftEvents.SoundEvent> sounds = new ArrayList<>(soundCount);
+            for (int i = 0; i < soundCount; i++) {
+                sounds.add(new CraftEvents.SoundEvent(Sound.valueOf(in.readUTF()), in.readFloat(), in.readFloat()));
+            }
+            int particleCount = in.readShort();
+            List<CraftEvents.ParticleEvent> particles = new ArrayList<>(particleCount);
+            for (int i = 0; i < particleCount; i++) {
+                particles.add(new CraftEvents.ParticleEvent(Particle.valueOf(in.readUTF()), in.readInt(),
+                        in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble()));
+            }
+            int commandCount = in.readShort();
+            List<CraftEvents.CommandEvent> commands = new ArrayList<>(commandCount);
+            for (int i = 0; i < commandCount; i++) {
+                commands.add(new CraftEvents.CommandEvent(in.readUTF(),
+                        CraftEvents.CommandEvent.CommandType.valueOf(in.readUTF())));
+            }
+            return new CraftEvents(sounds, particles, commands);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown craft event value: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeIngredient(DataOutputStream out, RecipeIngredient ingredient) throws IOException {
+        out.writeBoolean(ingredient != null);
+        if (ingredient != null) {
+            out.writeUTF(ingredient.material().name());
+            out.writeByte(ingredient.amount());
+            writeItem(out, ingredient.getExactItem());
+        }
+    }
+
+    private static RecipeIngredient readIngredient(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return new RecipeIngredient(readMaterial(in), in.readByte(), readItem(in));
+    }
+
+    private static void writeItemList(DataOutputStream out, List<ItemStack> items) throws IOException {
+        out.writeBoolean(items != null);
+        if (items != null) {
+            out.writeShort(items.size());
+            for (ItemStack item : items) {
+                writeItem(out, item);
+            }
+        }
+    }
+
+    private static List<ItemStack> readItemList(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int size = in.readShort();
+        List<ItemStack> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(readItem(in));
+        }
+        return items;
+    }
+
+    private static void writeItem(DataOutputStream out, ItemStack item) throws IOException {
+        if (item == null) {
+            out.writeByte(ITEM_NULL);
+        } else if (item.getType().isAir()) {
+            out.writeByte(ITEM_AIR);
+        } else {
+            byte[] bytes = item.serializeAsBytes();
+            out.writeByte(ITEM_BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static ItemStack readItem(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case ITEM_NULL:
+                return null;
+            case ITEM_AIR:
+                return new ItemStack(Material.AIR);
+            case ITEM_BYTES:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return ItemStack.deserializeBytes(bytes);
+            default:
+                throw new IOException("Unknown item tag " + tag);
+        }
+    }
+
+    private static Material readMaterial(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        Material material = Material.getMaterial(name);
+        if (material == null) {
+            throw new IOException("Unknown material: " + name);
+        }
+        return material;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeStringList(DataOutputStream out, List<String> values) throws IOException {
+        out.writeBoolean(values != null);
+        if (values != null) {
+            out.writeShort(values.size());
+            for (String value : values) {
+                out.writeUTF(value);
+            }
+        }
+    }
+
+    private static List<String> readStringList(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int size = in.readShort();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+}
\ No newline at end of file
@@ -206,6 +206,33 @@ public class RecipeFileManager {
         return keys;
     }
 
+    public Map<String, File> indexRecipeFiles() {
+        Map<String, File> index = new HashMap<>();
+        File[] entries = recipesFolder.listFiles();
+        if (entries == null) {
+            return index;
+        }
+
+        List<File> subfolders = new ArrayList<>();
+        for (File entry : entries) {
+            if (entry.isDirectory()) {
+                subfolders.add(entry);
+            } else if (entry.getName().endsWith(".yml")) {
+                index.putIfAbsent(entry.getName().replace(".yml", "").toLowerCase(), entry);
+            }
+        }
+        for (File subfolder : subfolders) {
+            File[] subFiles = subfolder.listFiles((dir, name) -> name.endsWith(".yml"));
+            if (subFiles != null) {
+                for (File file : subFiles) {
+                    index.putIfAbsent(file.getName().replace(".yml", "").toLowerCase(), file);
+                }
+            }
+        }
+        plugin.debug("Indexed " + index.size() + " recipe files");
+        return index;
+    }
+
     public File findRecipeFile(String recipeKey) {
         
         File recipeFile = new File(recipesFolder, recipeKey + ".yml");
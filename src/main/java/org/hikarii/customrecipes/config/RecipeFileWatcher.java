@@ -0,0 +1,245 @@
+package org.hikarii.customrecipes.config;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeManager;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class RecipeFileWatcher {
+    private static final int MAX_DEBOUNCE_WINDOWS = 10;
+
+    private final CustomRecipes plugin;
+    private final Path recipesFolder;
+    private final Path vanillaRecipesFolder;
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running;
+    private long debounceMillis;
+
+    public RecipeFileWatcher(CustomRecipes plugin, File recipesFolder, File vanillaRecipesFolder) {
+        this.plugin = plugin;
+        this.recipesFolder = recipesFolder.toPath().toAbsolutePath();
+        this.vanillaRecipesFolder = vanillaRecipesFolder != null ? vanillaRecipesFolder.toPath().toAbsolutePath() : null;
+    }
+
+    public void reload() {
+        boolean enabled = plugin.getConfig().getBoolean("file-watcher.enabled", false);
+        long debounce = Math.max(100L, plugin.getConfig().getLong("file-watcher.debounce-ms", 1000L));
+        if (running && (!enabled || debounce != debounceMillis)) {
+            stop();
+        }
+        if (enabled && !running) {
+            debounceMillis = debounce;
+            start();
+        }
+    }
+
+    private void start() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            register(recipesFolder);
+            File[] subfolders = recipesFolder.toFile().listFiles(File::isDirectory);
+            if (subfolders != null) {
+                for (File subfolder : subfolders) {
+                    register(subfolder.toPath());
+                }
+            }
+            if (vanillaRecipesFolder != null) {
+                register(vanillaRecipesFolder);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to start recipe file watcher: " + e.getMessage());
+            closeWatchService();
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this::run, "CustomRecipes-RecipeWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        plugin.getLogger().info("Watching recipe folders for changes (debounce " + debounceMillis + "ms)");
+    }
+
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        closeWatchService();
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        plugin.debug("Stopped recipe file watcher");
+    }
+
+    private void register(Path directory) throws IOException {
+        WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirectories.put(key, directory);
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {}
+            watchService = null;
+        }
+        watchedDirectories.clear();
+    }
+
+    private void run() {
+        WatchService service = watchService;
+        Set<Path> pending = new LinkedHashSet<>();
+        boolean overflow = false;
+        long batchStart = 0L;
+        try {
+            while (running) {
+                boolean idle = pending.isEmpty() && !overflow;
+                WatchKey key = idle ? service.take() : service.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                if (idle) {
+                    batchStart = System.currentTimeMillis();
+                }
+                if (key != null) {
+                    overflow |= collect(key, pending);
+                }
+                boolean quiet = key == null;
+                boolean overdue = System.currentTimeMillis() - batchStart >= debounceMillis * MAX_DEBOUNCE_WINDOWS;
+                if (quiet || overdue) {
+                    processBatch(pending, overflow);
+                    pending = new LinkedHashSet<>();
+                    overflow = false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+        }
+    }
+
+    private boolean collect(WatchKey key, Set<Path> pending) {
+        Path directory = watchedDirectories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+            Path child = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && directory.equals(recipesFolder) &&
+                    Files.isDirectory(child)) {
+                try {
+                    register(child);
+                    File[] files = child.toFile().listFiles((dir, name) -> name.endsWith(".yml"));
+                    if (files != null) {
+                        for (File file : files) {
+                            pending.add(file.toPath());
+                        }
+                    }
+                } catch (IOException e) {
+                    plugin.debug("Failed to watch new recipe folder " + child + ": " + e.getMessage());
+                }
+            } else if (child.getFileName().toString().endsWith(".yml")) {
+                pending.add(child);
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+        return overflow;
+    }
+
+    private void processBatch(Set<Path> pending, boolean overflow) {
+        if (overflow) {
+            plugin.getLogger().warning("Recipe file watcher missed events, running a full recipe reload");
+            runOnMainThread(plugin::reloadConfiguration);
+            return;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<String, File> recipeFiles = new LinkedHashMap<>();
+        Map<String, File> vanillaFiles = new LinkedHashMap<>();
+        for (Path path : pending) {
+            File file = path.toFile();
+            Map<String, File> target = vanillaRecipesFolder != null && path.startsWith(vanillaRecipesFolder)
+                    ? vanillaFiles : recipeFiles;
+            String key = file.getName().replace(".yml", "").toLowerCase();
+            File existing = target.get(key);
+            if (existing == null || !existing.isFile()) {
+                target.put(key, file);
+            }
+        }
+
+        ConfigManager configManager = plugin.getConfigManager();
+        List<ConfigManager.RecipeFileChange> recipeChanges = new ArrayList<>(recipeFiles.size());
+        for (File file : recipeFiles.values()) {
+            recipeChanges.add(configManager.readRecipeFile(file));
+        }
+        VanillaRecipeManager vanillaManager = plugin.getVanillaRecipeManager();
+        List<VanillaRecipeManager.VanillaStateChange> vanillaChanges = new ArrayList<>(vanillaFiles.size());
+        if (vanillaManager != null) {
+            for (File file : vanillaFiles.values()) {
+                try {
+                    vanillaChanges.add(vanillaManager.readStateChange(file));
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Failed to read vanilla recipe " + file.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+        long parseMicros = (System.nanoTime() - start) / 1000;
+        plugin.debug("Recipe file watcher parsed " + pending.size() + " changed file(s) in " + (parseMicros / 1000.0) + "ms");
+        runOnMainThread(() -> apply(recipeChanges, vanillaChanges, parseMicros));
+    }
+
+    private void apply(List<ConfigManager.RecipeFileChange> recipeChanges,
+                       List<VanillaRecipeManager.VanillaStateChange> vanillaChanges, long parseMicros) {
+        if (!running) {
+            return;
+        }
+        if (!recipeChanges.isEmpty()) {
+            RecipeReloadResult result = plugin.getConfigManager().applyRecipeFileChanges(recipeChanges, parseMicros);
+            if (!result.updated().isEmpty() || !result.removed().isEmpty()) {
+                result = result.withRegistration(
+                        plugin.getRecipeManager().applyRecipeChanges(result.updated(), result.removed()));
+                plugin.getConfigManager().saveRecipeBundle();
+                plugin.getLogger().info("Applied recipe file changes: " + result.added().size() + " added, " +
+                        result.changed() + " changed, " + result.removed().size() + " removed" +
+                        (result.failed() > 0 ? " (" + result.failed() + " failed)" : "") +
+                        " in " + ((result.parseMicros() + result.registerMicros() + result.resendMicros()) / 1000.0) + "ms");
+            }
+        }
+        if (!vanillaChanges.isEmpty()) {
+            int applied = plugin.getVanillaRecipeManager().applyStateChanges(vanillaChanges);
+            if (applied > 0) {
+                plugin.getLogger().info("Applied " + applied + " vanilla recipe file change(s)");
+            }
+        }
+    }
+
+    private void runOnMainThread(Runnable task) {
+        try {
+            Bukkit.getScheduler().runTask(plugin, task);
+        } catch (IllegalPluginAccessException e) {
+            plugin.debug("Skipping recipe file changes, plugin is disabled");
+        }
+    }
+}
\ No newline at end of file
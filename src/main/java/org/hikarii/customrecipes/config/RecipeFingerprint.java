@@ -0,0 +1,30 @@
+package org.hikarii.customrecipes.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+public record RecipeFingerprint(File file, long lastModified, long size, long hash, long capturedAt) {
+    private static final long MODIFICATION_TIME_SLACK = 2000L;
+
+    public static RecipeFingerprint of(File file, byte[] content) {
+        return new RecipeFingerprint(file, file.lastModified(), content.length, hash(content), System.currentTimeMillis());
+    }
+
+    public static RecipeFingerprint of(ConfigurationSection section) {
+        byte[] content = section.getValues(true).toString().getBytes(StandardCharsets.UTF_8);
+        return new RecipeFingerprint(null, 0L, content.length, hash(content), System.currentTimeMillis());
+    }
+
+    public boolean matchesMetadata(File other) {
+        return file != null && file.equals(other) && lastModified + MODIFICATION_TIME_SLACK < capturedAt &&
+                lastModified == other.lastModified() && size == other.length();
+    }
+
+    private static long hash(byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content, 0, content.length);
+        return crc.getValue();
+    }
+}
\ No newline at end of file
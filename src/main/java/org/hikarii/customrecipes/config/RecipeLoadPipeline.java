@@ -0,0 +1,79 @@
+package org.hikarii.customrecipes.config;
+
+import org.hikarii.customrecipes.CustomRecipes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RecipeLoadPipeline {
+    private static final int PARALLEL_THRESHOLD = 16;
+    private static final int MAX_THREADS = 4;
+
+    private final CustomRecipes plugin;
+
+    RecipeLoadPipeline(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    <T, R> List<Outcome<T, R>> run(List<T> inputs, Step<T, R> step) {
+        List<Outcome<T, R>> outcomes = new ArrayList<>(inputs.size());
+        int threads = Math.min(MAX_THREADS, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        if (inputs.size() < PARALLEL_THRESHOLD || threads == 1) {
+            for (T input : inputs) {
+                outcomes.add(apply(input, step));
+            }
+            return outcomes;
+        }
+
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "CustomRecipes-RecipeLoader-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Outcome<T, R>>> futures = new ArrayList<>(inputs.size());
+            for (T input : inputs) {
+                futures.add(executor.submit(() -> apply(input, step)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                T input = inputs.get(i);
+                try {
+                    outcomes.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    outcomes.add(new Outcome<>(input, null,
+                            new ValidationException("Unexpected error: " + e.getCause(), e.getCause())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    outcomes.add(new Outcome<>(input, null, new ValidationException("Interrupted while loading")));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        plugin.debug("Parsed " + inputs.size() + " recipes on " + threads + " threads");
+        return outcomes;
+    }
+
+    private static <T, R> Outcome<T, R> apply(T input, Step<T, R> step) {
+        try {
+            return new Outcome<>(input, step.apply(input), null);
+        } catch (ValidationException e) {
+            return new Outcome<>(input, null, e);
+        } catch (RuntimeException e) {
+            return new Outcome<>(input, null, new ValidationException("Unexpected error: " + e.getMessage(), e));
+        }
+    }
+
+    @FunctionalInterface
+    interface Step<T, R> {
+        R apply(T input) throws ValidationException;
+    }
+
+    record Outcome<T, R>(T input, R value, ValidationException error) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package org.hikarii.customrecipes.config;
+
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+import org.hikarii.customrecipes.recipe.RecipeRegistration;
+import java.util.Map;
+import java.util.Set;
+
+public record RecipeReloadResult(Map<String, CustomRecipe> updated, Set<String> added, Set<String> removed,
+                                 int unchanged, int failed, long scanMicros, long parseMicros,
+                                 long registerMicros, long resendMicros) {
+
+    public int changed() {
+        return updated.size() - added.size();
+    }
+
+    public RecipeReloadResult withRegistration(RecipeRegistration.Result registration) {
+        if (registration == null) {
+            return this;
+        }
+        return new RecipeReloadResult(updated, added, removed, unchanged, failed, scanMicros, parseMicros,
+                registration.micros() - registration.resendMicros(), registration.resendMicros());
+    }
+}
\ No newline at end of file
@@ -1,72 +1,55 @@
 package org.hikarii.customrecipes.data;
 
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.RecipeManager;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerFavoritesManager {
     private final CustomRecipes plugin;
-    private final File dataFile;
-    private final Map<UUID, Set<String>> favorites = new HashMap<>();
+    private final Map<UUID, RecipeBitSet> favorites = new ConcurrentHashMap<>();
 
     public PlayerFavoritesManager(CustomRecipes plugin) {
         this.plugin = plugin;
-        this.dataFile = new File(plugin.getDataFolder(), "player-favorites.yml");
         load();
     }
 
     public void load() {
-        favorites.clear();
-        if (!dataFile.exists()) {
-            return;
-        }
-
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(dataFile);
-        for (String uuidStr : config.getKeys(false)) {
-            try {
-                UUID uuid = UUID.fromString(uuidStr);
-                List<String> recipeList = config.getStringList(uuidStr);
-                favorites.put(uuid, new HashSet<>(recipeList));
-            } catch (IllegalArgumentException ignored) {
-                
-            }
-        }
+        plugin.getPlayerDataStorage().loadFavorites(favorites);
     }
 
-    public void save() {
-        YamlConfiguration config = new YamlConfiguration();
-        for (Map.Entry<UUID, Set<String>> entry : favorites.entrySet()) {
-            config.set(entry.getKey().toString(), new ArrayList<>(entry.getValue()));
-        }
-
-        try {
-            config.save(dataFile);
-        } catch (IOException e) {
-            plugin.getLogger().warning("Could not save player favorites: " + e.getMessage());
+    public Set<String> getFavorites(UUID playerUuid) {
+        Set<String> keys = new HashSet<>();
+        RecipeBitSet playerFavorites = favorites.get(playerUuid);
+        if (playerFavorites != null) {
+            RecipeManager recipeManager = plugin.getRecipeManager();
+            playerFavorites.forEach(ordinal -> keys.add(recipeManager.getRecipeKey(ordinal)));
         }
+        return keys;
     }
 
-    public Set<String> getFavorites(UUID playerUuid) {
-        return favorites.getOrDefault(playerUuid, new HashSet<>());
+    public boolean isFavorite(UUID playerUuid, String recipeKey) {
+        return isFavorite(playerUuid, plugin.getRecipeManager().getOrdinal(recipeKey));
     }
 
-    public boolean isFavorite(UUID playerUuid, String recipeKey) {
-        return getFavorites(playerUuid).contains(recipeKey.toLowerCase());
+    public boolean isFavorite(UUID playerUuid, int recipeOrdinal) {
+        RecipeBitSet playerFavorites = favorites.get(playerUuid);
+        return playerFavorites != null && playerFavorites.get(recipeOrdinal);
     }
 
     public void addFavorite(UUID playerUuid, String recipeKey) {
-        favorites.computeIfAbsent(playerUuid, k -> new HashSet<>()).add(recipeKey.toLowerCase());
-        save();
+        int ordinal = plugin.getRecipeManager().assignOrdinal(recipeKey);
+        if (favorites.computeIfAbsent(playerUuid, k -> new RecipeBitSet()).set(ordinal)) {
+            plugin.getPlayerDataStorage().setFavorite(playerUuid, plugin.getRecipeManager().getRecipeKey(ordinal), true);
+        }
     }
 
     public void removeFavorite(UUID playerUuid, String recipeKey) {
-        Set<String> playerFavorites = favorites.get(playerUuid);
-        if (playerFavorites != null) {
-            playerFavorites.remove(recipeKey.toLowerCase());
-            save();
+        RecipeBitSet playerFavorites = favorites.get(playerUuid);
+        int ordinal = plugin.getRecipeManager().getOrdinal(recipeKey);
+        if (playerFavorites != null && playerFavorites.clear(ordinal)) {
+            plugin.getPlayerDataStorage().setFavorite(playerUuid, plugin.getRecipeManager().getRecipeKey(ordinal), false);
         }
     }
 
@@ -77,4 +60,4 @@ public class PlayerFavoritesManager {
             addFavorite(playerUuid, recipeKey);
         }
     }
-}
+}
\ No newline at end of file
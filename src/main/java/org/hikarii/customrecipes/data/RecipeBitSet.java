@@ -0,0 +1,74 @@
+package org.hikarii.customrecipes.data;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class RecipeBitSet {
+    private static final long[] EMPTY = new long[0];
+
+    private volatile long[] words = EMPTY;
+
+    public static RecipeBitSet fromWords(long[] words) {
+        RecipeBitSet set = new RecipeBitSet();
+        set.words = words.clone();
+        return set;
+    }
+
+    public long[] toWords() {
+        return words.clone();
+    }
+
+    public boolean get(int ordinal) {
+        if (ordinal < 0) {
+            return false;
+        }
+        long[] current = words;
+        int index = ordinal >>> 6;
+        return index < current.length && (current[index] & (1L << ordinal)) != 0;
+    }
+
+    public synchronized boolean set(int ordinal) {
+        int index = ordinal >>> 6;
+        long[] current = words;
+        if (index >= current.length) {
+            current = Arrays.copyOf(current, index + 1);
+        } else if ((current[index] & (1L << ordinal)) != 0) {
+            return false;
+        } else {
+            current = current.clone();
+        }
+        current[index] |= 1L << ordinal;
+        words = current;
+        return true;
+    }
+
+    public synchronized boolean clear(int ordinal) {
+        if (!get(ordinal)) {
+            return false;
+        }
+        long[] current = words.clone();
+        current[ordinal >>> 6] &= ~(1L << ordinal);
+        words = current;
+        return true;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void forEach(IntConsumer action) {
+        long[] current = words;
+        for (int i = 0; i < current.length; i++) {
+            long word = current[i];
+            while (word != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.hikarii.customrecipes.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.util.MessageUtil;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+public class ChatPromptService implements Listener {
+    private static final long PROMPT_TIMEOUT_TICKS = 20L * 300;
+
+    private final CustomRecipes plugin;
+    private final Map<UUID, Prompt> prompts = new ConcurrentHashMap<>();
+
+    public ChatPromptService(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    public void prompt(Player player, GUIHandler owner, Consumer<String> handler) {
+        UUID playerId = player.getUniqueId();
+        Prompt prompt = new Prompt(owner);
+        Prompt previous = prompts.put(playerId, prompt);
+        if (previous != null && previous.owner != owner) {
+            abandon(previous, new CancellationException("Replaced by a newer prompt"));
+        } else if (previous != null) {
+            plugin.getServer().getScheduler().cancelTask(previous.timeoutTaskId);
+            previous.future.cancel(false);
+        }
+        prompt.timeoutTaskId = plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            if (prompts.remove(playerId, prompt)) {
+                MessageUtil.sendWarning(player, plugin.getLanguageManager().getMessage("general.input_timed_out"));
+                abandon(prompt, new TimeoutException("No chat input from " + player.getName()));
+            }
+        }, PROMPT_TIMEOUT_TICKS).getTaskId();
+        prompt.future.thenAccept(handler).whenComplete((ignored, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause != null && !(cause instanceof CancellationException) && !(cause instanceof TimeoutException)) {
+                plugin.getLogger().log(Level.SEVERE, "Chat input handler of " + owner.getClass().getSimpleName() +
+                        " failed for " + player.getName(), cause);
+            }
+        });
+    }
+
+    public boolean isAwaiting(Player player, GUIHandler owner) {
+        Prompt prompt = prompts.get(player.getUniqueId());
+        return prompt != null && prompt.owner == owner;
+    }
+
+    public int getPendingCount() {
+        return prompts.size();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onChat(AsyncPlayerChatEvent event) {
+        Prompt prompt = prompts.remove(event.getPlayer().getUniqueId());
+        if (prompt == null) {
+            return;
+        }
+
+        event.setCancelled(true);
+        String message = event.getMessage();
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            plugin.getServer().getScheduler().cancelTask(prompt.timeoutTaskId);
+            prompt.future.complete(message);
+        });
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Prompt prompt = prompts.remove(event.getPlayer().getUniqueId());
+        if (prompt != null) {
+            abandon(prompt, new CancellationException(event.getPlayer().getName() + " left"));
+        }
+    }
+
+    public void shutdown() {
+        for (Prompt prompt : prompts.values()) {
+            prompt.future.completeExceptionally(new CancellationException("Plugin disabled"));
+        }
+        prompts.clear();
+    }
+
+    private void abandon(Prompt prompt, Exception reason) {
+        plugin.getServer().getScheduler().cancelTask(prompt.timeoutTaskId);
+        plugin.getGUIDispatcher().unregister(prompt.owner);
+        prompt.future.completeExceptionally(reason);
+        plugin.debug("Chat prompt of " + prompt.owner.getClass().getSimpleName() + " abandoned: " + reason.getMessage());
+    }
+
+    private static final class Prompt {
+        private final GUIHandler owner;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+        private volatile int timeoutTaskId = -1;
+
+        private Prompt(GUIHandler owner) {
+            this.owner = owner;
+        }
+    }
+}
\ No newline at end of file
@@ -6,13 +6,9 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -24,7 +20,7 @@ import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.ArrayList;
 import java.util.List;
 
-public class CommandEditorGUI implements Listener, GUIBase {
+public class CommandEditorGUI implements GUIHandler, GUIBase {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -42,7 +38,6 @@ public class CommandEditorGUI implements Listener, GUIBase {
     private static final int NEXT_PAGE_SLOT = 50;
     private static final int PLACEHOLDERS_INFO_SLOT = 53;
 
-    private boolean awaitingInput = false;
     private CraftEventPreset.CommandEvent.CommandType pendingCommandType = null;
 
     public CommandEditorGUI(CustomRecipes plugin, Player player, CraftEventPreset preset, CraftEventPresetEditorGUI parentGUI) {
@@ -56,7 +51,7 @@ public class CommandEditorGUI implements Listener, GUIBase {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("craft_events.commands_title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -278,7 +273,7 @@ public class CommandEditorGUI implements Listener, GUIBase {
         inventory.setItem(BACK_SLOT, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -349,28 +344,18 @@ public class CommandEditorGUI implements Listener, GUIBase {
     }
 
     private void startCommandInput(CraftEventPreset.CommandEvent.CommandType type) {
-        awaitingInput = true;
         pendingCommandType = type;
+        plugin.getChatPromptService().prompt(player, this, this::handleCommandInput);
         player.closeInventory();
         MessageUtil.sendInfo(player, lang.getMessage("craft_events.enter_command"));
     }
 
-    @EventHandler(priority = EventPriority.LOWEST)
-    public void onPlayerChat(AsyncPlayerChatEvent event) {
-        if (!event.getPlayer().equals(player) || !awaitingInput) {
-            return;
-        }
-
-        event.setCancelled(true);
-        awaitingInput = false;
-
-        String message = event.getMessage().trim();
+    private void handleCommandInput(String input) {
+        String message = input.trim();
 
         if (message.equalsIgnoreCase("cancel")) {
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                updateInventory();
-                open();
-            });
+            updateInventory();
+            open();
             return;
         }
 
@@ -378,26 +363,21 @@ public class CommandEditorGUI implements Listener, GUIBase {
             message = message.substring(1);
         }
 
-        String finalMessage = message;
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            CraftEventPreset.CommandEvent newCommand = new CraftEventPreset.CommandEvent(finalMessage, pendingCommandType);
-            preset.addCommand(newCommand);
-            MessageUtil.sendInfo(player, lang.getMessage("craft_events.command_added"));
-            pendingCommandType = null;
-            updateInventory();
-            open();
-        });
+        CraftEventPreset.CommandEvent newCommand = new CraftEventPreset.CommandEvent(message, pendingCommandType);
+        preset.addCommand(newCommand);
+        MessageUtil.sendInfo(player, lang.getMessage("craft_events.command_added"));
+        pendingCommandType = null;
+        updateInventory();
+        open();
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            if (!awaitingInput) {
+            if (!plugin.getChatPromptService().isAwaiting(player, this)) {
                 Bukkit.getScheduler().runTaskLater(plugin, () -> {
                     if (!inventory.equals(player.getOpenInventory().getTopInventory())) {
-                        InventoryClickEvent.getHandlerList().unregister(this);
-                        InventoryCloseEvent.getHandlerList().unregister(this);
-                        AsyncPlayerChatEvent.getHandlerList().unregister(this);
+                        plugin.getGUIDispatcher().unregister(this);
                     }
                 }, 1L);
             }
@@ -405,7 +385,7 @@ public class CommandEditorGUI implements Listener, GUIBase {
     }
 
     public void refreshAndOpen() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
         player.openInventory(inventory);
     }
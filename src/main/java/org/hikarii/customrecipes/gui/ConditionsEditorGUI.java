@@ -6,12 +6,9 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -26,7 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
-public class ConditionsEditorGUI implements Listener {
+public class ConditionsEditorGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final LanguageManager lang;
     private final Player player;
@@ -44,8 +41,6 @@ public class ConditionsEditorGUI implements Listener {
 
     private final RecipeConditions originalConditions;
 
-    private boolean awaitingPermissionInput = false;
-
     private static final int PERMISSION_SLOT = 10;
     private static final int XP_LEVEL_SLOT = 12;
     private static final int XP_REWARD_SLOT = 14;
@@ -95,7 +90,7 @@ public class ConditionsEditorGUI implements Listener {
                 MessageUtil.createMenuTitle(lang.getMessage("conditions_gui.title"), NamedTextColor.GOLD)
         );
 
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -394,7 +389,7 @@ public class ConditionsEditorGUI implements Listener {
         inventory.setItem(BACK_SLOT, button);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -415,7 +410,7 @@ public class ConditionsEditorGUI implements Listener {
                 permission = null;
                 updateInventory();
             } else if (clickType.isLeftClick()) {
-                awaitingPermissionInput = true;
+                plugin.getChatPromptService().prompt(player, this, this::handlePermissionInput);
                 player.closeInventory();
                 MessageUtil.sendAdminInfo(player, lang.getMessage("conditions_gui.permission.enter_permission"));
             }
@@ -525,28 +520,19 @@ public class ConditionsEditorGUI implements Listener {
         }
     }
 
-    @EventHandler
-    public void onChat(AsyncPlayerChatEvent event) {
-        if (!event.getPlayer().equals(player) || !awaitingPermissionInput) {
-            return;
-        }
-
-        event.setCancelled(true);
-        awaitingPermissionInput = false;
-        String message = event.getMessage().trim();
+    private void handlePermissionInput(String input) {
+        String message = input.trim();
 
         if (message.equalsIgnoreCase("cancel")) {
-            Bukkit.getScheduler().runTask(plugin, this::open);
+            open();
             return;
         }
 
         permission = message;
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            MessageUtil.sendAdminSuccess(player, lang.getMessage("conditions_gui.permission.set",
-                    Map.of("value", permission)));
-            updateInventory();
-            open();
-        });
+        MessageUtil.sendAdminSuccess(player, lang.getMessage("conditions_gui.permission.set",
+                Map.of("value", permission)));
+        updateInventory();
+        open();
     }
 
     private void saveAndReturn() {
@@ -561,18 +547,16 @@ public class ConditionsEditorGUI implements Listener {
         onComplete.accept(newConditions);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            if (!awaitingPermissionInput) {
+            if (!plugin.getChatPromptService().isAwaiting(player, this)) {
                 unregister();
             }
         }
     }
 
     private void unregister() {
-        InventoryClickEvent.getHandlerList().unregister(this);
-        InventoryCloseEvent.getHandlerList().unregister(this);
-        AsyncPlayerChatEvent.getHandlerList().unregister(this);
+        plugin.getGUIDispatcher().unregister(this);
     }
 }
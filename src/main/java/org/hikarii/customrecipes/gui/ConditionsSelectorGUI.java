@@ -7,12 +7,9 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -28,7 +25,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class ConditionsSelectorGUI implements Listener {
+public class ConditionsSelectorGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final LanguageManager lang;
     private final Player player;
@@ -45,8 +42,6 @@ public class ConditionsSelectorGUI implements Listener {
     private int craftLimitTotal;
     private double moneyCost;
 
-    private boolean awaitingPermissionInput = false;
-
     private static final int PERMISSION_SLOT = 10;
     private static final int XP_LEVEL_SLOT = 12;
     private static final int XP_REWARD_SLOT = 14;
@@ -94,7 +89,7 @@ public class ConditionsSelectorGUI implements Listener {
                 54,
                 MessageUtil.createMenuTitle(lang.getMessage("conditions_gui.title"), NamedTextColor.GOLD)
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -393,7 +388,7 @@ public class ConditionsSelectorGUI implements Listener {
         inventory.setItem(BACK_SLOT, button);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -414,7 +409,7 @@ public class ConditionsSelectorGUI implements Listener {
                 permission = null;
                 updateInventory();
             } else if (clickType.isLeftClick()) {
-                awaitingPermissionInput = true;
+                plugin.getChatPromptService().prompt(player, this, this::handlePermissionInput);
                 player.closeInventory();
                 MessageUtil.sendAdminInfo(player, lang.getMessage("conditions_gui.permission.enter_permission"));
             }
@@ -529,27 +524,18 @@ public class ConditionsSelectorGUI implements Listener {
         }
     }
 
-    @EventHandler
-    public void onChat(AsyncPlayerChatEvent event) {
-        if (!event.getPlayer().equals(player) || !awaitingPermissionInput) {
-            return;
-        }
-
-        event.setCancelled(true);
-        awaitingPermissionInput = false;
-        String message = event.getMessage().trim();
+    private void handlePermissionInput(String input) {
+        String message = input.trim();
 
         if (message.equalsIgnoreCase("cancel")) {
-            Bukkit.getScheduler().runTask(plugin, this::open);
+            open();
             return;
         }
 
         permission = message;
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            MessageUtil.sendAdminSuccess(player, "Permission set to: " + permission);
-            updateInventory();
-            open();
-        });
+        MessageUtil.sendAdminSuccess(player, "Permission set to: " + permission);
+        updateInventory();
+        open();
     }
 
     private void saveConditions() {
@@ -588,7 +574,6 @@ public class ConditionsSelectorGUI implements Listener {
 
             config.save(recipeFile);
 
-            plugin.getRecipeManager().unregisterAll();
             plugin.getConfigManager().loadRecipes();
             plugin.getRecipeManager().registerAllRecipes();
 
@@ -607,13 +592,11 @@ public class ConditionsSelectorGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            if (!awaitingPermissionInput) {
-                InventoryClickEvent.getHandlerList().unregister(this);
-                InventoryCloseEvent.getHandlerList().unregister(this);
-                AsyncPlayerChatEvent.getHandlerList().unregister(this);
+            if (!plugin.getChatPromptService().isAwaiting(player, this)) {
+                plugin.getGUIDispatcher().unregister(this);
             }
         }
     }
@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -22,7 +20,7 @@ import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.ArrayList;
 import java.util.List;
 
-public class CraftEventPresetEditorGUI implements Listener, GUIBase {
+public class CraftEventPresetEditorGUI implements GUIHandler, GUIBase {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -49,7 +47,7 @@ public class CraftEventPresetEditorGUI implements Listener, GUIBase {
                 MessageUtil.createGradientMenuTitle(lang.getMessage("craft_events.editor_title")
                         .replace("{name}", preset.getName()))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -278,7 +276,7 @@ public class CraftEventPresetEditorGUI implements Listener, GUIBase {
         inventory.setItem(BACK_SLOT, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -341,20 +339,19 @@ public class CraftEventPresetEditorGUI implements Listener, GUIBase {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
                 if (!inventory.equals(player.getOpenInventory().getTopInventory())) {
-                    InventoryClickEvent.getHandlerList().unregister(this);
-                    InventoryCloseEvent.getHandlerList().unregister(this);
+                    plugin.getGUIDispatcher().unregister(this);
                 }
             }, 1L);
         }
     }
 
     public void refreshAndOpen() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
         player.openInventory(inventory);
     }
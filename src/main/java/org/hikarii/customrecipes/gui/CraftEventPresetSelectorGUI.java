@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
@@ -23,7 +21,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 
-public class CraftEventPresetSelectorGUI implements Listener, GUIBase {
+public class CraftEventPresetSelectorGUI implements GUIHandler, GUIBase {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -54,7 +52,7 @@ public class CraftEventPresetSelectorGUI implements Listener, GUIBase {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("craft_events.select_preset_title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -260,7 +258,7 @@ public class CraftEventPresetSelectorGUI implements Listener, GUIBase {
         inventory.setItem(BACK_SLOT, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -328,11 +326,10 @@ public class CraftEventPresetSelectorGUI implements Listener, GUIBase {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 }
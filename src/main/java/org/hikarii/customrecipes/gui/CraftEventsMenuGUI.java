@@ -6,12 +6,9 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import java.util.Map;
 import org.bukkit.inventory.ItemStack;
@@ -26,7 +23,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-public class CraftEventsMenuGUI implements Listener, GUIBase {
+public class CraftEventsMenuGUI implements GUIHandler, GUIBase {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -36,7 +33,6 @@ public class CraftEventsMenuGUI implements Listener, GUIBase {
 
     private int currentPage = 0;
     private static final int PRESETS_PER_PAGE = 28;
-    private boolean awaitingPresetName = false;
 
     public CraftEventsMenuGUI(CustomRecipes plugin, Player player, GUIBase parentGUI) {
         this.plugin = plugin;
@@ -49,7 +45,7 @@ public class CraftEventsMenuGUI implements Listener, GUIBase {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("craft_events.title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -234,7 +230,7 @@ public class CraftEventsMenuGUI implements Listener, GUIBase {
         inventory.setItem(53, back); 
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -267,7 +263,7 @@ public class CraftEventsMenuGUI implements Listener, GUIBase {
         }
 
         if (slot == 4) {
-            awaitingPresetName = true;
+            plugin.getChatPromptService().prompt(player, this, this::handlePresetName);
             player.closeInventory();
             MessageUtil.sendInfo(player, lang.getMessage("craft_events.enter_preset_name"));
             return;
@@ -314,32 +310,24 @@ public class CraftEventsMenuGUI implements Listener, GUIBase {
         }
     }
 
-    @EventHandler
-    public void onChat(AsyncPlayerChatEvent event) {
-        if (!event.getPlayer().equals(player) || !awaitingPresetName) {
-            return;
-        }
-
-        event.setCancelled(true);
-        awaitingPresetName = false;
-
-        String presetName = event.getMessage().trim();
+    private void handlePresetName(String input) {
+        String presetName = input.trim();
 
         if (presetName.equalsIgnoreCase("cancel")) {
-            Bukkit.getScheduler().runTask(plugin, this::open);
+            open();
             return;
         }
 
         if (presetName.isEmpty() || presetName.length() > 32) {
             MessageUtil.sendError(player, lang.getMessage("craft_events.invalid_preset_name"));
-            Bukkit.getScheduler().runTask(plugin, this::open);
+            open();
             return;
         }
 
         if (presetManager.hasPreset(presetName)) {
             MessageUtil.sendError(player, lang.getMessage("craft_events.preset_exists")
                     .replace("{name}", presetName));
-            Bukkit.getScheduler().runTask(plugin, this::open);
+            open();
             return;
         }
 
@@ -349,21 +337,17 @@ public class CraftEventsMenuGUI implements Listener, GUIBase {
         MessageUtil.sendAdminSuccess(player, lang.getMessage("craft_events.preset_created")
                 .replace("{name}", presetName));
 
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            CraftEventPresetEditorGUI editor = new CraftEventPresetEditorGUI(plugin, player, newPreset, this);
-            editor.open();
-        });
+        CraftEventPresetEditorGUI editor = new CraftEventPresetEditorGUI(plugin, player, newPreset, this);
+        editor.open();
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            if (!awaitingPresetName) {
+            if (!plugin.getChatPromptService().isAwaiting(player, this)) {
                 Bukkit.getScheduler().runTaskLater(plugin, () -> {
                     if (!inventory.equals(player.getOpenInventory().getTopInventory())) {
-                        InventoryClickEvent.getHandlerList().unregister(this);
-                        InventoryCloseEvent.getHandlerList().unregister(this);
-                        AsyncPlayerChatEvent.getHandlerList().unregister(this);
+                        plugin.getGUIDispatcher().unregister(this);
                     }
                 }, 1L);
             }
@@ -371,7 +355,7 @@ public class CraftEventsMenuGUI implements Listener, GUIBase {
     }
 
     public void refreshAndOpen() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
         player.openInventory(inventory);
     }
@@ -7,8 +7,6 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -22,7 +20,7 @@ import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-public class EnchantmentSelectorGUI implements Listener {
+public class EnchantmentSelectorGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final LanguageManager lang;
     private final Player player;
@@ -55,7 +53,7 @@ public class EnchantmentSelectorGUI implements Listener {
                 54,
                 MessageUtil.createMenuTitle(lang.getMessage("enchantment_selector.title"), NamedTextColor.LIGHT_PURPLE)
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -264,7 +262,7 @@ public class EnchantmentSelectorGUI implements Listener {
         inventory.setItem(53, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -364,11 +362,10 @@ public class EnchantmentSelectorGUI implements Listener {
         return hideEnchantments;
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 }
\ No newline at end of file
@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
@@ -22,7 +20,7 @@ import org.hikarii.customrecipes.version.VersionManager;
 import java.util.*;
 import java.util.function.Consumer;
 
-public class FlagsSelectorGUI implements Listener {
+public class FlagsSelectorGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final LanguageManager lang;
     private final VersionManager versionManager;
@@ -84,7 +82,7 @@ public class FlagsSelectorGUI implements Listener {
                 54,
                 MessageUtil.createMenuTitle(lang.getMessage("flags_selector.title"), NamedTextColor.DARK_GREEN)
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -233,7 +231,7 @@ public class FlagsSelectorGUI implements Listener {
         inventory.setItem(53, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -309,11 +307,10 @@ public class FlagsSelectorGUI implements Listener {
         return noPlace;
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 
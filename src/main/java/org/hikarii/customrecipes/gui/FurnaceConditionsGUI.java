@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -22,7 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class FurnaceConditionsGUI implements Listener {
+public class FurnaceConditionsGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final Player player;
     private final LanguageManager lang;
@@ -66,7 +64,7 @@ public class FurnaceConditionsGUI implements Listener {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("gui.title.smelting_conditions"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -212,7 +210,7 @@ public class FurnaceConditionsGUI implements Listener {
         inventory.setItem(BACK_SLOT, button);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -286,15 +284,13 @@ public class FurnaceConditionsGUI implements Listener {
     }
 
     private void unregister() {
-        InventoryClickEvent.getHandlerList().unregister(this);
-        InventoryCloseEvent.getHandlerList().unregister(this);
+        plugin.getGUIDispatcher().unregister(this);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 }
@@ -7,8 +7,6 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -37,7 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class FurnaceRecipeCreatorGUI implements Listener {
+public class FurnaceRecipeCreatorGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final Player player;
     private final LanguageManager lang;
@@ -75,7 +73,7 @@ public class FurnaceRecipeCreatorGUI implements Listener {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("furnace_creator.title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -411,7 +409,7 @@ public class FurnaceRecipeCreatorGUI implements Listener {
         inventory.setItem(SAVE_BUTTON, save);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryDrag(InventoryDragEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -427,7 +425,7 @@ public class FurnaceRecipeCreatorGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -955,12 +953,10 @@ public class FurnaceRecipeCreatorGUI implements Listener {
         return result.toString();
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
-            InventoryDragEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 }
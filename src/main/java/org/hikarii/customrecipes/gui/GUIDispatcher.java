@@ -0,0 +1,173 @@
+package org.hikarii.customrecipes.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.Inventory;
+import org.hikarii.customrecipes.CustomRecipes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GUIDispatcher implements Listener {
+    private static final long LEAK_CHECK_INTERVAL_TICKS = 20L * 60;
+    private static final long LEAK_IDLE_MILLIS = 10 * 60 * 1000L;
+
+    private final CustomRecipes plugin;
+    private final Map<Inventory, Registration> byInventory = new ConcurrentHashMap<>();
+    private final Map<GUIHandler, Registration> byHandler = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<GUIHandler>> byPlayer = new ConcurrentHashMap<>();
+    private int leakTaskId = -1;
+    private long releasedLeaks;
+
+    public GUIDispatcher(CustomRecipes plugin) {
+        this.plugin = plugin;
+        startLeakDetector();
+    }
+
+    public void register(GUIHandler gui, Player player, Inventory inventory) {
+        Registration existing = byHandler.get(gui);
+        if (existing != null) {
+            if (existing.inventory.equals(inventory)) {
+                existing.idleSince = 0;
+                return;
+            }
+            unregister(gui);
+        }
+        Registration replaced = byInventory.get(inventory);
+        if (replaced != null) {
+            unregister(replaced.gui);
+        }
+
+        Registration registration = new Registration(gui, player.getUniqueId(), inventory);
+        byInventory.put(inventory, registration);
+        byHandler.put(gui, registration);
+        byPlayer.computeIfAbsent(registration.playerId, id -> ConcurrentHashMap.newKeySet()).add(gui);
+    }
+
+    public void unregister(GUIHandler gui) {
+        Registration registration = byHandler.remove(gui);
+        if (registration == null) {
+            return;
+        }
+        byInventory.remove(registration.inventory, registration);
+        byPlayer.computeIfPresent(registration.playerId, (id, guis) -> {
+            guis.remove(gui);
+            return guis.isEmpty() ? null : guis;
+        });
+    }
+
+    public boolean isRegistered(GUIHandler gui) {
+        return byHandler.containsKey(gui);
+    }
+
+    public int getOpenCount() {
+        return byHandler.size();
+    }
+
+    public long getReleasedLeakCount() {
+        return releasedLeaks;
+    }
+
+    private GUIHandler getHandler(Inventory inventory) {
+        Registration registration = byInventory.get(inventory);
+        return registration != null ? registration.gui : null;
+    }
+
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        GUIHandler gui = getHandler(event.getInventory());
+        if (gui != null) {
+            gui.onInventoryClick(event);
+        }
+    }
+
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        GUIHandler gui = getHandler(event.getInventory());
+        if (gui != null) {
+            gui.onInventoryDrag(event);
+        }
+    }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        GUIHandler gui = getHandler(event.getInventory());
+        if (gui != null) {
+            gui.onInventoryClose(event);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Set<GUIHandler> guis = byPlayer.get(event.getPlayer().getUniqueId());
+        if (guis == null) {
+            return;
+        }
+        List<GUIHandler> released = new ArrayList<>(guis);
+        released.forEach(this::unregister);
+        plugin.debug("Released " + released.size() + " GUI(s) of " + event.getPlayer().getName() + " on quit");
+    }
+
+    private void startLeakDetector() {
+        leakTaskId = plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkForLeaks,
+                LEAK_CHECK_INTERVAL_TICKS, LEAK_CHECK_INTERVAL_TICKS).getTaskId();
+    }
+
+    private void checkForLeaks() {
+        long now = System.currentTimeMillis();
+        List<Registration> leaked = new ArrayList<>();
+        for (Registration registration : byHandler.values()) {
+            if (!registration.inventory.getViewers().isEmpty()) {
+                registration.idleSince = 0;
+            } else if (registration.idleSince == 0) {
+                registration.idleSince = now;
+            } else if (now - registration.idleSince >= LEAK_IDLE_MILLIS) {
+                leaked.add(registration);
+            }
+        }
+        if (leaked.isEmpty()) {
+            return;
+        }
+
+        for (Registration registration : leaked) {
+            unregister(registration.gui);
+            plugin.debug("Released leaked GUI " + registration.gui.getClass().getSimpleName() + " of " +
+                    registration.playerId + " (registered " + (now - registration.registeredAt) / 1000 + "s ago)");
+        }
+        releasedLeaks += leaked.size();
+        plugin.getLogger().warning("Released " + leaked.size() + " GUI(s) that were never closed (" +
+                byHandler.size() + " still open)");
+    }
+
+    public void shutdown() {
+        if (leakTaskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(leakTaskId);
+            leakTaskId = -1;
+        }
+        byInventory.clear();
+        byHandler.clear();
+        byPlayer.clear();
+    }
+
+    private static final class Registration {
+        private final GUIHandler gui;
+        private final UUID playerId;
+        private final Inventory inventory;
+        private final long registeredAt = System.currentTimeMillis();
+        private volatile long idleSince;
+
+        private Registration(GUIHandler gui, UUID playerId, Inventory inventory) {
+            this.gui = gui;
+            this.playerId = playerId;
+            this.inventory = inventory;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package org.hikarii.customrecipes.gui;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+
+public interface GUIHandler {
+    default void onInventoryClick(InventoryClickEvent event) {
+    }
+
+    default void onInventoryDrag(InventoryDragEvent event) {
+    }
+
+    default void onInventoryClose(InventoryCloseEvent event) {
+    }
+}
\ No newline at end of file
@@ -7,11 +7,8 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -26,8 +23,7 @@ import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.*;
 import java.util.function.Consumer;
 
-public class ItemEditorGUI implements Listener {
-    private static final Map<UUID, ItemEditorGUI> waitingForInput = new HashMap<>();
+public class ItemEditorGUI implements GUIHandler {
     private static final Map<UUID, ItemEditorGUI> lastEditors = new HashMap<>();
     private enum EditMode {
         NONE,
@@ -157,7 +153,7 @@ public class ItemEditorGUI implements Listener {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("gui.title.item_editor"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -563,7 +559,7 @@ public class ItemEditorGUI implements Listener {
         inventory.setItem(50, button);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -602,7 +598,7 @@ public class ItemEditorGUI implements Listener {
 
         if (slot == 11) {
             currentMode = EditMode.NAME;
-            waitingForInput.put(player.getUniqueId(), this);
+            awaitInput();
             player.closeInventory();
             MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_item_name"));
             MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_cancel_to_cancel"));
@@ -618,7 +614,7 @@ public class ItemEditorGUI implements Listener {
             }
 
             currentMode = EditMode.LORE;
-            waitingForInput.put(player.getUniqueId(), this);
+            awaitInput();
             player.closeInventory();
             MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_description_line"));
             MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_done_or_cancel"));
@@ -627,7 +623,7 @@ public class ItemEditorGUI implements Listener {
 
         if (slot == 15) {
             currentMode = EditMode.CUSTOM_MODEL_DATA;
-            waitingForInput.put(player.getUniqueId(), this);
+            awaitInput();
             player.closeInventory();
             MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_custom_model_data"));
             MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_cancel_or_clear"));
@@ -636,7 +632,7 @@ public class ItemEditorGUI implements Listener {
 
         if (slot == 24) {
             currentMode = EditMode.NBT_KEY;
-            waitingForInput.put(player.getUniqueId(), this);
+            awaitInput();
             player.closeInventory();
             MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_nbt_key"));
             MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_cancel_to_cancel"));
@@ -987,108 +983,80 @@ public class ItemEditorGUI implements Listener {
         }
     }
 
-    @EventHandler
-    public void onChat(AsyncPlayerChatEvent event) {
-        Player chatPlayer = event.getPlayer();
-        ItemEditorGUI editor = waitingForInput.get(chatPlayer.getUniqueId());
-        if (editor == null || !chatPlayer.equals(player)) {
-            return;
-        }
+    private void awaitInput() {
+        plugin.getChatPromptService().prompt(player, this, this::handleInput);
+    }
 
-        event.setCancelled(true);
-        String message = event.getMessage();
+    private void handleInput(String message) {
         if (message.equalsIgnoreCase("cancel")) {
-            waitingForInput.remove(chatPlayer.getUniqueId());
             currentMode = EditMode.NONE;
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                MessageUtil.sendAdminWarning(chatPlayer, lang.getMessage("item_editor_advanced.cancelled"));
-                editor.open();
-            });
+            MessageUtil.sendAdminWarning(player, lang.getMessage("item_editor_advanced.cancelled"));
+            open();
             return;
         }
         switch (currentMode) {
             case NAME -> {
-                editor.customName = message;
-                waitingForInput.remove(chatPlayer.getUniqueId());
+                customName = message;
                 currentMode = EditMode.NONE;
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    MessageUtil.sendAdminSuccess(chatPlayer, lang.getMessage("item_editor_advanced.set_item_name"));
-                    editor.updateInventory();
-                    editor.open();
-                });
+                MessageUtil.sendAdminSuccess(player, lang.getMessage("item_editor_advanced.set_item_name"));
+                updateInventory();
+                open();
             }
             case LORE -> {
                 if (message.equalsIgnoreCase("done")) {
-                    waitingForInput.remove(chatPlayer.getUniqueId());
                     currentMode = EditMode.NONE;
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        MessageUtil.sendAdminSuccess(chatPlayer, lang.getMessage("item_editor_advanced.finished_editing_description"));
-                        editor.updateInventory();
-                        editor.open();
-                    });
+                    MessageUtil.sendAdminSuccess(player, lang.getMessage("item_editor_advanced.finished_editing_description"));
+                    updateInventory();
+                    open();
                 } else {
-                    editor.customLore.add(message);
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        MessageUtil.sendAdminSuccess(chatPlayer, lang.getMessage("item_editor_advanced.added_description_line"));
-                        MessageUtil.sendAdminInfo(chatPlayer, lang.getMessage("item_editor_advanced.type_another_line"));
-                    });
+                    customLore.add(message);
+                    MessageUtil.sendAdminSuccess(player, lang.getMessage("item_editor_advanced.added_description_line"));
+                    MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_another_line"));
+                    awaitInput();
                 }
             }
             case CUSTOM_MODEL_DATA -> {
                 if (message.equalsIgnoreCase("clear")) {
-                    editor.customModelData = null;
-                    waitingForInput.remove(chatPlayer.getUniqueId());
+                    customModelData = null;
                     currentMode = EditMode.NONE;
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        MessageUtil.sendAdminSuccess(chatPlayer, lang.getMessage("item_editor_advanced.cleared_custom_model_data"));
-                        editor.updateInventory();
-                        editor.open();
-                    });
+                    MessageUtil.sendAdminSuccess(player, lang.getMessage("item_editor_advanced.cleared_custom_model_data"));
+                    updateInventory();
+                    open();
                 } else {
                     try {
                         int modelData = Integer.parseInt(message);
-                        editor.customModelData = modelData;
-                        waitingForInput.remove(chatPlayer.getUniqueId());
+                        customModelData = modelData;
                         currentMode = EditMode.NONE;
-                        Bukkit.getScheduler().runTask(plugin, () -> {
-                            MessageUtil.sendAdminSuccess(chatPlayer, lang.getMessage("item_editor_advanced.set_custom_model_data", Map.of("value", String.valueOf(modelData))));
-                            editor.updateInventory();
-                            editor.open();
-                        });
+                        MessageUtil.sendAdminSuccess(player, lang.getMessage("item_editor_advanced.set_custom_model_data", Map.of("value", String.valueOf(modelData))));
+                        updateInventory();
+                        open();
                     } catch (NumberFormatException e) {
-                        Bukkit.getScheduler().runTask(plugin, () -> {
-                            MessageUtil.sendError(chatPlayer, lang.getMessage("item_editor_advanced.invalid_number"));
-                        });
+                        MessageUtil.sendError(player, lang.getMessage("item_editor_advanced.invalid_number"));
+                        awaitInput();
                     }
                 }
             }
             case NBT_KEY -> {
-                editor.tempNBTKey = message;
+                tempNBTKey = message;
                 currentMode = EditMode.NBT_VALUE;
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    MessageUtil.sendAdminInfo(chatPlayer, lang.getMessage("item_editor_advanced.type_nbt_value", Map.of("key", message)));
-                });
+                MessageUtil.sendAdminInfo(player, lang.getMessage("item_editor_advanced.type_nbt_value", Map.of("key", message)));
+                awaitInput();
             }
             case NBT_VALUE -> {
-                editor.customNBT.put(editor.tempNBTKey, message);
-                waitingForInput.remove(chatPlayer.getUniqueId());
+                customNBT.put(tempNBTKey, message);
                 currentMode = EditMode.NONE;
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    MessageUtil.sendAdminSuccess(chatPlayer, lang.getMessage("item_editor_advanced.added_nbt", Map.of("key", editor.tempNBTKey, "value", message)));
-                    editor.updateInventory();
-                    editor.open();
-                });
+                MessageUtil.sendAdminSuccess(player, lang.getMessage("item_editor_advanced.added_nbt", Map.of("key", tempNBTKey, "value", message)));
+                updateInventory();
+                open();
             }
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            if (!waitingForInput.containsKey(player.getUniqueId())) {
-                InventoryClickEvent.getHandlerList().unregister(this);
-                InventoryCloseEvent.getHandlerList().unregister(this);
-                AsyncPlayerChatEvent.getHandlerList().unregister(this);
+            if (!plugin.getChatPromptService().isAwaiting(player, this)) {
+                plugin.getGUIDispatcher().unregister(this);
             }
         }
     }
@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -20,7 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class LanguageSelectionGUI implements Listener {
+public class LanguageSelectionGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -116,10 +114,10 @@ public class LanguageSelectionGUI implements Listener {
 
     public void open() {
         player.openInventory(inventory);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) return;
         event.setCancelled(true);
@@ -133,7 +131,7 @@ public class LanguageSelectionGUI implements Listener {
         int slot = event.getSlot();
 
         if (slot == 22) {
-            InventoryClickEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
             
             SettingsGUI settingsGUI = new SettingsGUI(plugin, player);
             settingsGUI.open();
@@ -156,7 +154,7 @@ public class LanguageSelectionGUI implements Listener {
             String message = langManager.getMessage("settings.language_changed", placeholders);
             MessageUtil.send(player, message, NamedTextColor.GREEN);
 
-            InventoryClickEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
             player.closeInventory();
         }
     }
@@ -7,8 +7,6 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -23,7 +21,7 @@ import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.ArrayList;
 import java.util.List;
 
-public class ParticleAdjustGUI implements Listener, GUIBase {
+public class ParticleAdjustGUI implements GUIHandler, GUIBase {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -82,7 +80,7 @@ public class ParticleAdjustGUI implements Listener, GUIBase {
                 45,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("craft_events.adjust_particle_title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -300,7 +298,7 @@ public class ParticleAdjustGUI implements Listener, GUIBase {
         return result.toString();
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -381,20 +379,19 @@ public class ParticleAdjustGUI implements Listener, GUIBase {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
                 if (!inventory.equals(player.getOpenInventory().getTopInventory())) {
-                    InventoryClickEvent.getHandlerList().unregister(this);
-                    InventoryCloseEvent.getHandlerList().unregister(this);
+                    plugin.getGUIDispatcher().unregister(this);
                 }
             }, 1L);
         }
     }
 
     public void refreshAndOpen() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         player.openInventory(inventory);
     }
 }
@@ -7,8 +7,6 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -24,7 +22,7 @@ import org.hikarii.customrecipes.util.ParticleVersionAdapter;
 
 import java.util.*;
 
-public class ParticleSelectorGUI implements Listener, GUIBase {
+public class ParticleSelectorGUI implements GUIHandler, GUIBase {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -52,7 +50,7 @@ public class ParticleSelectorGUI implements Listener, GUIBase {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("craft_events.particles_title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -294,7 +292,7 @@ public class ParticleSelectorGUI implements Listener, GUIBase {
         inventory.setItem(BACK_SLOT, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -387,20 +385,19 @@ public class ParticleSelectorGUI implements Listener, GUIBase {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
                 if (!inventory.equals(player.getOpenInventory().getTopInventory())) {
-                    InventoryClickEvent.getHandlerList().unregister(this);
-                    InventoryCloseEvent.getHandlerList().unregister(this);
+                    plugin.getGUIDispatcher().unregister(this);
                 }
             }, 1L);
         }
     }
 
     public void refreshAndOpen() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
         player.openInventory(inventory);
     }
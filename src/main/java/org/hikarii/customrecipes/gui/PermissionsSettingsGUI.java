@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
@@ -20,7 +18,7 @@ import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.ArrayList;
 import java.util.List;
 
-public class PermissionsSettingsGUI implements Listener {
+public class PermissionsSettingsGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -37,7 +35,7 @@ public class PermissionsSettingsGUI implements Listener {
                 36,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("gui.title.permissions"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -165,7 +163,7 @@ public class PermissionsSettingsGUI implements Listener {
         inventory.setItem(35, back);  
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -187,13 +185,12 @@ public class PermissionsSettingsGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
                 if (!inventory.equals(player.getOpenInventory().getTopInventory())) {
-                    InventoryClickEvent.getHandlerList().unregister(this);
-                    InventoryCloseEvent.getHandlerList().unregister(this);
+                    plugin.getGUIDispatcher().unregister(this);
                 }
             }, 1L);
         }
@@ -6,12 +6,9 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -20,13 +17,14 @@ import org.hikarii.customrecipes.data.PlayerFavoritesManager;
 import org.hikarii.customrecipes.language.LanguageManager;
 import org.hikarii.customrecipes.recipe.CustomRecipe;
 import org.hikarii.customrecipes.recipe.RecipeConditions;
+import org.hikarii.customrecipes.recipe.RecipeManager;
 import org.hikarii.customrecipes.recipe.RecipeType;
 import org.hikarii.customrecipes.util.MessageUtil;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class PlayerRecipeListGUI implements Listener {
+public class PlayerRecipeListGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final LanguageManager lang;
     private final Player player;
@@ -38,7 +36,6 @@ public class PlayerRecipeListGUI implements Listener {
     private RecipeCategory currentCategory = RecipeCategory.ALL;
     private StationFilter currentFilter = StationFilter.ALL;
     private String searchQuery = null;
-    private boolean waitingForSearch = false;
 
     public enum RecipeCategory {
         ALL("category.all", Material.CHEST, NamedTextColor.WHITE),
@@ -112,7 +109,7 @@ public class PlayerRecipeListGUI implements Listener {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("player_recipe_list.title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -161,9 +158,10 @@ public class PlayerRecipeListGUI implements Listener {
         }
 
         if (currentCategory == RecipeCategory.FAVORITES) {
-            Set<String> favorites = favoritesManager.getFavorites(player.getUniqueId());
+            RecipeManager recipeManager = plugin.getRecipeManager();
             allRecipes = allRecipes.stream()
-                    .filter(recipe -> favorites.contains(recipe.getKey().toLowerCase()))
+                    .filter(recipe -> favoritesManager.isFavorite(player.getUniqueId(),
+                            recipeManager.getOrdinal(recipe.getKey())))
                     .collect(Collectors.toList());
         } else if (currentCategory != RecipeCategory.ALL) {
             allRecipes = allRecipes.stream()
@@ -456,7 +454,7 @@ public class PlayerRecipeListGUI implements Listener {
         inventory.setItem(53, closeButton);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -482,8 +480,7 @@ public class PlayerRecipeListGUI implements Listener {
 
                 if (clickType.isLeftClick()) {
                     
-                    InventoryClickEvent.getHandlerList().unregister(this);
-                    InventoryCloseEvent.getHandlerList().unregister(this);
+                    plugin.getGUIDispatcher().unregister(this);
                     new RecipeViewerGUI(plugin, player, recipe, this).open();
                 } else if (clickType.isRightClick()) {
                     
@@ -515,7 +512,7 @@ public class PlayerRecipeListGUI implements Listener {
                 updateInventory();
             } else if (clickType.isLeftClick()) {
                 
-                waitingForSearch = true;
+                plugin.getChatPromptService().prompt(player, this, this::handleSearchInput);
                 player.closeInventory();
                 MessageUtil.sendInfo(player, lang.getMessage("player_recipe_list.enter_search_query"));
             }
@@ -552,51 +549,36 @@ public class PlayerRecipeListGUI implements Listener {
         }
     }
 
-    @EventHandler
-    public void onChat(AsyncPlayerChatEvent event) {
-        if (!event.getPlayer().equals(player) || !waitingForSearch) {
-            return;
-        }
-
-        event.setCancelled(true);
-        waitingForSearch = false;
-
-        String message = event.getMessage().trim();
+    private void handleSearchInput(String input) {
+        String message = input.trim();
 
         if (message.equalsIgnoreCase("cancel")) {
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                MessageUtil.sendInfo(player, lang.getMessage("player_recipe_list.search_cancelled"));
-                open();
-            });
+            MessageUtil.sendInfo(player, lang.getMessage("player_recipe_list.search_cancelled"));
+            open();
             return;
         }
 
         searchQuery = message;
-
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            recipes = getFilteredRecipes();
-            page = 0;
-            Map<String, String> placeholders = Map.of("count", String.valueOf(recipes.size()), "query", searchQuery);
-            MessageUtil.sendInfo(player, lang.getMessage("player_recipe_list.search_results", placeholders));
-            updateInventory();
-            open();
-        });
+        recipes = getFilteredRecipes();
+        page = 0;
+        Map<String, String> placeholders = Map.of("count", String.valueOf(recipes.size()), "query", searchQuery);
+        MessageUtil.sendInfo(player, lang.getMessage("player_recipe_list.search_results", placeholders));
+        updateInventory();
+        open();
     }
 
     public void reopen() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         recipes = getFilteredRecipes();
         updateInventory();
         player.openInventory(inventory);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            if (!waitingForSearch) {
-                InventoryClickEvent.getHandlerList().unregister(this);
-                InventoryCloseEvent.getHandlerList().unregister(this);
-                AsyncPlayerChatEvent.getHandlerList().unregister(this);
+            if (!plugin.getChatPromptService().isAwaiting(player, this)) {
+                plugin.getGUIDispatcher().unregister(this);
             }
         }
     }
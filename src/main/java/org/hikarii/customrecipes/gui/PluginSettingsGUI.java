@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
@@ -20,7 +18,7 @@ import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.ArrayList;
 import java.util.List;
 
-public class PluginSettingsGUI implements Listener, GUIBase {
+public class PluginSettingsGUI implements GUIHandler, GUIBase {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -44,7 +42,7 @@ public class PluginSettingsGUI implements Listener, GUIBase {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("settings.plugin_settings_title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -231,7 +229,7 @@ public class PluginSettingsGUI implements Listener, GUIBase {
         inventory.setItem(BACK_SLOT, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -263,7 +261,7 @@ public class PluginSettingsGUI implements Listener, GUIBase {
             boolean newValue = !plugin.isKeepSpawnEggNames();
             plugin.getConfig().set("spawn-egg-keep-custom-name", newValue);
             plugin.saveConfig();
-            plugin.loadConfiguration();
+            plugin.reloadConfiguration();
             String status = newValue ? lang.getMessage("lore.status_enabled") : lang.getMessage("lore.status_disabled");
             MessageUtil.sendAdminSuccess(player, lang.getMessage("settings.spawn_egg_toggled").replace("{status}", status));
             updateInventory();
@@ -274,7 +272,7 @@ public class PluginSettingsGUI implements Listener, GUIBase {
             boolean newValue = !plugin.isUseCraftedCustomNames();
             plugin.getConfig().set("use-crafted-custom-names", newValue);
             plugin.saveConfig();
-            plugin.loadConfiguration();
+            plugin.reloadConfiguration();
             String status = newValue ? lang.getMessage("lore.status_enabled") : lang.getMessage("lore.status_disabled");
             MessageUtil.sendAdminSuccess(player, lang.getMessage("settings.crafted_names_toggled").replace("{status}", status));
             updateInventory();
@@ -307,20 +305,19 @@ public class PluginSettingsGUI implements Listener, GUIBase {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
                 if (!inventory.equals(player.getOpenInventory().getTopInventory())) {
-                    InventoryClickEvent.getHandlerList().unregister(this);
-                    InventoryCloseEvent.getHandlerList().unregister(this);
+                    plugin.getGUIDispatcher().unregister(this);
                 }
             }, 1L);
         }
     }
 
     public void refreshAndOpen() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
         player.openInventory(inventory);
     }
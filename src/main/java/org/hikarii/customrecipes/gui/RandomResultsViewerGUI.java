@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
@@ -22,7 +20,7 @@ import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.ArrayList;
 import java.util.List;
 
-public class RandomResultsViewerGUI implements Listener {
+public class RandomResultsViewerGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final Player player;
     private final Inventory inventory;
@@ -52,7 +50,7 @@ public class RandomResultsViewerGUI implements Listener {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("random_results.viewer_title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -201,7 +199,7 @@ public class RandomResultsViewerGUI implements Listener {
         inventory.setItem(BACK_SLOT, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -237,7 +235,7 @@ public class RandomResultsViewerGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
             unregister();
@@ -245,7 +243,6 @@ public class RandomResultsViewerGUI implements Listener {
     }
 
     private void unregister() {
-        InventoryClickEvent.getHandlerList().unregister(this);
-        InventoryCloseEvent.getHandlerList().unregister(this);
+        plugin.getGUIDispatcher().unregister(this);
     }
 }
@@ -8,8 +8,6 @@ import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -37,7 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class RecipeCreatorGUI implements Listener {
+public class RecipeCreatorGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final Player player;
     private final LanguageManager lang;
@@ -68,7 +66,7 @@ public class RecipeCreatorGUI implements Listener {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("gui.title.recipe_creator"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -713,7 +711,7 @@ public class RecipeCreatorGUI implements Listener {
         inventory.setItem(CANCEL_BUTTON, cancel);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryDrag(InventoryDragEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -731,7 +729,7 @@ public class RecipeCreatorGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -1094,11 +1092,10 @@ public class RecipeCreatorGUI implements Listener {
         }).open();
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 }
\ No newline at end of file
@@ -8,8 +8,6 @@ import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -36,7 +34,7 @@ import java.io.File;
 import java.util.*;
 import java.util.function.Consumer;
 
-public class RecipeEditorGUI implements Listener {
+public class RecipeEditorGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final Player player;
     private final CustomRecipe recipe;
@@ -94,7 +92,7 @@ public class RecipeEditorGUI implements Listener {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("gui.title.recipe_editor"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -629,7 +627,7 @@ public class RecipeEditorGUI implements Listener {
             }
 
             plugin.getConfigManager().getRecipeFileManager().saveRecipe(recipe.getKey(), recipeData, recipe.getType());
-            plugin.loadConfiguration();
+            plugin.reloadConfiguration();
             MessageUtil.sendAdminSuccess(player, lang.getMessage("editor.success.pattern_updated"));
             editMode = false;
             editResultItem = null;
@@ -1336,7 +1334,7 @@ public class RecipeEditorGUI implements Listener {
         inventory.setItem(BTN_GET_ITEM, button);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryDrag(InventoryDragEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -1354,7 +1352,7 @@ public class RecipeEditorGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -1599,7 +1597,6 @@ public class RecipeEditorGUI implements Listener {
                     }
                     
                     try {
-                        plugin.getRecipeManager().unregisterAll();
                         plugin.getConfigManager().loadRecipes();
                         plugin.getRecipeManager().registerAllRecipes();
                     } catch (Exception e) {
@@ -1682,7 +1679,6 @@ public class RecipeEditorGUI implements Listener {
                     config.set("hidden", newValue);
                     config.save(recipeFile);
 
-                    plugin.getRecipeManager().unregisterAll();
                     plugin.getConfigManager().loadRecipes();
                     plugin.getRecipeManager().registerAllRecipes();
 
@@ -1721,7 +1717,6 @@ public class RecipeEditorGUI implements Listener {
                 saveRandomResultsToFile(recipeKey, poolToSave);
                 
                 try {
-                    plugin.getRecipeManager().unregisterAll();
                     plugin.getConfigManager().loadRecipes();
                     plugin.getRecipeManager().registerAllRecipes();
                     CustomRecipe currentRecipe = plugin.getRecipeManager().getRecipe(recipeKey);
@@ -1757,11 +1752,10 @@ public class RecipeEditorGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 
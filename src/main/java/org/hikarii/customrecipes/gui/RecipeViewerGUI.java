@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
@@ -24,7 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class RecipeViewerGUI implements Listener {
+public class RecipeViewerGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final LanguageManager lang;
     private final Player player;
@@ -54,7 +52,7 @@ public class RecipeViewerGUI implements Listener {
                 54,
                 MessageUtil.createGradientMenuTitle(lang.getMessage("recipe_viewer.title"))
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -324,7 +322,7 @@ public class RecipeViewerGUI implements Listener {
         inventory.setItem(RANDOM_RESULTS_SLOT, button);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -341,8 +339,7 @@ public class RecipeViewerGUI implements Listener {
 
         int slot = event.getSlot();
         if (slot == BACK_BUTTON_SLOT) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
             parentGUI.reopen();
             return;
         }
@@ -350,8 +347,7 @@ public class RecipeViewerGUI implements Listener {
         if (slot == RANDOM_RESULTS_SLOT) {
             RandomResultPool randomResults = recipe.getRandomResults();
             if (randomResults != null && randomResults.hasRandomResults()) {
-                InventoryClickEvent.getHandlerList().unregister(this);
-                InventoryCloseEvent.getHandlerList().unregister(this);
+                plugin.getGUIDispatcher().unregister(this);
                 
                 boolean showOnlyAvailable = !player.hasPermission("customrecipes.list.all");
                 new RandomResultsViewerGUI(plugin, player, randomResults, showOnlyAvailable, () -> {
@@ -362,11 +358,10 @@ public class RecipeViewerGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 }
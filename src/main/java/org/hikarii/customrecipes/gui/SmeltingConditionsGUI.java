@@ -8,8 +8,6 @@ import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -27,7 +25,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class SmeltingConditionsGUI implements Listener {
+public class SmeltingConditionsGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final LanguageManager lang;
     private final Player player;
@@ -73,7 +71,7 @@ public class SmeltingConditionsGUI implements Listener {
                 MessageUtil.createGradientMenuTitle(lang.getMessage("gui.title.smelting_conditions"))
         );
 
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -247,7 +245,7 @@ public class SmeltingConditionsGUI implements Listener {
                 }
 
                 config.save(recipeFile);
-                plugin.loadConfiguration();
+                plugin.reloadConfiguration();
                 MessageUtil.sendAdminSuccess(player, lang.getMessage("smelting_conditions.saved"));
             } else {
                 MessageUtil.sendError(player, lang.getMessage("smelting_conditions.file_not_found"));
@@ -258,7 +256,7 @@ public class SmeltingConditionsGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -328,11 +326,10 @@ public class SmeltingConditionsGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 }
@@ -6,13 +6,10 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -26,8 +23,7 @@ import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeManager;
 import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.*;
 
-public class VanillaRecipeEditorGUI implements Listener {
-    private static final Map<UUID, VanillaRecipeEditorGUI> waitingForSearch = new HashMap<>();
+public class VanillaRecipeEditorGUI implements GUIHandler {
     private static final int[] GRID_SLOTS = {10, 11, 12, 19, 20, 21, 28, 29, 30};
     private static final int[] FURNACE_INPUT_SLOT = {12}; 
     private static final int RESULT_SLOT = 25;
@@ -78,7 +74,7 @@ public class VanillaRecipeEditorGUI implements Listener {
             loadOriginalPattern();
         }
         plugin.getVanillaRecipeManager().setCurrentVariant(recipeKey, currentVariantIndex);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -825,7 +821,7 @@ public class VanillaRecipeEditorGUI implements Listener {
         return lang.getMessage("vanilla.variant_number", Map.of("number", String.valueOf(index + 1)));
     }
 
-    @EventHandler
+    @Override
     public void onInventoryDrag(InventoryDragEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -843,7 +839,7 @@ public class VanillaRecipeEditorGUI implements Listener {
         }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -948,7 +944,7 @@ public class VanillaRecipeEditorGUI implements Listener {
         if (isFurnaceRecipe()) {
             
             if (slot == 45) {
-                waitingForSearch.put(player.getUniqueId(), this);
+                plugin.getChatPromptService().prompt(player, this, this::handleSearchInput);
                 player.closeInventory();
                 MessageUtil.sendAdminInfo(player, lang.getMessage("vanilla.type_recipe_search"));
                 MessageUtil.sendAdminInfo(player, lang.getMessage("vanilla.type_cancel"));
@@ -1041,7 +1037,7 @@ public class VanillaRecipeEditorGUI implements Listener {
         } else {
 
             if (slot == 45) {
-                waitingForSearch.put(player.getUniqueId(), this);
+                plugin.getChatPromptService().prompt(player, this, this::handleSearchInput);
                 player.closeInventory();
                 MessageUtil.sendAdminInfo(player, lang.getMessage("vanilla.type_recipe_search"));
                 MessageUtil.sendAdminInfo(player, lang.getMessage("vanilla.type_cancel"));
@@ -1323,35 +1319,20 @@ public class VanillaRecipeEditorGUI implements Listener {
         }
     }
 
-    @EventHandler
-    public void onChat(AsyncPlayerChatEvent event) {
-        Player chatPlayer = event.getPlayer();
-        VanillaRecipeEditorGUI editor = waitingForSearch.get(chatPlayer.getUniqueId());
-        if (editor == null || !chatPlayer.equals(player)) {
-            return;
-        }
-
-        event.setCancelled(true);
-        String message = event.getMessage();
+    private void handleSearchInput(String message) {
         if (message.equalsIgnoreCase("cancel")) {
-            waitingForSearch.remove(chatPlayer.getUniqueId());
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                MessageUtil.sendAdminWarning(chatPlayer, lang.getMessage("vanilla.search_cancelled"));
-                editor.open();
-            });
+            MessageUtil.sendAdminWarning(player, lang.getMessage("vanilla.search_cancelled"));
+            open();
             return;
         }
 
         List<VanillaRecipeInfo> results = plugin.getVanillaRecipeManager().searchRecipes(message);
-        waitingForSearch.remove(chatPlayer.getUniqueId());
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            if (results.isEmpty()) {
-                MessageUtil.sendError(chatPlayer, lang.getMessage("vanilla.no_recipes_matching", Map.of("query", message)));
-                editor.open();
-            } else {
-                new VanillaRecipeSearchResultsGUI(plugin, chatPlayer, results, message, parentGUI).open();
-            }
-        });
+        if (results.isEmpty()) {
+            MessageUtil.sendError(player, lang.getMessage("vanilla.no_recipes_matching", Map.of("query", message)));
+            open();
+        } else {
+            new VanillaRecipeSearchResultsGUI(plugin, player, results, message, parentGUI).open();
+        }
     }
 
     private void updateInventoryFast() {
@@ -1372,13 +1353,11 @@ public class VanillaRecipeEditorGUI implements Listener {
         addGridItems();
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            if (!waitingForSearch.containsKey(player.getUniqueId()) && !awaitingSubGUI) {
-                InventoryClickEvent.getHandlerList().unregister(this);
-                InventoryCloseEvent.getHandlerList().unregister(this);
-                AsyncPlayerChatEvent.getHandlerList().unregister(this);
+            if (!plugin.getChatPromptService().isAwaiting(player, this) && !awaitingSubGUI) {
+                plugin.getGUIDispatcher().unregister(this);
             }
         }
     }
@@ -6,8 +6,6 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.ClickType;
@@ -22,7 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class VanillaRecipeSearchResultsGUI implements Listener {
+public class VanillaRecipeSearchResultsGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final Player player;
     private final LanguageManager lang;
@@ -45,7 +43,7 @@ public class VanillaRecipeSearchResultsGUI implements Listener {
                 54,
                 MessageUtil.createMenuTitle(lang.getMessage("vanilla.search_results_title", Map.of("query", query)), NamedTextColor.LIGHT_PURPLE)
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
     }
 
@@ -171,7 +169,7 @@ public class VanillaRecipeSearchResultsGUI implements Listener {
         inventory.setItem(53, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -223,16 +221,15 @@ public class VanillaRecipeSearchResultsGUI implements Listener {
     }
 
     public void reopen() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateInventory();
         player.openInventory(inventory);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            InventoryClickEvent.getHandlerList().unregister(this);
-            InventoryCloseEvent.getHandlerList().unregister(this);
+            plugin.getGUIDispatcher().unregister(this);
         }
     }
 }
\ No newline at end of file
@@ -6,12 +6,9 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -23,8 +20,7 @@ import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class VanillaRecipesGUI implements Listener {
-    private static final Map<UUID, VanillaRecipesGUI> waitingForSearch = new HashMap<>();
+public class VanillaRecipesGUI implements GUIHandler {
     private final CustomRecipes plugin;
     private final Player player;
     private final LanguageManager lang;
@@ -61,7 +57,7 @@ public class VanillaRecipesGUI implements Listener {
                 54,
                 MessageUtil.createMenuTitle(lang.getMessage("gui.title.vanilla_recipes"), NamedTextColor.DARK_GREEN)
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateDisplayedRecipes();
         
         int maxPages = (int) Math.ceil((double) displayedRecipes.size() / RECIPES_PER_PAGE);
@@ -87,7 +83,7 @@ public class VanillaRecipesGUI implements Listener {
                 54,
                 MessageUtil.createMenuTitle(lang.getMessage("gui.title.vanilla_recipes"), NamedTextColor.DARK_GREEN)
         );
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getGUIDispatcher().register(this, player, inventory);
         updateDisplayedRecipes();
         
         int maxPages = (int) Math.ceil((double) displayedRecipes.size() / RECIPES_PER_PAGE);
@@ -340,7 +336,7 @@ public class VanillaRecipesGUI implements Listener {
         inventory.setItem(53, back);
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) {
             return;
@@ -367,7 +363,7 @@ public class VanillaRecipesGUI implements Listener {
         }
 
         if (slot == 45) {
-            waitingForSearch.put(player.getUniqueId(), this);
+            plugin.getChatPromptService().prompt(player, this, this::handleSearchInput);
             player.closeInventory();
             MessageUtil.sendAdminInfo(player, lang.getMessage("vanilla.type_recipe_name"));
             MessageUtil.sendAdminInfo(player, lang.getMessage("vanilla.type_cancel"));
@@ -456,46 +452,29 @@ public class VanillaRecipesGUI implements Listener {
         savedCategories.put(player.getUniqueId(), currentCategory);
     }
 
-    @EventHandler
-    public void onChat(AsyncPlayerChatEvent event) {
-        Player chatPlayer = event.getPlayer();
-        VanillaRecipesGUI gui = waitingForSearch.get(chatPlayer.getUniqueId());
-        if (gui == null || !chatPlayer.equals(player)) {
-            return;
-        }
-
-        event.setCancelled(true);
-        String message = event.getMessage();
+    private void handleSearchInput(String message) {
         if (message.equalsIgnoreCase("cancel")) {
-            waitingForSearch.remove(chatPlayer.getUniqueId());
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                MessageUtil.sendAdminWarning(chatPlayer, lang.getMessage("vanilla.search_cancelled"));
-                gui.open();
-            });
+            MessageUtil.sendAdminWarning(player, lang.getMessage("vanilla.search_cancelled"));
+            open();
             return;
         }
 
         List<VanillaRecipeInfo> results = plugin.getVanillaRecipeManager().searchRecipes(message);
-        waitingForSearch.remove(chatPlayer.getUniqueId());
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            if (results.isEmpty()) {
-                MessageUtil.sendError(chatPlayer, lang.getMessage("vanilla.no_recipes_matching", Map.of("query", message)));
-                gui.open();
-            } else {
-                new VanillaRecipeSearchResultsGUI(plugin, chatPlayer, results, message, gui).open();
-            }
-        });
+        if (results.isEmpty()) {
+            MessageUtil.sendError(player, lang.getMessage("vanilla.no_recipes_matching", Map.of("query", message)));
+            open();
+        } else {
+            new VanillaRecipeSearchResultsGUI(plugin, player, results, message, this).open();
+        }
     }
 
-    @EventHandler
+    @Override
     public void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(inventory) && event.getPlayer().equals(player)) {
-            if (!waitingForSearch.containsKey(player.getUniqueId())) {
+            if (!plugin.getChatPromptService().isAwaiting(player, this)) {
                 savedCategories.remove(player.getUniqueId());
                 savedStations.remove(player.getUniqueId());
-                InventoryClickEvent.getHandlerList().unregister(this);
-                InventoryCloseEvent.getHandlerList().unregister(this);
-                AsyncPlayerChatEvent.getHandlerList().unregister(this);
+                plugin.getGUIDispatcher().unregister(this);
             }
         }
     }
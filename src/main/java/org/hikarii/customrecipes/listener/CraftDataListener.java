@@ -0,0 +1,29 @@
+package org.hikarii.customrecipes.listener;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.hikarii.customrecipes.CustomRecipes;
+
+public class CraftDataListener implements Listener {
+    private final CustomRecipes plugin;
+
+    public CraftDataListener(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        plugin.getCraftTracker().loadPlayer(event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        plugin.getCraftTracker().scheduleEviction(event.getPlayer().getUniqueId());
+    }
+}
@@ -1,12 +1,16 @@
 package org.hikarii.customrecipes.listener;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.Block;
 import org.bukkit.block.Furnace;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.inventory.FurnaceBurnEvent;
 import org.bukkit.event.inventory.FurnaceSmeltEvent;
 import org.bukkit.event.inventory.FurnaceStartSmeltEvent;
@@ -15,8 +19,13 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.inventory.FurnaceInventory;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
 import org.hikarii.customrecipes.CustomRecipes;
 import org.hikarii.customrecipes.integration.VaultIntegration;
 import org.hikarii.customrecipes.language.LanguageManager;
@@ -27,60 +36,81 @@ import org.hikarii.customrecipes.recipe.RecipeConditions;
 import org.hikarii.customrecipes.recipe.RecipeType;
 import org.hikarii.customrecipes.recipe.data.FurnaceRecipeData;
 import org.hikarii.customrecipes.recipe.data.IngredientMatcher;
-import org.hikarii.customrecipes.recipe.vanilla.IngredientChoice;
-import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeInfo;
 import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeManager;
 import org.hikarii.customrecipes.util.MessageUtil;
+import org.hikarii.customrecipes.trace.TraceCategory;
 
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class FurnaceFuelListener implements Listener {
     private final CustomRecipes plugin;
 
-    private final Map<Location, UUID> furnaceUsers = new ConcurrentHashMap<>();
-
-    private final Map<Location, String> lastErrorSent = new ConcurrentHashMap<>();
-
-    private final Map<Location, String> lastDebugSent = new ConcurrentHashMap<>();
-
-    private final Map<Location, String> validatedCustomFuel = new ConcurrentHashMap<>();
+    private final FurnaceStateRegistry furnaceStates = new FurnaceStateRegistry();
+    private final NamespacedKey validatedRecipeKey;
 
     public FurnaceFuelListener(CustomRecipes plugin) {
         this.plugin = plugin;
+        this.validatedRecipeKey = new NamespacedKey(plugin, "validated_fuel_recipe");
+    }
+
+    public int getTrackedFurnaceCount() {
+        return furnaceStates.size();
     }
 
     private boolean shouldSendError(Location location, String errorKey, Material inputMaterial) {
         String newKey = errorKey + ":" + (inputMaterial != null ? inputMaterial.name() : "null");
-        
-        final boolean[] shouldSend = {false};
-        lastErrorSent.compute(location, (loc, oldKey) -> {
-            if (oldKey == null || !oldKey.equals(newKey)) {
-                shouldSend[0] = true;
-                return newKey;
-            }
-            return oldKey; 
-        });
-        return shouldSend[0];
+        return furnaceStates.getOrCreate(location).markError(newKey);
     }
 
     private boolean shouldDebug(Location location, String debugKey) {
-        final boolean[] shouldSend = {false};
-        lastDebugSent.compute(location, (loc, oldKey) -> {
-            if (oldKey == null || !oldKey.equals(debugKey)) {
-                shouldSend[0] = true;
-                return debugKey;
-            }
-            return oldKey;
-        });
-        return shouldSend[0];
+        return furnaceStates.getOrCreate(location).markDebug(debugKey);
     }
 
     private void clearErrorCache(Location location) {
-        lastErrorSent.remove(location);
-        lastDebugSent.remove(location);
+        FurnaceStateRegistry.FurnaceState state = furnaceStates.get(location);
+        if (state != null) {
+            state.clearMessages();
+        }
+    }
+
+    private UUID getFurnaceUser(Location location) {
+        FurnaceStateRegistry.FurnaceState state = furnaceStates.get(location);
+        return state != null ? state.getUser() : null;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        int removed = furnaceStates.evictChunk(chunk.getWorld(), chunk.getX(), chunk.getZ());
+        if (removed > 0) {
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Evicted " + removed + " furnace state(s) with chunk " +
+                    chunk.getX() + "," + chunk.getZ() + " (" + furnaceStates.size() + " tracked)");
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        if (event.isCancelled()) return;
+        furnaceStates.evictWorld(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBlockBreak(BlockBreakEvent event) {
+        if (event.isCancelled()) return;
+        Material type = event.getBlock().getType();
+        if (type == Material.FURNACE || type == Material.BLAST_FURNACE || type == Material.SMOKER) {
+            furnaceStates.remove(event.getBlock());
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        int removed = furnaceStates.evictUser(event.getPlayer().getUniqueId());
+        if (removed > 0) {
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Evicted " + removed + " furnace state(s) of " +
+                    event.getPlayer().getName() + " (" + furnaceStates.size() + " tracked)");
+        }
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -95,10 +125,10 @@ public class FurnaceFuelListener implements Listener {
 
         if (event.getInventory().getLocation() != null) {
             Location loc = event.getInventory().getLocation();
-            furnaceUsers.put(loc, player.getUniqueId());
-            
-            clearErrorCache(loc);
-            plugin.debug("[FurnaceFuel] Tracking player " + player.getName() + " for furnace at " + loc);
+            FurnaceStateRegistry.FurnaceState state = furnaceStates.getOrCreate(loc);
+            state.setUser(player.getUniqueId());
+            state.clearMessages();
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Tracking player " + player.getName() + " for furnace at " + loc);
         }
     }
 
@@ -117,8 +147,8 @@ public class FurnaceFuelListener implements Listener {
         };
         if (recipeType == null) return;
 
-        Furnace furnace = (Furnace) event.getBlock().getState();
-        FurnaceInventory inventory = furnace.getInventory();
+        FurnaceInventory inventory = getFurnaceInventory(event.getBlock());
+        if (inventory == null) return;
         ItemStack input = inventory.getSmelting();
 
         if (input == null || input.getType() == Material.AIR) {
@@ -128,7 +158,7 @@ public class FurnaceFuelListener implements Listener {
                 if (customFuel != null) {
                     event.setBurnTime(customFuel.getBurnTime());
                     event.setCancelled(false);
-                    plugin.debug("[FurnaceFuel] Custom fuel accepted (no input): " + fuel.getType());
+                    plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Custom fuel accepted (no input): " + fuel.getType());
                 }
             }
             return;
@@ -136,7 +166,7 @@ public class FurnaceFuelListener implements Listener {
 
         if (isVanillaFurnaceRecipeDisabled(input.getType(), recipeType)) {
             event.setCancelled(true);
-            plugin.debug("[FurnaceFuel] Blocked burn - vanilla recipe variant disabled for input: " + input.getType());
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Blocked burn - vanilla recipe variant disabled for input: " + input.getType());
             return;
         }
 
@@ -170,14 +200,14 @@ public class FurnaceFuelListener implements Listener {
                 if (!fuelMatches) {
                     
                     if (shouldDebug(furnaceLocation, "wrong_fuel:" + fuel.getType())) {
-                        plugin.debug("[FurnaceFuel] Custom recipe requires specific fuel, wrong fuel used - CANCELLING");
+                        plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Custom recipe requires specific fuel, wrong fuel used - CANCELLING");
                     }
                     event.setCancelled(true);
                     return;
                 }
             }
 
-            UUID playerUUID = furnaceUsers.get(furnaceLocation);
+            UUID playerUUID = getFurnaceUser(furnaceLocation);
             Player player = playerUUID != null ? Bukkit.getPlayer(playerUUID) : null;
 
             if (player != null && !plugin.getRecipeWorldManager().isRecipeAllowedForPlayer(recipe.getKey(), player)) {
@@ -197,7 +227,7 @@ public class FurnaceFuelListener implements Listener {
                     if (shouldSendError(furnaceLocation, "no_permission", inputMaterial)) {
                         MessageUtil.sendError(player, lang.getMessage("conditions.no_permission",
                                 Map.of("permission", conditions.getPermission())));
-                        plugin.debug("[FurnaceFuel] Burn cancelled - player lacks permission");
+                        plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Burn cancelled - player lacks permission");
                     }
                     return;
                 }
@@ -208,7 +238,7 @@ public class FurnaceFuelListener implements Listener {
                         MessageUtil.sendError(player, lang.getMessage("conditions.not_enough_xp_level",
                                 Map.of("required", String.valueOf(conditions.getRequiredXpLevel()),
                                        "current", String.valueOf(player.getLevel()))));
-                        plugin.debug("[FurnaceFuel] Burn cancelled - not enough XP level");
+                        plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Burn cancelled - not enough XP level");
                     }
                     return;
                 }
@@ -220,7 +250,7 @@ public class FurnaceFuelListener implements Listener {
                         if (shouldSendError(furnaceLocation, "cooldown", inputMaterial)) {
                             MessageUtil.sendError(player, lang.getMessage("conditions.on_cooldown",
                                     Map.of("time", CraftTracker.formatTime(remaining))));
-                            plugin.debug("[FurnaceFuel] Burn cancelled - on cooldown");
+                            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Burn cancelled - on cooldown");
                         }
                         return;
                     }
@@ -233,7 +263,7 @@ public class FurnaceFuelListener implements Listener {
                         if (shouldSendError(furnaceLocation, "daily_limit", inputMaterial)) {
                             MessageUtil.sendError(player, lang.getMessage("conditions.daily_limit_reached",
                                     Map.of("limit", String.valueOf(conditions.getCraftLimitDaily()))));
-                            plugin.debug("[FurnaceFuel] Burn cancelled - daily limit reached");
+                            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Burn cancelled - daily limit reached");
                         }
                         return;
                     }
@@ -246,7 +276,7 @@ public class FurnaceFuelListener implements Listener {
                         if (shouldSendError(furnaceLocation, "weekly_limit", inputMaterial)) {
                             MessageUtil.sendError(player, lang.getMessage("conditions.weekly_limit_reached",
                                     Map.of("limit", String.valueOf(conditions.getCraftLimitWeekly()))));
-                            plugin.debug("[FurnaceFuel] Burn cancelled - weekly limit reached");
+                            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Burn cancelled - weekly limit reached");
                         }
                         return;
                     }
@@ -259,7 +289,7 @@ public class FurnaceFuelListener implements Listener {
                         if (shouldSendError(furnaceLocation, "total_limit", inputMaterial)) {
                             MessageUtil.sendError(player, lang.getMessage("conditions.total_limit_reached",
                                     Map.of("limit", String.valueOf(conditions.getCraftLimitTotal()))));
-                            plugin.debug("[FurnaceFuel] Burn cancelled - total limit reached");
+                            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Burn cancelled - total limit reached");
                         }
                         return;
                     }
@@ -272,7 +302,7 @@ public class FurnaceFuelListener implements Listener {
                         if (shouldSendError(furnaceLocation, "money", inputMaterial)) {
                             MessageUtil.sendError(player, lang.getMessage("conditions.not_enough_money",
                                     Map.of("cost", vault.format(conditions.getMoneyCost()))));
-                            plugin.debug("[FurnaceFuel] Burn cancelled - not enough money");
+                            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Burn cancelled - not enough money");
                         }
                         return;
                     }
@@ -280,16 +310,16 @@ public class FurnaceFuelListener implements Listener {
 
                 clearErrorCache(furnaceLocation);
                 
-                plugin.debug("[FurnaceFuel] All conditions passed for recipe: " + recipe.getKey());
+                plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] All conditions passed for recipe: " + recipe.getKey());
 
                 if (conditions.hasCooldown()) {
                     tracker.setCooldown(player.getUniqueId(), recipeKey);
-                    plugin.debug("[FurnaceFuel] Cooldown set for: " + recipeKey);
+                    plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Cooldown set for: " + recipeKey);
                 }
 
                 if (conditions.hasAnyLimit()) {
                     tracker.incrementCraftCount(player.getUniqueId(), recipeKey);
-                    plugin.debug("[FurnaceFuel] Craft count incremented for: " + recipeKey);
+                    plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Craft count incremented for: " + recipeKey);
                 }
 
                 if (conditions.hasMoneyCost()) {
@@ -297,7 +327,7 @@ public class FurnaceFuelListener implements Listener {
                     if (vault.isEnabled() && vault.withdraw(player, conditions.getMoneyCost())) {
                         MessageUtil.sendWarning(player, lang.getMessage("conditions.money_spent",
                                 Map.of("amount", vault.format(conditions.getMoneyCost()))));
-                        plugin.debug("[FurnaceFuel] Money withdrawn: " + conditions.getMoneyCost());
+                        plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Money withdrawn: " + conditions.getMoneyCost());
                     }
                 }
             }
@@ -308,11 +338,11 @@ public class FurnaceFuelListener implements Listener {
             event.setCancelled(false);
             
             if (recipe != null) {
-                validatedCustomFuel.put(furnaceLocation, recipe.getKey());
-                plugin.debug("[FurnaceFuel] Tracking validated custom fuel for recipe: " + recipe.getKey());
+                setValidatedRecipe(event.getBlock(), recipe.getKey());
+                plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Tracking validated custom fuel for recipe: " + recipe.getKey());
             }
-            plugin.debug("[FurnaceFuel] Custom fuel accepted in " + recipeType + ": " + fuel.getType() +
-                    ", burn time: " + customFuel.getBurnTime());
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Custom fuel accepted in " + recipeType + ": " + fuel.getType() +
+                    ", burn time: " + event.getBurnTime());
         }
 
         if (!isCustomFuel && recipe != null) {
@@ -321,8 +351,8 @@ public class FurnaceFuelListener implements Listener {
                 
                 for (FurnaceRecipeData.CustomFuel cf : furnaceData.getCustomFuels()) {
                     if (matchesCustomFuel(fuel, cf)) {
-                        validatedCustomFuel.put(furnaceLocation, recipe.getKey());
-                        plugin.debug("[FurnaceFuel] Tracking validated vanilla-compatible custom fuel for recipe: " + recipe.getKey());
+                        setValidatedRecipe(event.getBlock(), recipe.getKey());
+                        plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Tracking validated vanilla-compatible custom fuel for recipe: " + recipe.getKey());
                         break;
                     }
                 }
@@ -347,11 +377,11 @@ public class FurnaceFuelListener implements Listener {
             if (isVanillaFurnaceRecipeDisabled(source.getType(), recipeType)) {
                 
                 event.setTotalCookTime(Integer.MAX_VALUE);
-                plugin.debug("[FurnaceFuel] Blocked start smelt - vanilla recipe variant disabled for input: " + source.getType());
+                plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Blocked start smelt - vanilla recipe variant disabled for input: " + source.getType());
             }
         } catch (Exception e) {
             
-            plugin.debug("[FurnaceFuel] FurnaceStartSmeltEvent handling failed (version compatibility): " + e.getMessage());
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] FurnaceStartSmeltEvent handling failed (version compatibility): " + e.getMessage());
         }
     }
 
@@ -367,22 +397,19 @@ public class FurnaceFuelListener implements Listener {
         };
         if (recipeType == null) return;
 
-        Furnace furnace = (Furnace) event.getBlock().getState();
-        FurnaceInventory inventory = furnace.getInventory();
-        ItemStack input = inventory.getSmelting();
-        ItemStack fuel = inventory.getFuel();
+        ItemStack input = event.getSource();
 
         if (input == null || input.getType() == Material.AIR) return;
 
-        plugin.debug("[FurnaceFuel] FurnaceSmeltEvent fired for input: " + input.getType());
+        plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] FurnaceSmeltEvent fired for input: " + input.getType());
 
         CustomRecipe recipe = findMatchingFurnaceRecipe(input, recipeType);
         if (recipe == null) {
-            plugin.debug("[FurnaceFuel] No custom recipe found for input: " + input.getType());
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] No custom recipe found for input: " + input.getType());
             return;
         }
 
-        plugin.debug("[FurnaceFuel] Found recipe: " + recipe.getKey());
+        plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Found recipe: " + recipe.getKey());
 
         FurnaceRecipeData furnaceData = recipe.getFurnaceData();
         if (furnaceData == null) return;
@@ -390,15 +417,17 @@ public class FurnaceFuelListener implements Listener {
         Location furnaceLocation = event.getBlock().getLocation();
 
         if (furnaceData.hasCustomFuels()) {
-            String validatedRecipeKey = validatedCustomFuel.get(furnaceLocation);
+            String validatedRecipe = getValidatedRecipe(event.getBlock());
 
-            if (validatedRecipeKey != null && validatedRecipeKey.equals(recipe.getKey())) {
+            if (validatedRecipe != null && validatedRecipe.equals(recipe.getKey())) {
                 
-                plugin.debug("[FurnaceFuel] Custom fuel was validated for recipe: " + recipe.getKey());
+                plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Custom fuel was validated for recipe: " + recipe.getKey());
                 
-                validatedCustomFuel.remove(furnaceLocation);
+                setValidatedRecipe(event.getBlock(), null);
             } else {
                 
+                FurnaceInventory inventory = getFurnaceInventory(event.getBlock());
+                ItemStack fuel = inventory != null ? inventory.getFuel() : null;
                 boolean fuelMatches = false;
                 for (FurnaceRecipeData.CustomFuel customFuel : furnaceData.getCustomFuels()) {
                     if (matchesCustomFuel(fuel, customFuel)) {
@@ -409,14 +438,14 @@ public class FurnaceFuelListener implements Listener {
 
                 if (!fuelMatches) {
                     
-                    plugin.debug("[FurnaceFuel] Custom recipe requires specific fuel, wrong fuel used - CANCELLING smelt");
+                    plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Custom recipe requires specific fuel, wrong fuel used - CANCELLING smelt");
                     event.setCancelled(true);
                     return;
                 }
             }
         }
 
-        UUID playerUUID = furnaceUsers.get(furnaceLocation);
+        UUID playerUUID = getFurnaceUser(furnaceLocation);
         Player player = playerUUID != null ? Bukkit.getPlayer(playerUUID) : null;
 
         RecipeConditions conditions = recipe.getConditions();
@@ -428,7 +457,7 @@ public class FurnaceFuelListener implements Listener {
                 player.giveExp(xpReward);
                 MessageUtil.sendSuccess(player, lang.getMessage("conditions.xp_gained",
                         Map.of("amount", String.valueOf(xpReward))));
-                plugin.debug("[FurnaceFuel] XP reward given: " + xpReward);
+                plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] XP reward given: " + xpReward);
             } else if (xpReward < 0) {
                 int toTake = Math.abs(xpReward);
                 int currentTotal = getTotalExperience(player);
@@ -436,16 +465,16 @@ public class FurnaceFuelListener implements Listener {
                     setTotalExperience(player, currentTotal - toTake);
                     MessageUtil.sendWarning(player, lang.getMessage("conditions.xp_spent",
                             Map.of("amount", String.valueOf(toTake))));
-                    plugin.debug("[FurnaceFuel] XP cost applied: " + toTake);
+                    plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] XP cost applied: " + toTake);
                 }
             }
         }
 
-        plugin.getLogger().info("[DEBUG Furnace] Recipe " + recipe.getKey() + " hasCraftEvents: " + recipe.hasCraftEvents() + ", player: " + (player != null ? player.getName() : "null"));
+        plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Recipe " + recipe.getKey() + " hasCraftEvents: " + recipe.hasCraftEvents() + ", player: " + (player != null ? player.getName() : "null"));
         if (recipe.hasCraftEvents() && player != null) {
             CraftEvents events = recipe.getCraftEvents();
             final Player finalPlayer = player;
-            plugin.getLogger().info("[DEBUG Furnace] Executing craft events for: " + recipe.getKey());
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Executing craft events for: " + recipe.getKey());
             plugin.getServer().getScheduler().runTask(plugin, () -> events.execute(finalPlayer));
         }
 
@@ -455,7 +484,7 @@ public class FurnaceFuelListener implements Listener {
             ItemStack randomResult = recipe.getRandomResults().selectRandomResult();
             if (randomResult != null) {
                 result = randomResult.clone();
-                plugin.debug("[FurnaceFuel] Applied random result: " + result.getType() + " x" + result.getAmount());
+                plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Applied random result: " + randomResult.getType() + " x" + randomResult.getAmount());
             }
 
             if (recipe.getRandomResults().hasFailureChance() && recipe.getRandomResults().rollFailure()) {
@@ -464,14 +493,15 @@ public class FurnaceFuelListener implements Listener {
                 if (player != null) {
                     MessageUtil.sendError(player, plugin.getLanguageManager().getMessage("craft.smelting_failure_message"));
                 }
-                plugin.debug("[FurnaceFuel] Smelting failed due to failure chance");
+                plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Smelting failed due to failure chance");
                 return;
             }
         }
 
         if (result != null && result.getType() != Material.AIR) {
-            event.setResult(result);
-            plugin.debug("[FurnaceFuel] Set smelt result: " + result.getType() + " x" + result.getAmount());
+            final ItemStack finalResult = result;
+            event.setResult(finalResult);
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Set smelt result: " + finalResult.getType() + " x" + finalResult.getAmount());
         }
     }
 
@@ -520,14 +550,15 @@ public class FurnaceFuelListener implements Listener {
 
         if (event.getInventory().getLocation() != null) {
             Location loc = event.getInventory().getLocation();
-            furnaceUsers.put(loc, player.getUniqueId());
+            FurnaceStateRegistry.FurnaceState state = furnaceStates.getOrCreate(loc);
+            state.setUser(player.getUniqueId());
 
             if (event.getRawSlot() == 0 || event.getRawSlot() == 1) {
-                clearErrorCache(loc);
+                state.clearMessages();
             }
 
             if (event.getRawSlot() == 0) {
-                validatedCustomFuel.remove(loc);
+                setValidatedRecipe(loc.getBlock(), null);
             }
         }
 
@@ -592,55 +623,39 @@ public class FurnaceFuelListener implements Listener {
             }
 
             player.updateInventory();
-            plugin.debug("[FurnaceFuel] Custom fuel placed: " + cursor.getType());
+            plugin.trace(TraceCategory.FURNACE, () -> "[FurnaceFuel] Custom fuel placed: " + cursor.getType());
         }
     }
 
-    private FurnaceRecipeData.CustomFuel findCustomFuel(ItemStack item, RecipeType targetType) {
-        if (item == null || item.getType() == Material.AIR) return null;
-
-        for (CustomRecipe recipe : plugin.getRecipeManager().getAllRecipes()) {
-            
-            if (recipe.getType() != targetType) {
-                continue;
-            }
-
-            if (!plugin.getRecipeManager().isRecipeEnabled(recipe.getKey())) {
-                continue;
-            }
+    private FurnaceInventory getFurnaceInventory(Block block) {
+        // getState(false) reads the live tile entity instead of copying it into a snapshot
+        return block.getState(false) instanceof Furnace furnace ? furnace.getInventory() : null;
+    }
 
-            FurnaceRecipeData furnaceData = recipe.getFurnaceData();
-            if (furnaceData == null || !furnaceData.hasCustomFuels()) continue;
+    private String getValidatedRecipe(Block block) {
+        return block.getState(false) instanceof Furnace furnace ?
+                furnace.getPersistentDataContainer().get(validatedRecipeKey, PersistentDataType.STRING) : null;
+    }
 
-            for (FurnaceRecipeData.CustomFuel customFuel : furnaceData.getCustomFuels()) {
-                if (matchesCustomFuel(item, customFuel)) {
-                    return customFuel;
-                }
-            }
+    private void setValidatedRecipe(Block block, String recipeKey) {
+        // kept on the furnace itself so the validation survives chunk unloads without being pinned in memory
+        if (!(block.getState(false) instanceof Furnace furnace)) {
+            return;
+        }
+        PersistentDataContainer container = furnace.getPersistentDataContainer();
+        if (recipeKey != null) {
+            container.set(validatedRecipeKey, PersistentDataType.STRING, recipeKey);
+        } else if (container.has(validatedRecipeKey, PersistentDataType.STRING)) {
+            container.remove(validatedRecipeKey);
         }
-        return null;
     }
 
-    private FurnaceRecipeData.CustomFuel findCustomFuel(ItemStack item) {
-        if (item == null || item.getType() == Material.AIR) return null;
-
-        for (CustomRecipe recipe : plugin.getRecipeManager().getAllRecipes()) {
-            if (recipe.getType() != RecipeType.FURNACE &&
-                recipe.getType() != RecipeType.BLAST_FURNACE &&
-                recipe.getType() != RecipeType.SMOKER) {
-                continue;
-            }
-
-            FurnaceRecipeData furnaceData = recipe.getFurnaceData();
-            if (furnaceData == null || !furnaceData.hasCustomFuels()) continue;
+    private FurnaceRecipeData.CustomFuel findCustomFuel(ItemStack item, RecipeType targetType) {
+        return plugin.getRecipeManager().findCustomFuel(item, targetType);
+    }
 
-            for (FurnaceRecipeData.CustomFuel customFuel : furnaceData.getCustomFuels()) {
-                if (matchesCustomFuel(item, customFuel)) {
-                    return customFuel;
-                }
-            }
-        }
-        return null;
+    private FurnaceRecipeData.CustomFuel findCustomFuel(ItemStack item) {
+        return plugin.getRecipeManager().findCustomFuel(item);
     }
 
     private boolean matchesCustomFuel(ItemStack item, FurnaceRecipeData.CustomFuel customFuel) {
@@ -655,32 +670,7 @@ public class FurnaceFuelListener implements Listener {
     }
 
     private CustomRecipe findMatchingFurnaceRecipe(ItemStack input, RecipeType targetType) {
-        if (input == null || input.getType() == Material.AIR) return null;
-
-        for (CustomRecipe recipe : plugin.getRecipeManager().getAllRecipes()) {
-            
-            if (recipe.getType() != targetType) {
-                continue;
-            }
-
-            if (!plugin.getRecipeManager().isRecipeEnabled(recipe.getKey())) {
-                continue;
-            }
-
-            FurnaceRecipeData furnaceData = recipe.getFurnaceData();
-            if (furnaceData == null) continue;
-
-            if (furnaceData.getExactInput() != null) {
-                if (IngredientMatcher.matches(furnaceData.getExactInput(), input, false)) {
-                    return recipe;
-                }
-            } else if (furnaceData.getInput() != null) {
-                if (furnaceData.getInput().material() == input.getType()) {
-                    return recipe;
-                }
-            }
-        }
-        return null;
+        return plugin.getRecipeManager().findFurnaceRecipe(input, targetType);
     }
 
     private boolean isVanillaFuel(Material material) {
@@ -690,52 +680,6 @@ public class FurnaceFuelListener implements Listener {
 
     private boolean isVanillaFurnaceRecipeDisabled(Material inputMaterial, RecipeType recipeType) {
         VanillaRecipeManager manager = plugin.getVanillaRecipeManager();
-        if (manager == null) return false;
-
-        for (VanillaRecipeInfo info : manager.getAllVanillaRecipes().values()) {
-            
-            if (info.getType() != recipeType) {
-                continue;
-            }
-
-            String recipeKey = info.getKey().replace("minecraft:", "");
-            List<List<IngredientChoice>> grid = info.getIngredientGrid();
-
-            if (grid.isEmpty() || grid.get(0).isEmpty()) {
-                continue;
-            }
-
-            IngredientChoice inputChoice = grid.get(0).get(0);
-            boolean inputMatches = false;
-            int matchingVariantIndex = -1;
-
-            if (inputChoice.hasMultipleOptions()) {
-                List<Material> options = inputChoice.getOptions();
-                for (int i = 0; i < options.size(); i++) {
-                    if (options.get(i) == inputMaterial) {
-                        inputMatches = true;
-                        matchingVariantIndex = i;
-                        break;
-                    }
-                }
-            } else if (inputChoice.getSelected() == inputMaterial) {
-                inputMatches = true;
-                matchingVariantIndex = 0;
-            }
-
-            if (!inputMatches) {
-                continue;
-            }
-
-            if (manager.isRecipeDisabled(recipeKey)) {
-                return true;
-            }
-
-            if (matchingVariantIndex >= 0 && manager.isVariantDisabled(recipeKey, matchingVariantIndex)) {
-                return true;
-            }
-        }
-
-        return false;
+        return manager != null && manager.isFurnaceInputDisabled(recipeType, inputMaterial);
     }
 }
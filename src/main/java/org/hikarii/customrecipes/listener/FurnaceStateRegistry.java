@@ -0,0 +1,159 @@
+package org.hikarii.customrecipes.listener;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+public class FurnaceStateRegistry {
+    private final Map<UUID, Map<Long, Map<Long, FurnaceState>>> worlds = new HashMap<>();
+    private int size;
+
+    public FurnaceState get(Block block) {
+        return get(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+    public FurnaceState get(Location location) {
+        return get(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public FurnaceState getOrCreate(Location location) {
+        Map<Long, FurnaceState> chunk = worlds
+                .computeIfAbsent(location.getWorld().getUID(), id -> new HashMap<>())
+                .computeIfAbsent(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), key -> new HashMap<>());
+        long blockKey = blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        FurnaceState state = chunk.get(blockKey);
+        if (state == null) {
+            state = new FurnaceState();
+            chunk.put(blockKey, state);
+            size++;
+        }
+        return state;
+    }
+
+    public void remove(Block block) {
+        Map<Long, Map<Long, FurnaceState>> chunks = worlds.get(block.getWorld().getUID());
+        if (chunks == null) {
+            return;
+        }
+        long chunkKey = chunkKey(block.getX() >> 4, block.getZ() >> 4);
+        Map<Long, FurnaceState> chunk = chunks.get(chunkKey);
+        if (chunk != null && chunk.remove(blockKey(block.getX(), block.getY(), block.getZ())) != null) {
+            size--;
+            if (chunk.isEmpty()) {
+                chunks.remove(chunkKey);
+            }
+        }
+    }
+
+    public int evictChunk(World world, int chunkX, int chunkZ) {
+        Map<Long, Map<Long, FurnaceState>> chunks = worlds.get(world.getUID());
+        if (chunks == null) {
+            return 0;
+        }
+        Map<Long, FurnaceState> chunk = chunks.remove(chunkKey(chunkX, chunkZ));
+        if (chunk == null) {
+            return 0;
+        }
+        size -= chunk.size();
+        if (chunks.isEmpty()) {
+            worlds.remove(world.getUID());
+        }
+        return chunk.size();
+    }
+
+    public int evictWorld(World world) {
+        Map<Long, Map<Long, FurnaceState>> chunks = worlds.remove(world.getUID());
+        if (chunks == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (Map<Long, FurnaceState> chunk : chunks.values()) {
+            removed += chunk.size();
+        }
+        size -= removed;
+        return removed;
+    }
+
+    public int evictUser(UUID playerUUID) {
+        int removed = 0;
+        for (Map<Long, Map<Long, FurnaceState>> chunks : worlds.values()) {
+            Iterator<Map<Long, FurnaceState>> chunkIterator = chunks.values().iterator();
+            while (chunkIterator.hasNext()) {
+                Map<Long, FurnaceState> chunk = chunkIterator.next();
+                Iterator<FurnaceState> stateIterator = chunk.values().iterator();
+                while (stateIterator.hasNext()) {
+                    FurnaceState state = stateIterator.next();
+                    if (playerUUID.equals(state.user)) {
+                        stateIterator.remove();
+                        removed++;
+                    }
+                }
+                if (chunk.isEmpty()) {
+                    chunkIterator.remove();
+                }
+            }
+        }
+        size -= removed;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private FurnaceState get(World world, int x, int y, int z) {
+        Map<Long, Map<Long, FurnaceState>> chunks = worlds.get(world.getUID());
+        if (chunks == null) {
+            return null;
+        }
+        Map<Long, FurnaceState> chunk = chunks.get(chunkKey(x >> 4, z >> 4));
+        return chunk != null ? chunk.get(blockKey(x, y, z)) : null;
+    }
+
+    static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static final class FurnaceState {
+        private UUID user;
+        private String lastError;
+        private String lastDebug;
+
+        public UUID getUser() {
+            return user;
+        }
+
+        public void setUser(UUID user) {
+            this.user = user;
+        }
+
+        public boolean markError(String errorKey) {
+            if (errorKey.equals(lastError)) {
+                return false;
+            }
+            lastError = errorKey;
+            return true;
+        }
+
+        public boolean markDebug(String debugKey) {
+            if (debugKey.equals(lastDebug)) {
+                return false;
+            }
+            lastDebug = debugKey;
+            return true;
+        }
+
+        public void clearMessages() {
+            lastError = null;
+            lastDebug = null;
+        }
+    }
+}
\ No newline at end of file
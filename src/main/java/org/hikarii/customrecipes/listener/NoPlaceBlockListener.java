@@ -12,6 +12,7 @@ import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.hikarii.customrecipes.CustomRecipes;
 import org.hikarii.customrecipes.util.MessageUtil;
+import org.hikarii.customrecipes.trace.TraceCategory;
 
 public class NoPlaceBlockListener implements Listener {
     private final CustomRecipes plugin;
@@ -50,7 +51,7 @@ public class NoPlaceBlockListener implements Listener {
                     MessageUtil.sendError(player, "This block cannot be placed!");
                 }
 
-                plugin.debug("Blocked placement of no_place item by " + player.getName());
+                plugin.trace(TraceCategory.PLACEMENT, () -> "Blocked placement of no_place item by " + player.getName());
             }
         }
     }
@@ -10,7 +10,6 @@ import org.bukkit.event.inventory.CraftItemEvent;
 import org.bukkit.inventory.CraftingInventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
-import org.bukkit.inventory.ShapedRecipe;
 import org.hikarii.customrecipes.CustomRecipes;
 import org.hikarii.customrecipes.integration.VaultIntegration;
 import org.hikarii.customrecipes.language.LanguageManager;
@@ -18,12 +17,14 @@ import org.hikarii.customrecipes.recipe.CraftEvents;
 import org.hikarii.customrecipes.recipe.CraftTracker;
 import org.hikarii.customrecipes.recipe.CustomRecipe;
 import org.hikarii.customrecipes.recipe.RecipeConditions;
+import org.hikarii.customrecipes.recipe.RecipeKeyClassifier;
 import org.hikarii.customrecipes.recipe.RecipeType;
 import org.hikarii.customrecipes.util.MessageUtil;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.hikarii.customrecipes.recipe.data.RecipeIngredient;
+import org.hikarii.customrecipes.trace.TraceCategory;
 
 public class RecipeCraftListener implements Listener {
     private final CustomRecipes plugin;
@@ -43,14 +44,9 @@ public class RecipeCraftListener implements Listener {
             return;
         }
 
-        NamespacedKey key = null;
-        if (recipe instanceof ShapedRecipe shapedRecipe) {
-            key = shapedRecipe.getKey();
-        } else if (recipe instanceof org.bukkit.inventory.ShapelessRecipe shapelessRecipe) {
-            key = shapelessRecipe.getKey();
-        }
-
-        if (key == null || !key.getNamespace().equals(plugin.getName().toLowerCase())) {
+        RecipeKeyClassifier classifier = plugin.getRecipeKeyClassifier();
+        NamespacedKey key = classifier.keyOf(recipe);
+        if (!classifier.isTracked(key) || !classifier.isPluginKey(key)) {
             return;
         }
 
@@ -69,9 +65,7 @@ public class RecipeCraftListener implements Listener {
             return;
         }
 
-        if (plugin.isDebugMode()) {
-            plugin.getLogger().info("[CRAFT] Recipe selected by Bukkit: " + recipeKey);
-        }
+        plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Recipe selected by Bukkit: " + recipeKey);
 
         if (!(event.getWhoClicked() instanceof Player player)) {
             return;
@@ -79,20 +73,16 @@ public class RecipeCraftListener implements Listener {
 
         CraftingInventory inventory = event.getInventory();
         ItemStack[] matrix = inventory.getMatrix();
-        CustomRecipe exactMatchRecipe = findExactMatchRecipe(matrix, player);
+        CustomRecipe exactMatchRecipe = plugin.getRecipeManager().findExactMatchRecipe(matrix, player);
         if (exactMatchRecipe != null && !exactMatchRecipe.getKey().equals(recipeKey)) {
-            if (plugin.isDebugMode()) {
-                plugin.getLogger().info("[CRAFT] Found more specific recipe with exact-ingredients: " +
-                    exactMatchRecipe.getKey());
-            }
+            plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Found more specific recipe with exact-ingredients: " +
+                exactMatchRecipe.getKey());
             customRecipe = exactMatchRecipe;
             boolean useCraftedNames = plugin.isUseCraftedCustomNames();
             boolean keepSpawnEggNames = plugin.isKeepSpawnEggNames();
             ItemStack correctResult = exactMatchRecipe.createResult(useCraftedNames, keepSpawnEggNames);
             inventory.setResult(correctResult);
-            if (plugin.isDebugMode()) {
-                plugin.getLogger().info("[CRAFT] Replaced result with: " + correctResult.getType());
-            }
+            plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Replaced result with: " + correctResult.getType());
         }
         List<RecipeIngredient> ingredients = customRecipe.getRecipeData().ingredients();
         for (int i = 0; i < Math.min(matrix.length, ingredients.size()); i++) {
@@ -106,30 +96,23 @@ public class RecipeCraftListener implements Listener {
                 continue; 
             }
 
-            if (plugin.isDebugMode()) {
-                plugin.getLogger().info("[CRAFT] Slot " + i + ": hasExactItem=" + required.hasExactItem());
-            }
+            final int slot = i;
+            plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Slot " + slot + ": hasExactItem=" + required.hasExactItem());
 
             if (required.hasExactItem()) {
                 ItemStack exactItem = required.getExactItem();
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[CRAFT] Slot " + i + " exact: " + exactItem.getType() +
-                        " actual: " + actual.getType());
-                }
+                plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Slot " + slot + " exact: " + exactItem.getType() +
+                    " actual: " + actual.getType());
 
                 if (!org.hikarii.customrecipes.recipe.data.IngredientMatcher.matches(exactItem, actual, false)) {
-                    if (plugin.isDebugMode()) {
-                        plugin.getLogger().info("[CRAFT] CANCELLED: ingredient properties don't match at slot " + i);
-                    }
+                    plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] CANCELLED: ingredient properties don't match at slot " + slot);
                     event.setCancelled(true);
                     return;
                 }
             }
         }
 
-        if (plugin.isDebugMode()) {
-            plugin.getLogger().info("[CRAFT] All checks passed!");
-        }
+        plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] All checks passed!");
 
         if (!plugin.getRecipeWorldManager().isRecipeAllowedForPlayer(recipeKey, player)) {
             event.setCancelled(true);
@@ -247,16 +230,12 @@ public class RecipeCraftListener implements Listener {
         }
 
         if (customRecipe.hasRandomResults()) {
-            ItemStack storedResult = RecipePreviewListener.getStoredRandomResult(player.getUniqueId());
+            ItemStack storedResult = plugin.getRandomPreviewCache().take(player, customRecipe.getKey(), matrix);
             if (storedResult != null) {
                 
-                inventory.setResult(storedResult.clone());
-                
-                RecipePreviewListener.clearStoredRandomResult(player.getUniqueId());
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[CRAFT] Using stored preview random result for " + player.getName() + ": " +
-                            storedResult.getType() + " x" + storedResult.getAmount());
-                }
+                inventory.setResult(storedResult);
+                plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Using stored preview random result for " + player.getName() + ": " +
+                        storedResult.getType() + " x" + storedResult.getAmount());
             } else {
                 
                 ItemStack randomResult = customRecipe.getRandomOrDefaultResult(
@@ -265,10 +244,8 @@ public class RecipeCraftListener implements Listener {
                 );
                 if (randomResult != null) {
                     inventory.setResult(randomResult);
-                    if (plugin.isDebugMode()) {
-                        plugin.getLogger().info("[CRAFT] Applied new random result (no preview stored): " + randomResult.getType() +
-                                " x" + randomResult.getAmount());
-                    }
+                    plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Applied new random result (no preview stored): " + randomResult.getType() +
+                            " x" + randomResult.getAmount());
                 }
             }
 
@@ -276,22 +253,21 @@ public class RecipeCraftListener implements Listener {
                 
                 inventory.setResult(new ItemStack(Material.AIR));
                 MessageUtil.sendError(player, plugin.getLanguageManager().getMessage("craft.failure_message"));
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[CRAFT] Craft failed due to failure chance for " + player.getName());
-                }
+                plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Craft failed due to failure chance for " + player.getName());
                 return;
             }
         }
 
-        plugin.getLogger().info("[DEBUG Craft] Recipe " + customRecipe.getKey() + " hasCraftEvents: " + customRecipe.hasCraftEvents());
+        final CustomRecipe finalRecipe = customRecipe;
+        plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Recipe " + finalRecipe.getKey() + " hasCraftEvents: " + finalRecipe.hasCraftEvents());
         if (customRecipe.hasCraftEvents()) {
             CraftEvents events = customRecipe.getCraftEvents();
             final String craftKey = customRecipe.getKey();
-            plugin.getLogger().info("[DEBUG Craft] CraftEvents object: " + events +
+            plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] CraftEvents object: " + events +
                 " hasAnyEvent: " + events.hasAnyEvent());
             
             plugin.getServer().getScheduler().runTask(plugin, () -> {
-                plugin.getLogger().info("[DEBUG Craft] Executing craft events for: " + craftKey);
+                plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Executing craft events for: " + craftKey);
                 events.execute(player);
             });
         }
@@ -311,76 +287,6 @@ public class RecipeCraftListener implements Listener {
         }
     }
 
-    private CustomRecipe findExactMatchRecipe(ItemStack[] matrix, Player player) {
-        if (matrix == null || matrix.length != 9) {
-            return null;
-        }
-
-        for (CustomRecipe recipe : plugin.getRecipeManager().getAllRecipes()) {
-            if (recipe.getType() != RecipeType.SHAPED) {
-                continue;
-            }
-
-            if (player != null && !plugin.getRecipeWorldManager().isRecipeAllowedForPlayer(recipe.getKey(), player)) {
-                continue;
-            }
-
-            List<RecipeIngredient> ingredients = recipe.getRecipeData().ingredients();
-            if (ingredients.size() != 9) {
-                continue;
-            }
-
-            boolean hasExactIngredient = false;
-            for (RecipeIngredient ingredient : ingredients) {
-                if (ingredient.hasExactItem()) {
-                    hasExactIngredient = true;
-                    break;
-                }
-            }
-
-            if (!hasExactIngredient) {
-                continue;
-            }
-
-            boolean allIngredientsMatch = true;
-            for (int i = 0; i < 9; i++) {
-                RecipeIngredient required = ingredients.get(i);
-                ItemStack actual = matrix[i];
-
-                if (required.material() == Material.AIR) {
-                    if (actual != null && actual.getType() != Material.AIR) {
-                        allIngredientsMatch = false;
-                        break;
-                    }
-                    continue;
-                }
-
-                if (actual == null || actual.getType() != required.material()) {
-                    allIngredientsMatch = false;
-                    break;
-                }
-
-                if (required.hasExactItem()) {
-                    ItemStack exactItem = required.getExactItem();
-                    
-                    if (!org.hikarii.customrecipes.recipe.data.IngredientMatcher.matches(exactItem, actual, false)) {
-                        allIngredientsMatch = false;
-                        break;
-                    }
-                }
-            }
-
-            if (allIngredientsMatch) {
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[CRAFT] Found recipe with exact-ingredients: " + recipe.getKey());
-                }
-                return recipe;
-            }
-        }
-
-        return null;
-    }
-
     private int getTotalExperience(Player player) {
         int level = player.getLevel();
         int totalXP = 0;
@@ -408,9 +314,7 @@ public class RecipeCraftListener implements Listener {
     }
 
     private void handleShapelessCraft(CraftItemEvent event, CustomRecipe customRecipe) {
-        if (plugin.isDebugMode()) {
-            plugin.getLogger().info("[CRAFT] Shapeless recipe: " + customRecipe.getKey());
-        }
+        plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Shapeless recipe: " + customRecipe.getKey());
 
         CraftingInventory inventory = event.getInventory();
         ItemStack[] matrix = inventory.getMatrix();
@@ -418,17 +322,13 @@ public class RecipeCraftListener implements Listener {
         var shapelessData = customRecipe.getShapelessData();
         if (shapelessData.hasExactIngredients()) {
             if (!validateShapelessExactIngredients(matrix, shapelessData)) {
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[CRAFT] CANCELLED: shapeless exact ingredients don't match");
-                }
+                plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] CANCELLED: shapeless exact ingredients don't match");
                 event.setCancelled(true);
                 return;
             }
         }
 
-        if (plugin.isDebugMode()) {
-            plugin.getLogger().info("[CRAFT] Shapeless checks passed!");
-        }
+        plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Shapeless checks passed!");
 
         if (!(event.getWhoClicked() instanceof Player player)) {
             return;
@@ -551,16 +451,12 @@ public class RecipeCraftListener implements Listener {
         }
 
         if (customRecipe.hasRandomResults()) {
-            ItemStack storedResult = RecipePreviewListener.getStoredRandomResult(player.getUniqueId());
+            ItemStack storedResult = plugin.getRandomPreviewCache().take(player, customRecipe.getKey(), matrix);
             if (storedResult != null) {
                 
-                inventory.setResult(storedResult.clone());
-                
-                RecipePreviewListener.clearStoredRandomResult(player.getUniqueId());
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[CRAFT] Using stored preview random result (shapeless) for " + player.getName() + ": " +
-                            storedResult.getType() + " x" + storedResult.getAmount());
-                }
+                inventory.setResult(storedResult);
+                plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Using stored preview random result (shapeless) for " + player.getName() + ": " +
+                        storedResult.getType() + " x" + storedResult.getAmount());
             } else {
                 
                 ItemStack randomResult = customRecipe.getRandomOrDefaultResult(
@@ -569,10 +465,8 @@ public class RecipeCraftListener implements Listener {
                 );
                 if (randomResult != null) {
                     inventory.setResult(randomResult);
-                    if (plugin.isDebugMode()) {
-                        plugin.getLogger().info("[CRAFT] Applied new random result (shapeless, no preview stored): " + randomResult.getType() +
-                                " x" + randomResult.getAmount());
-                    }
+                    plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Applied new random result (shapeless, no preview stored): " + randomResult.getType() +
+                            " x" + randomResult.getAmount());
                 }
             }
 
@@ -580,20 +474,18 @@ public class RecipeCraftListener implements Listener {
                 
                 inventory.setResult(new ItemStack(Material.AIR));
                 MessageUtil.sendError(player, plugin.getLanguageManager().getMessage("craft.failure_message"));
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[CRAFT] Shapeless craft failed due to failure chance for " + player.getName());
-                }
+                plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Shapeless craft failed due to failure chance for " + player.getName());
                 return;
             }
         }
 
-        plugin.getLogger().info("[DEBUG Shapeless Craft] Recipe " + customRecipe.getKey() + " hasCraftEvents: " + customRecipe.hasCraftEvents());
+        plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Shapeless Recipe " + customRecipe.getKey() + " hasCraftEvents: " + customRecipe.hasCraftEvents());
         if (customRecipe.hasCraftEvents() && event.getWhoClicked() instanceof Player craftPlayer) {
             CraftEvents events = customRecipe.getCraftEvents();
-            plugin.getLogger().info("[DEBUG Shapeless Craft] CraftEvents object: " + events +
+            plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Shapeless CraftEvents object: " + events +
                 " hasAnyEvent: " + events.hasAnyEvent());
             plugin.getServer().getScheduler().runTask(plugin, () -> {
-                plugin.getLogger().info("[DEBUG Shapeless Craft] Executing craft events for: " + customRecipe.getKey());
+                plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Shapeless Executing craft events for: " + customRecipe.getKey());
                 events.execute(craftPlayer);
             });
         }
@@ -638,17 +530,14 @@ public class RecipeCraftListener implements Listener {
                 if (org.hikarii.customrecipes.recipe.data.IngredientMatcher.matches(exactItem, matrixItem, false)) {
                     usedMatrixSlots.set(j, true);
                     found = true;
-                    if (plugin.isDebugMode()) {
-                        plugin.getLogger().info("[CRAFT] Shapeless exact ingredient matched at index " + j);
-                    }
+                    final int matrixIndex = j;
+                    plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Shapeless exact ingredient matched at index " + matrixIndex);
                     break;
                 }
             }
 
             if (!found) {
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("[CRAFT] Shapeless exact ingredient NOT found: " + exactItem.getType());
-                }
+                plugin.trace(TraceCategory.CRAFT, () -> "[CRAFT] Shapeless exact ingredient NOT found: " + exactItem.getType());
                 return false;
             }
         }
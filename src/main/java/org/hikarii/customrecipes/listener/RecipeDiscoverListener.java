@@ -4,6 +4,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerRecipeDiscoverEvent;
 import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.trace.TraceCategory;
 
 public class RecipeDiscoverListener implements Listener {
     private final CustomRecipes plugin;
@@ -14,10 +15,9 @@ public class RecipeDiscoverListener implements Listener {
 
     @EventHandler
     public void onRecipeDiscover(PlayerRecipeDiscoverEvent event) {
-        String recipeKey = event.getRecipe().getKey();
-        if (recipeKey.startsWith(plugin.getName().toLowerCase() + ":")) {
-            String customRecipeKey = recipeKey.split(":", 2)[1];
-            plugin.debug("Player " + event.getPlayer().getName() +
+        if (plugin.getRecipeKeyClassifier().isPluginKey(event.getRecipe())) {
+            String customRecipeKey = event.getRecipe().getKey();
+            plugin.trace(TraceCategory.RECIPE_BOOK, () -> "Player " + event.getPlayer().getName() +
                     " discovered custom recipe: " + customRecipeKey);
         }
     }
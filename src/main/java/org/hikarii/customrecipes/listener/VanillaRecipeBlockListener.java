@@ -1,22 +1,18 @@
 package org.hikarii.customrecipes.listener;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.NamespacedKey;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.CraftItemEvent;
 import org.bukkit.event.inventory.FurnaceSmeltEvent;
-import org.bukkit.event.inventory.PrepareItemCraftEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
 import org.hikarii.customrecipes.CustomRecipes;
 import org.hikarii.customrecipes.recipe.RecipeType;
 import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeManager;
 import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeInfo;
-import org.hikarii.customrecipes.recipe.vanilla.IngredientChoice;
-
+import org.hikarii.customrecipes.trace.TraceCategory;
 import java.util.List;
 
 public class VanillaRecipeBlockListener implements Listener {
@@ -27,66 +23,32 @@ public class VanillaRecipeBlockListener implements Listener {
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = false)
-    public void onPrepareItemCraft(PrepareItemCraftEvent event) {
+    public void onCraftItem(CraftItemEvent event) {
         Recipe recipe = event.getRecipe();
         if (recipe == null) {
             return;
         }
 
-        ItemStack result = event.getInventory().getResult();
+        ItemStack result = event.getRecipe().getResult();
         if (result == null || result.getType() == Material.AIR) {
             return;
         }
 
         Material resultMaterial = result.getType();
-        plugin.debug("PrepareItemCraft: Checking result " + resultMaterial.name());
-
-        for (String recipeKey : plugin.getVanillaRecipeManager().getAllDisabledRecipeKeys()) {
-            VanillaRecipeInfo info = plugin.getVanillaRecipeManager().getRecipeInfo(recipeKey);
-
-            if (info != null && info.getResultMaterial() == resultMaterial) {
-
-                if (matchesRecipePattern(event.getInventory().getMatrix(), info)) {
-                    event.getInventory().setResult(null);
-                    plugin.getLogger().info("Blocked disabled vanilla recipe by result: " + recipeKey +
-                        " (original key might be different)");
-                    return;
-                }
-            }
-        }
-    }
+        plugin.trace(TraceCategory.VANILLA, () -> "CraftItem: Checking result " + resultMaterial.name());
 
-    private boolean matchesRecipePattern(ItemStack[] matrix, VanillaRecipeInfo info) {
-
-        return true;
-    }
-
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = false)
-    public void onCraftItem(CraftItemEvent event) {
-        Recipe recipe = event.getRecipe();
-        if (recipe == null) {
-            return;
-        }
-
-        ItemStack result = event.getRecipe().getResult();
-        if (result == null || result.getType() == Material.AIR) {
+        List<VanillaRecipeInfo> disabled = plugin.getVanillaRecipeManager().getDisabledRecipesByResult(resultMaterial);
+        if (disabled.isEmpty()) {
             return;
         }
-
-        Material resultMaterial = result.getType();
-        plugin.debug("CraftItem: Checking result " + resultMaterial.name());
-
-        for (String recipeKey : plugin.getVanillaRecipeManager().getAllDisabledRecipeKeys()) {
-            VanillaRecipeInfo info = plugin.getVanillaRecipeManager().getRecipeInfo(recipeKey);
-
-            if (info != null && info.getResultMaterial() == resultMaterial) {
-                
-                if (matchesRecipePattern(event.getInventory().getMatrix(), info)) {
-                    event.setCancelled(true);
-                    plugin.getLogger().info("Cancelled crafting of disabled vanilla recipe: " + recipeKey +
-                        " (original key might be different)");
-                    return;
-                }
+        ItemStack[] matrix = event.getInventory().getMatrix();
+        for (int i = 0; i < disabled.size(); i++) {
+            VanillaRecipeInfo info = disabled.get(i);
+            if (info.matchesMatrix(matrix)) {
+                event.setCancelled(true);
+                plugin.trace(TraceCategory.VANILLA, () -> "Cancelled crafting of disabled vanilla recipe: " + info.getKey() +
+                    " (original key might be different)");
+                return;
             }
         }
     }
@@ -103,85 +65,44 @@ public class VanillaRecipeBlockListener implements Listener {
             return;
         }
 
+        RecipeType recipeType = switch (event.getBlock().getType()) {
+            case FURNACE -> RecipeType.FURNACE;
+            case BLAST_FURNACE -> RecipeType.BLAST_FURNACE;
+            case SMOKER -> RecipeType.SMOKER;
+            default -> null;
+        };
+        if (recipeType == null) {
+            return;
+        }
+
         Material inputMaterial = source.getType();
         Material resultMaterial = result.getType();
 
-        plugin.debug("[VanillaBlock] FurnaceSmelt: input=" + inputMaterial + ", result=" + resultMaterial);
-
-        VanillaRecipeManager manager = plugin.getVanillaRecipeManager();
-
-        for (VanillaRecipeInfo info : manager.getAllVanillaRecipes().values()) {
-            
-            if (info.getType() != RecipeType.FURNACE &&
-                info.getType() != RecipeType.BLAST_FURNACE &&
-                info.getType() != RecipeType.SMOKER &&
-                info.getType() != RecipeType.CAMPFIRE) {
-                continue;
-            }
-
-            if (info.getResultMaterial() != resultMaterial) {
-                continue;
-            }
-
-            String recipeKey = info.getKey().replace("minecraft:", "");
-            List<List<IngredientChoice>> grid = info.getIngredientGrid();
-
-            if (grid.isEmpty() || grid.get(0).isEmpty()) {
-                continue;
-            }
-
-            IngredientChoice inputChoice = grid.get(0).get(0);
-            boolean inputMatches = false;
-            int matchingVariantIndex = -1;
-
-            if (inputChoice.hasMultipleOptions()) {
-                List<Material> options = inputChoice.getOptions();
-                for (int i = 0; i < options.size(); i++) {
-                    if (options.get(i) == inputMaterial) {
-                        inputMatches = true;
-                        matchingVariantIndex = i;
-                        break;
-                    }
-                }
-            } else if (inputChoice.getSelected() == inputMaterial) {
-                inputMatches = true;
-                matchingVariantIndex = 0;
-            }
-
-            if (!inputMatches) {
-                continue;
-            }
-
-            if (manager.isRecipeDisabled(recipeKey)) {
-                event.setCancelled(true);
-                plugin.debug("[VanillaBlock] Blocked globally disabled furnace recipe: " + recipeKey);
-                return;
-            }
+        plugin.trace(TraceCategory.VANILLA, () -> "[VanillaBlock] FurnaceSmelt: " + recipeType + " input=" + inputMaterial +
+                ", result=" + resultMaterial);
 
-            if (matchingVariantIndex >= 0 && manager.isVariantDisabled(recipeKey, matchingVariantIndex)) {
-                event.setCancelled(true);
-                plugin.debug("[VanillaBlock] Blocked disabled variant " + matchingVariantIndex +
-                        " of furnace recipe: " + recipeKey);
-                return;
-            }
-
-            VanillaRecipeManager.VanillaRecipeState state = manager.getRecipeState(recipeKey);
-            if (state != null) {
-                Integer customAmount = state.getResultAmountForVariant(matchingVariantIndex);
-                if (customAmount == null) {
-                    customAmount = state.getCustomResultAmount(); 
-                }
-                if (customAmount != null && customAmount != result.getAmount()) {
-                    ItemStack newResult = result.clone();
-                    newResult.setAmount(customAmount);
-                    event.setResult(newResult);
-                    plugin.debug("[VanillaBlock] Applied custom result amount " + customAmount +
-                            " for furnace recipe: " + recipeKey + " variant " + matchingVariantIndex);
-                }
-            }
+        VanillaRecipeManager.FurnaceEntry entry = plugin.getVanillaRecipeManager()
+                .findFurnaceEntry(recipeType, inputMaterial, resultMaterial);
+        if (entry == null) {
+            return;
+        }
 
+        String recipeKey = entry.recipeKey();
+        if (entry.disabled()) {
+            event.setCancelled(true);
+            plugin.trace(TraceCategory.VANILLA, () -> "[VanillaBlock] Blocked disabled variant " + entry.variantIndex() +
+                    " of furnace recipe: " + recipeKey);
             return;
         }
+
+        Integer customAmount = entry.customAmount();
+        if (customAmount != null && customAmount != result.getAmount()) {
+            ItemStack newResult = result.clone();
+            newResult.setAmount(customAmount);
+            event.setResult(newResult);
+            plugin.trace(TraceCategory.VANILLA, () -> "[VanillaBlock] Applied custom result amount " + newResult.getAmount() +
+                    " for furnace recipe: " + recipeKey + " variant " + entry.variantIndex());
+        }
     }
 
 }
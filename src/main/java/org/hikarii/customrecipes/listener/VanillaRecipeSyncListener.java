@@ -1,12 +1,15 @@
 package org.hikarii.customrecipes.listener;
 
+import io.papermc.paper.event.server.ServerResourcesReloadedEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.server.ServerLoadEvent;
 import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.trace.TraceCategory;
 
 public class VanillaRecipeSyncListener implements Listener {
     private final CustomRecipes plugin;
@@ -22,8 +25,18 @@ public class VanillaRecipeSyncListener implements Listener {
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
             if (player.isOnline()) {
                 plugin.getVanillaRecipeManager().updateRecipesForPlayer(player);
-                plugin.debug("Updated recipes for player: " + player.getName());
+                plugin.trace(TraceCategory.VANILLA, () -> "Updated recipes for player: " + player.getName());
             }
         }, 40L); 
     }
-}
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerLoad(ServerLoadEvent event) {
+        plugin.getVanillaRecipeManager().enforceRemovedRecipes("server " + event.getType().name().toLowerCase());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerResourcesReloaded(ServerResourcesReloadedEvent event) {
+        plugin.getVanillaRecipeManager().enforceRemovedRecipes("data pack reload");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+import org.hikarii.customrecipes.recipe.RecipeType;
+import org.hikarii.customrecipes.trace.TraceCategory;
+
+class ExactMatchRedirectStage implements PrepareCraftStage {
+    private final CustomRecipes plugin;
+
+    ExactMatchRedirectStage(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void apply(PrepareCraftContext context) {
+        CustomRecipe customRecipe = context.getCustomRecipe();
+        if (customRecipe == null || customRecipe.getType() != RecipeType.SHAPED) {
+            return;
+        }
+
+        CustomRecipe exactMatchRecipe = plugin.getRecipeManager().findExactMatchRecipe(context.getMatrix(), context.getPlayer());
+        if (exactMatchRecipe != null && !exactMatchRecipe.getKey().equals(customRecipe.getKey())) {
+            context.redirect(exactMatchRecipe,
+                    exactMatchRecipe.createResult(plugin.isUseCraftedCustomNames(), plugin.isKeepSpawnEggNames()));
+            plugin.trace(TraceCategory.PREVIEW, () -> "[PREVIEW] Redirected " + customRecipe.getKey() +
+                    " to exact match " + exactMatchRecipe.getKey());
+        }
+    }
+}
\ No newline at end of file
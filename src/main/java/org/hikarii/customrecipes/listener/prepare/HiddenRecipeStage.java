@@ -0,0 +1,29 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+import org.bukkit.entity.Player;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+import org.hikarii.customrecipes.trace.TraceCategory;
+
+class HiddenRecipeStage implements PrepareCraftStage {
+    private final CustomRecipes plugin;
+
+    HiddenRecipeStage(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void apply(PrepareCraftContext context) {
+        CustomRecipe customRecipe = context.getCustomRecipe();
+        Player player = context.getPlayer();
+        if (customRecipe == null || !customRecipe.isHidden() || player == null) {
+            return;
+        }
+
+        String recipeKey = customRecipe.getKey();
+        if (!plugin.getRecipeDataManager().hasDiscovered(player, recipeKey)) {
+            context.clearResult();
+            plugin.trace(TraceCategory.RECIPE_BOOK, () -> "Hiding recipe " + recipeKey + " from " + player.getName());
+        }
+    }
+}
\ No newline at end of file
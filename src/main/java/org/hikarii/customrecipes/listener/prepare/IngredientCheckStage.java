@@ -0,0 +1,67 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.EnchantmentStorageMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+import org.hikarii.customrecipes.recipe.RecipeType;
+import org.hikarii.customrecipes.recipe.data.IngredientMatcher;
+import org.hikarii.customrecipes.recipe.data.RecipeIngredient;
+import java.util.List;
+
+class IngredientCheckStage implements PrepareCraftStage {
+    private final CustomRecipes plugin;
+
+    IngredientCheckStage(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void apply(PrepareCraftContext context) {
+        CustomRecipe customRecipe = context.getCustomRecipe();
+        if (customRecipe == null || customRecipe.getType() != RecipeType.SHAPED || customRecipe.getRecipeData() == null) {
+            return;
+        }
+
+        ItemStack[] matrix = context.getMatrix();
+        List<RecipeIngredient> ingredients = customRecipe.getRecipeData().ingredients();
+        boolean ignoreMetadata = plugin.getConfig().getBoolean("ignore-metadata", false);
+        for (int i = 0; i < Math.min(matrix.length, ingredients.size()); i++) {
+            RecipeIngredient required = ingredients.get(i);
+            ItemStack actual = matrix[i];
+            if (required.material() == Material.AIR) {
+                continue;
+            }
+
+            ItemStack requiredItem = required.hasExactItem() ? required.getExactItem() : new ItemStack(required.material(), required.amount());
+            if (!IngredientMatcher.matches(requiredItem, actual, ignoreMetadata) ||
+                    actual.getAmount() < required.amount() ||
+                    (required.hasExactItem() && !matchesExactMeta(requiredItem, actual))) {
+                context.clearResult();
+                return;
+            }
+        }
+    }
+
+    private boolean matchesExactMeta(ItemStack exactItem, ItemStack actual) {
+        if (!exactItem.hasItemMeta() || !actual.hasItemMeta()) {
+            return true;
+        }
+        ItemMeta exactMeta = exactItem.getItemMeta();
+        ItemMeta actualMeta = actual.getItemMeta();
+        if (exactItem.getType() == Material.ENCHANTED_BOOK &&
+                exactMeta instanceof EnchantmentStorageMeta exactBook &&
+                actualMeta instanceof EnchantmentStorageMeta actualBook &&
+                !actualBook.getStoredEnchants().equals(exactBook.getStoredEnchants())) {
+            return false;
+        }
+        if (exactMeta instanceof Damageable exactDamageable && actualMeta instanceof Damageable actualDamageable &&
+                exactDamageable.hasDamage() && exactDamageable.getDamage() != actualDamageable.getDamage()) {
+            return false;
+        }
+        return actualMeta.getEnchants().equals(exactMeta.getEnchants());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.PrepareItemCraftEvent;
+import org.bukkit.inventory.CraftingInventory;
+import org.bukkit.inventory.ItemStack;
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+
+public class PrepareCraftContext {
+    private final PrepareItemCraftEvent event;
+    private final CraftingInventory inventory;
+    private final NamespacedKey key;
+    private final Player player;
+    private ItemStack[] matrix;
+    private CustomRecipe customRecipe;
+    private boolean resultCleared;
+
+    PrepareCraftContext(PrepareItemCraftEvent event, NamespacedKey key, CustomRecipe customRecipe) {
+        this.event = event;
+        this.inventory = event.getInventory();
+        this.key = key;
+        this.customRecipe = customRecipe;
+        this.player = event.getView().getPlayer() instanceof Player viewer ? viewer : null;
+    }
+
+    public PrepareItemCraftEvent getEvent() {
+        return event;
+    }
+
+    public CraftingInventory getInventory() {
+        return inventory;
+    }
+
+    public NamespacedKey getKey() {
+        return key;
+    }
+
+    public boolean isVanillaRecipe() {
+        return key != null && key.getNamespace().equals(NamespacedKey.MINECRAFT);
+    }
+
+    public CustomRecipe getCustomRecipe() {
+        return customRecipe;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public ItemStack[] getMatrix() {
+        if (matrix == null) {
+            matrix = inventory.getMatrix();
+        }
+        return matrix;
+    }
+
+    public ItemStack getResult() {
+        return inventory.getResult();
+    }
+
+    public void setResult(ItemStack result) {
+        inventory.setResult(result);
+    }
+
+    public void redirect(CustomRecipe recipe, ItemStack result) {
+        customRecipe = recipe;
+        inventory.setResult(result);
+    }
+
+    public void clearResult() {
+        inventory.setResult(null);
+        resultCleared = true;
+    }
+
+    public boolean isResultCleared() {
+        return resultCleared;
+    }
+}
\ No newline at end of file
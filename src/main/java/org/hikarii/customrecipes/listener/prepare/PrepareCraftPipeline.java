@@ -0,0 +1,74 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.PrepareItemCraftEvent;
+import org.bukkit.inventory.Recipe;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+import org.hikarii.customrecipes.recipe.RecipeKeyClassifier;
+import java.util.List;
+
+public class PrepareCraftPipeline implements Listener {
+    private final CustomRecipes plugin;
+    private final RecipeKeyClassifier classifier;
+    private final PrepareCraftStage vanillaBlockStage;
+    private final List<PrepareCraftStage> stages;
+    private PrepareCraftContext pendingContext;
+
+    public PrepareCraftPipeline(CustomRecipes plugin) {
+        this.plugin = plugin;
+        this.classifier = plugin.getRecipeKeyClassifier();
+        this.vanillaBlockStage = new VanillaBlockStage(plugin);
+        this.stages = List.of(
+                new HiddenRecipeStage(plugin),
+                new WorldRestrictionStage(plugin),
+                new ExactMatchRedirectStage(plugin),
+                new IngredientCheckStage(plugin),
+                new RandomPreviewStage(plugin)
+        );
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPrepareItemCraft(PrepareItemCraftEvent event) {
+        pendingContext = null;
+        Recipe recipe = event.getRecipe();
+        if (recipe == null) {
+            return;
+        }
+
+        NamespacedKey key = classifier.keyOf(recipe);
+        if (!classifier.isTracked(key)) {
+            pendingContext = new PrepareCraftContext(event, key, null);
+            return;
+        }
+        CustomRecipe customRecipe = classifier.isPluginKey(key) ? plugin.getRecipeManager().getRecipe(key.getKey()) : null;
+
+        PrepareCraftContext context = new PrepareCraftContext(event, key, customRecipe);
+        pendingContext = context;
+        for (PrepareCraftStage stage : stages) {
+            stage.apply(context);
+            if (context.isResultCleared()) {
+                return;
+            }
+        }
+    }
+
+    // disabled vanilla recipes are blocked last so no other plugin can put their result back
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPrepareItemCraftBlock(PrepareItemCraftEvent event) {
+        PrepareCraftContext context = pendingContext;
+        pendingContext = null;
+        if (context == null || context.getEvent() != event) {
+            Recipe recipe = event.getRecipe();
+            if (recipe == null) {
+                return;
+            }
+            NamespacedKey key = classifier.keyOf(recipe);
+            context = new PrepareCraftContext(event, key, null);
+        }
+        vanillaBlockStage.apply(context);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+@FunctionalInterface
+public interface PrepareCraftStage {
+    void apply(PrepareCraftContext context);
+}
\ No newline at end of file
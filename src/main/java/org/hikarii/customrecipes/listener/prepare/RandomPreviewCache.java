@@ -0,0 +1,63 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class RandomPreviewCache implements Listener {
+    private static final long PREVIEW_TTL_MILLIS = 60_000L;
+
+    private final Map<UUID, Preview> previews = new HashMap<>();
+
+    public void store(Player player, String recipeKey, ItemStack[] matrix, ItemStack result) {
+        previews.put(player.getUniqueId(), new Preview(recipeKey, fingerprint(matrix), result.clone(),
+                System.currentTimeMillis() + PREVIEW_TTL_MILLIS));
+    }
+
+    public ItemStack take(Player player, String recipeKey, ItemStack[] matrix) {
+        Preview preview = previews.remove(player.getUniqueId());
+        if (preview == null || preview.expiresAt() < System.currentTimeMillis()) {
+            return null;
+        }
+        if (!preview.recipeKey().equals(recipeKey) || preview.matrixFingerprint() != fingerprint(matrix)) {
+            return null;
+        }
+        return preview.result().clone();
+    }
+
+    public void clear(UUID playerUUID) {
+        previews.remove(playerUUID);
+    }
+
+    public int size() {
+        return previews.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        clear(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        clear(event.getPlayer().getUniqueId());
+    }
+
+    private static int fingerprint(ItemStack[] matrix) {
+        int hash = 1;
+        for (ItemStack item : matrix) {
+            hash = 31 * hash + (item == null || item.getType().isAir() ? 0 : item.hashCode());
+        }
+        return hash;
+    }
+
+    private record Preview(String recipeKey, int matrixFingerprint, ItemStack result, long expiresAt) {
+    }
+}
\ No newline at end of file
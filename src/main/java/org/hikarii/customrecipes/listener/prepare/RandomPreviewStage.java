@@ -0,0 +1,36 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+import org.hikarii.customrecipes.recipe.data.RandomResultPool;
+import org.hikarii.customrecipes.trace.TraceCategory;
+
+class RandomPreviewStage implements PrepareCraftStage {
+    private final CustomRecipes plugin;
+
+    RandomPreviewStage(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void apply(PrepareCraftContext context) {
+        CustomRecipe customRecipe = context.getCustomRecipe();
+        Player player = context.getPlayer();
+        if (customRecipe == null || !customRecipe.hasRandomResults() || player == null) {
+            return;
+        }
+
+        RandomResultPool pool = customRecipe.getRandomResults();
+        ItemStack randomResult = pool.selectRandomResult();
+        if (randomResult != null) {
+            ItemStack resultClone = randomResult.clone();
+            context.setResult(resultClone);
+
+            plugin.getRandomPreviewCache().store(player, customRecipe.getKey(), context.getMatrix(), resultClone);
+            plugin.trace(TraceCategory.PREVIEW, () -> "[PREVIEW] Applied random result: " + randomResult.getType() +
+                    " x" + randomResult.getAmount() + " (stored for " + player.getName() + ")");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeInfo;
+import org.hikarii.customrecipes.recipe.vanilla.VanillaRecipeManager;
+import org.hikarii.customrecipes.trace.TraceCategory;
+import java.util.List;
+
+class VanillaBlockStage implements PrepareCraftStage {
+    private final CustomRecipes plugin;
+
+    VanillaBlockStage(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void apply(PrepareCraftContext context) {
+        VanillaRecipeManager vanillaManager = plugin.getVanillaRecipeManager();
+        if (context.isVanillaRecipe()) {
+            String recipeKey = context.getKey().getKey();
+            if (vanillaManager.isRecipeDisabled(recipeKey)) {
+                context.clearResult();
+                plugin.trace(TraceCategory.RECIPE_BOOK, () -> "Blocked disabled vanilla recipe: " + recipeKey);
+                return;
+            }
+        }
+
+        ItemStack result = context.getResult();
+        if (result == null || result.getType() == Material.AIR) {
+            return;
+        }
+
+        Material resultMaterial = result.getType();
+        plugin.trace(TraceCategory.VANILLA, () -> "PrepareItemCraft: Checking result " + resultMaterial.name());
+        List<VanillaRecipeInfo> disabled = vanillaManager.getDisabledRecipesByResult(resultMaterial);
+        for (int i = 0; i < disabled.size(); i++) {
+            VanillaRecipeInfo info = disabled.get(i);
+            if (info.matchesMatrix(context.getMatrix())) {
+                context.clearResult();
+                plugin.trace(TraceCategory.VANILLA, () -> "Blocked disabled vanilla recipe by result: " + info.getKey() +
+                    " (original key might be different)");
+                return;
+            }
+        }
+    }
+}
\ No newline at end of file
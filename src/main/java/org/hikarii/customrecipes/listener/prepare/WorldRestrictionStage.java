@@ -0,0 +1,29 @@
+package org.hikarii.customrecipes.listener.prepare;
+
+import org.bukkit.entity.Player;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.recipe.CustomRecipe;
+import org.hikarii.customrecipes.trace.TraceCategory;
+
+class WorldRestrictionStage implements PrepareCraftStage {
+    private final CustomRecipes plugin;
+
+    WorldRestrictionStage(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void apply(PrepareCraftContext context) {
+        CustomRecipe customRecipe = context.getCustomRecipe();
+        Player player = context.getPlayer();
+        if (customRecipe == null || player == null) {
+            return;
+        }
+
+        String recipeKey = customRecipe.getKey();
+        if (!plugin.getRecipeWorldManager().isRecipeAllowedForPlayer(recipeKey, player)) {
+            context.clearResult();
+            plugin.trace(TraceCategory.RECIPE_BOOK, () -> "Recipe " + recipeKey + " is disabled in world " + player.getWorld().getName());
+        }
+    }
+}
\ No newline at end of file
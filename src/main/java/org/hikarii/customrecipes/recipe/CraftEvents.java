@@ -133,6 +133,22 @@ public class CraftEvents {
         public int getCount() {
             return count;
         }
+
+        public double getOffsetX() {
+            return offsetX;
+        }
+
+        public double getOffsetY() {
+            return offsetY;
+        }
+
+        public double getOffsetZ() {
+            return offsetZ;
+        }
+
+        public double getSpeed() {
+            return speed;
+        }
     }
 
     public static class CommandEvent {
@@ -1,36 +1,44 @@
 package org.hikarii.customrecipes.recipe;
 
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.storage.CraftCountsRecord;
+import org.hikarii.customrecipes.storage.CraftSaveResult;
+import org.hikarii.customrecipes.storage.PlayerCraftRecord;
 
-import java.io.File;
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.temporal.WeekFields;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CraftTracker {
+    private static final int DEFAULT_FLUSH_INTERVAL_SECONDS = 30;
+    private static final int DEFAULT_EVICT_AFTER_SECONDS = 300;
+    private static final long IN_FLIGHT_RETRY_TICKS = 20L;
+
     private final CustomRecipes plugin;
-    private final File dataFile;
 
-    private final Map<UUID, Map<String, Long>> cooldowns = new ConcurrentHashMap<>();
+    private final Map<UUID, PlayerCraftData> players = new ConcurrentHashMap<>();
+
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, PlayerCraftRecord> inFlight = new ConcurrentHashMap<>();
+    private final Object ioLock = new Object();
+    private int flushTaskId = -1;
 
-    private final Map<UUID, Map<String, CraftCounts>> craftCounts = new ConcurrentHashMap<>();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalBytesWritten = new AtomicLong();
+    private volatile long lastFlushBytes;
+    private volatile long lastFlushMicros;
 
     public CraftTracker(CustomRecipes plugin) {
         this.plugin = plugin;
-        this.dataFile = new File(plugin.getDataFolder(), "craft-data.yml");
-        loadData();
+        startFlushTask();
     }
 
     public int getRemainingCooldown(UUID playerUUID, String recipeKey, int cooldownSeconds) {
         if (cooldownSeconds <= 0) return 0;
 
-        Map<String, Long> playerCooldowns = cooldowns.get(playerUUID);
-        if (playerCooldowns == null) return 0;
-
-        Long lastCraft = playerCooldowns.get(recipeKey.toLowerCase());
+        Long lastCraft = getPlayerData(playerUUID).cooldowns.get(recipeKey.toLowerCase());
         if (lastCraft == null) return 0;
 
         long elapsed = (System.currentTimeMillis() - lastCraft) / 1000;
@@ -39,8 +47,8 @@ public class CraftTracker {
     }
 
     public void setCooldown(UUID playerUUID, String recipeKey) {
-        cooldowns.computeIfAbsent(playerUUID, k -> new ConcurrentHashMap<>())
-                .put(recipeKey.toLowerCase(), System.currentTimeMillis());
+        getPlayerData(playerUUID).cooldowns.put(recipeKey.toLowerCase(), System.currentTimeMillis());
+        dirtyPlayers.add(playerUUID);
     }
 
     public int getDailyCrafts(UUID playerUUID, String recipeKey) {
@@ -76,8 +84,7 @@ public class CraftTracker {
     }
 
     public void incrementCraftCount(UUID playerUUID, String recipeKey) {
-        CraftCounts counts = craftCounts
-                .computeIfAbsent(playerUUID, k -> new ConcurrentHashMap<>())
+        CraftCounts counts = getPlayerData(playerUUID).counts
                 .computeIfAbsent(recipeKey.toLowerCase(), k -> new CraftCounts());
 
         LocalDate today = LocalDate.now();
@@ -99,92 +106,205 @@ public class CraftTracker {
         counts.weeklyCount++;
         counts.totalCount++;
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::saveData);
+        dirtyPlayers.add(playerUUID);
     }
 
     private CraftCounts getCraftCounts(UUID playerUUID, String recipeKey) {
-        Map<String, CraftCounts> playerCounts = craftCounts.get(playerUUID);
-        if (playerCounts == null) return null;
-        return playerCounts.get(recipeKey.toLowerCase());
+        return getPlayerData(playerUUID).counts.get(recipeKey.toLowerCase());
     }
 
-    public void loadData() {
-        if (!dataFile.exists()) return;
+    private PlayerCraftData getPlayerData(UUID playerUUID) {
+        PlayerCraftData data = players.get(playerUUID);
+        if (data != null) {
+            return data;
+        }
 
-        try {
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(dataFile);
+        PlayerCraftRecord record = inFlight.get(playerUUID);
+        if (record != null) {
+            return players.computeIfAbsent(playerUUID, k -> PlayerCraftData.of(record));
+        }
 
-            for (String uuidStr : config.getKeys(false)) {
-                try {
-                    UUID uuid = UUID.fromString(uuidStr);
-                    var section = config.getConfigurationSection(uuidStr);
-                    if (section == null) continue;
+        // never touch storage on the caller's thread, crafts made before the load finishes are merged into it
+        PlayerCraftData placeholder = PlayerCraftData.loading();
+        PlayerCraftData existing = players.putIfAbsent(playerUUID, placeholder);
+        if (existing != null) {
+            return existing;
+        }
+        plugin.debug("Craft data for " + playerUUID + " is not loaded yet, loading asynchronously");
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            PlayerCraftRecord loaded = readPlayerRecord(playerUUID);
+            if (plugin.isEnabled()) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> placeholder.merge(loaded));
+            }
+        });
+        return placeholder;
+    }
 
-                    Map<String, CraftCounts> playerCounts = new ConcurrentHashMap<>();
+    public void loadPlayer(UUID playerUUID) {
+        if (players.containsKey(playerUUID)) {
+            return;
+        }
+        PlayerCraftData data = PlayerCraftData.of(readPlayerRecord(playerUUID));
+        players.putIfAbsent(playerUUID, data);
+    }
 
-                    for (String recipeKey : section.getKeys(false)) {
-                        var recipeSection = section.getConfigurationSection(recipeKey);
-                        if (recipeSection == null) continue;
+    public void scheduleEviction(UUID playerUUID) {
+        long delayTicks = Math.max(0, plugin.getConfig().getInt("storage.evict-after",
+                DEFAULT_EVICT_AFTER_SECONDS)) * 20L;
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> evictPlayer(playerUUID), delayTicks);
+    }
 
-                        CraftCounts counts = new CraftCounts();
-                        counts.dailyCount = recipeSection.getInt("daily", 0);
-                        counts.weeklyCount = recipeSection.getInt("weekly", 0);
-                        counts.totalCount = recipeSection.getInt("total", 0);
+    private void evictPlayer(UUID playerUUID) {
+        if (plugin.getServer().getPlayer(playerUUID) != null || !players.containsKey(playerUUID)) {
+            return;
+        }
 
-                        String dailyResetStr = recipeSection.getString("daily-reset");
-                        if (dailyResetStr != null) {
-                            try {
-                                counts.lastDailyReset = LocalDate.parse(dailyResetStr);
-                            } catch (Exception ignored) {}
-                        }
+        if (inFlight.containsKey(playerUUID) || players.get(playerUUID).loading) {
+            plugin.getServer().getScheduler().runTaskLater(plugin, () -> evictPlayer(playerUUID), IN_FLIGHT_RETRY_TICKS);
+            return;
+        }
 
-                        counts.lastWeekNumber = recipeSection.getInt("week-number", 0);
-                        counts.lastWeekYear = recipeSection.getInt("week-year", 0);
+        if (!dirtyPlayers.contains(playerUUID)) {
+            players.remove(playerUUID);
+            plugin.debug("Evicted craft data for " + playerUUID);
+            return;
+        }
 
-                        playerCounts.put(recipeKey, counts);
-                    }
+        dirtyPlayers.remove(playerUUID);
+        PlayerCraftRecord snapshot = track(playerUUID, players.get(playerUUID));
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            if (writeSnapshots(List.of(snapshot))) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> evictPlayer(playerUUID));
+            } else {
+                plugin.getServer().getScheduler().runTask(plugin, () -> scheduleEviction(playerUUID));
+            }
+        });
+    }
 
-                    if (!playerCounts.isEmpty()) {
-                        craftCounts.put(uuid, playerCounts);
-                    }
-                } catch (IllegalArgumentException ignored) {}
+    public int getLoadedPlayerCount() {
+        return players.size();
+    }
+
+    private PlayerCraftRecord readPlayerRecord(UUID playerUUID) {
+        PlayerCraftRecord record = inFlight.get(playerUUID);
+        return record != null ? record : plugin.getPlayerDataStorage().loadCraftData(playerUUID);
+    }
+
+    private void startFlushTask() {
+        long intervalTicks = Math.max(1, plugin.getConfig().getInt("storage.flush-interval",
+                DEFAULT_FLUSH_INTERVAL_SECONDS)) * 20L;
+        flushTaskId = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            List<PlayerCraftRecord> pending = drainDirtyPlayers();
+            if (!pending.isEmpty()) {
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> writeSnapshots(pending));
             }
+        }, intervalTicks, intervalTicks).getTaskId();
+    }
 
-            plugin.debug("Loaded craft tracking data for " + craftCounts.size() + " players");
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to load craft tracking data: " + e.getMessage());
+    public void shutdown() {
+        if (flushTaskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(flushTaskId);
+            flushTaskId = -1;
         }
+        for (Map.Entry<UUID, PlayerCraftData> entry : players.entrySet()) {
+            if (entry.getValue().loading) {
+                entry.getValue().merge(readPlayerRecord(entry.getKey()));
+            }
+        }
+        dirtyPlayers.addAll(inFlight.keySet());
+        saveData();
     }
 
     public void saveData() {
-        try {
-            YamlConfiguration config = new YamlConfiguration();
+        List<PlayerCraftRecord> pending = drainDirtyPlayers();
+        if (!pending.isEmpty()) {
+            writeSnapshots(pending);
+        }
+    }
 
-            for (Map.Entry<UUID, Map<String, CraftCounts>> playerEntry : craftCounts.entrySet()) {
-                String uuidStr = playerEntry.getKey().toString();
+    private List<PlayerCraftRecord> drainDirtyPlayers() {
+        List<PlayerCraftRecord> pending = new ArrayList<>(dirtyPlayers.size());
+        Iterator<UUID> iterator = dirtyPlayers.iterator();
+        while (iterator.hasNext()) {
+            UUID playerUUID = iterator.next();
+            PlayerCraftData data = players.get(playerUUID);
+            if (data != null && data.loading) {
+                continue;
+            }
+            iterator.remove();
+            if (data != null) {
+                pending.add(track(playerUUID, data));
+            }
+        }
+        return pending;
+    }
 
-                for (Map.Entry<String, CraftCounts> recipeEntry : playerEntry.getValue().entrySet()) {
-                    String path = uuidStr + "." + recipeEntry.getKey();
-                    CraftCounts counts = recipeEntry.getValue();
+    private PlayerCraftRecord track(UUID playerUUID, PlayerCraftData data) {
+        PlayerCraftRecord snapshot = data.snapshot(playerUUID);
+        inFlight.put(playerUUID, snapshot);
+        return snapshot;
+    }
 
-                    config.set(path + ".daily", counts.dailyCount);
-                    config.set(path + ".weekly", counts.weeklyCount);
-                    config.set(path + ".total", counts.totalCount);
+    private boolean writeSnapshots(List<PlayerCraftRecord> snapshots) {
+        synchronized (ioLock) {
+            List<PlayerCraftRecord> current = new ArrayList<>(snapshots.size());
+            for (PlayerCraftRecord snapshot : snapshots) {
+                if (inFlight.get(snapshot.playerUUID()) == snapshot) {
+                    current.add(snapshot);
+                }
+            }
+            if (current.isEmpty()) {
+                return true;
+            }
 
-                    if (counts.lastDailyReset != null) {
-                        config.set(path + ".daily-reset", counts.lastDailyReset.toString());
+            long start = System.nanoTime();
+            CraftSaveResult result = plugin.getPlayerDataStorage().saveCraftData(current);
+            long bytes = result.bytesWritten();
+
+            lastFlushMicros = (System.nanoTime() - start) / 1000;
+            lastFlushBytes = bytes;
+            flushCount.incrementAndGet();
+            totalBytesWritten.addAndGet(bytes);
+            plugin.debug("Flushed craft data for " + current.size() + " player(s) to " +
+                    plugin.getPlayerDataStorage().getName() + " storage (" + bytes + " written) in " +
+                    (lastFlushMicros / 1000.0) + "ms");
+
+            if (!result.isComplete()) {
+                for (UUID playerUUID : result.failedPlayers()) {
+                    if (players.containsKey(playerUUID)) {
+                        dirtyPlayers.add(playerUUID);
                     }
-                    config.set(path + ".week-number", counts.lastWeekNumber);
-                    config.set(path + ".week-year", counts.lastWeekYear);
                 }
+                plugin.getLogger().warning("Craft data of " + result.failedPlayers().size() +
+                        " player(s) could not be saved and will be retried on the next flush");
             }
-
-            config.save(dataFile);
-        } catch (IOException e) {
-            plugin.getLogger().warning("Failed to save craft tracking data: " + e.getMessage());
+            for (PlayerCraftRecord snapshot : current) {
+                inFlight.remove(snapshot.playerUUID(), snapshot);
+            }
+            return result.isComplete();
         }
     }
 
+    public int getPendingWrites() {
+        return dirtyPlayers.size() + inFlight.size();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getTotalBytesWritten() {
+        return totalBytesWritten.get();
+    }
+
+    public long getLastFlushBytes() {
+        return lastFlushBytes;
+    }
+
+    public long getLastFlushMicros() {
+        return lastFlushMicros;
+    }
+
     public static String formatTime(int seconds) {
         if (seconds < 60) {
             return seconds + "s";
@@ -199,6 +319,53 @@ public class CraftTracker {
         }
     }
 
+    private static class PlayerCraftData {
+        final Map<String, CraftCounts> counts = new ConcurrentHashMap<>();
+        final Map<String, Long> cooldowns = new ConcurrentHashMap<>();
+        volatile boolean loading;
+
+        static PlayerCraftData of(PlayerCraftRecord record) {
+            PlayerCraftData data = new PlayerCraftData();
+            for (Map.Entry<String, CraftCountsRecord> entry : record.counts().entrySet()) {
+                data.counts.put(entry.getKey(), CraftCounts.of(entry.getValue()));
+            }
+            data.cooldowns.putAll(record.cooldowns());
+            return data;
+        }
+
+        static PlayerCraftData loading() {
+            PlayerCraftData data = new PlayerCraftData();
+            data.loading = true;
+            return data;
+        }
+
+        void merge(PlayerCraftRecord record) {
+            if (!loading) {
+                return;
+            }
+            for (Map.Entry<String, CraftCountsRecord> entry : record.counts().entrySet()) {
+                CraftCounts stored = CraftCounts.of(entry.getValue());
+                CraftCounts pending = counts.get(entry.getKey());
+                if (pending != null) {
+                    stored.add(pending);
+                }
+                counts.put(entry.getKey(), stored);
+            }
+            for (Map.Entry<String, Long> entry : record.cooldowns().entrySet()) {
+                cooldowns.merge(entry.getKey(), entry.getValue(), Math::max);
+            }
+            loading = false;
+        }
+
+        PlayerCraftRecord snapshot(UUID playerUUID) {
+            Map<String, CraftCountsRecord> countSnapshots = new HashMap<>();
+            for (Map.Entry<String, CraftCounts> entry : counts.entrySet()) {
+                countSnapshots.put(entry.getKey(), entry.getValue().snapshot());
+            }
+            return new PlayerCraftRecord(playerUUID, countSnapshots, new HashMap<>(cooldowns));
+        }
+    }
+
     private static class CraftCounts {
         int dailyCount = 0;
         int weeklyCount = 0;
@@ -206,5 +373,35 @@ public class CraftTracker {
         LocalDate lastDailyReset = LocalDate.now();
         int lastWeekNumber = LocalDate.now().get(WeekFields.ISO.weekOfYear());
         int lastWeekYear = LocalDate.now().getYear();
+
+        static CraftCounts of(CraftCountsRecord record) {
+            CraftCounts counts = new CraftCounts();
+            counts.dailyCount = record.dailyCount();
+            counts.weeklyCount = record.weeklyCount();
+            counts.totalCount = record.totalCount();
+            counts.lastDailyReset = record.lastDailyReset();
+            counts.lastWeekNumber = record.lastWeekNumber();
+            counts.lastWeekYear = record.lastWeekYear();
+            return counts;
+        }
+
+        void add(CraftCounts pending) {
+            if (!pending.lastDailyReset.equals(lastDailyReset)) {
+                dailyCount = 0;
+                lastDailyReset = pending.lastDailyReset;
+            }
+            if (pending.lastWeekNumber != lastWeekNumber || pending.lastWeekYear != lastWeekYear) {
+                weeklyCount = 0;
+                lastWeekNumber = pending.lastWeekNumber;
+                lastWeekYear = pending.lastWeekYear;
+            }
+            dailyCount += pending.dailyCount;
+            weeklyCount += pending.weeklyCount;
+            totalCount += pending.totalCount;
+        }
+
+        CraftCountsRecord snapshot() {
+            return new CraftCountsRecord(dailyCount, weeklyCount, totalCount, lastDailyReset, lastWeekNumber, lastWeekYear);
+        }
     }
 }
@@ -0,0 +1,158 @@
+package org.hikarii.customrecipes.recipe;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.hikarii.customrecipes.recipe.data.FurnaceRecipeData;
+import org.hikarii.customrecipes.recipe.data.IngredientMatcher;
+import java.util.*;
+import java.util.function.Predicate;
+
+public class FurnaceRecipeIndex {
+    private static final Set<RecipeType> FUEL_TYPES =
+            EnumSet.of(RecipeType.FURNACE, RecipeType.BLAST_FURNACE, RecipeType.SMOKER);
+
+    private final Map<RecipeType, Map<Material, List<CustomRecipe>>> inputs;
+    private final Map<RecipeType, Map<Material, List<FuelEntry>>> fuels;
+
+    public FurnaceRecipeIndex() {
+        this.inputs = new EnumMap<>(RecipeType.class);
+        this.fuels = new EnumMap<>(RecipeType.class);
+    }
+
+    public void rebuild(Collection<CustomRecipe> recipes) {
+        clear();
+        for (CustomRecipe recipe : recipes) {
+            put(recipe);
+        }
+    }
+
+    public void put(CustomRecipe recipe) {
+        remove(recipe.getKey());
+        FurnaceRecipeData furnaceData = recipe.getFurnaceData();
+        if (!recipe.getType().isFurnaceType() || furnaceData == null) {
+            return;
+        }
+
+        Material inputMaterial = getInputMaterial(furnaceData);
+        if (inputMaterial != null) {
+            inputs.computeIfAbsent(recipe.getType(), k -> new EnumMap<>(Material.class))
+                    .computeIfAbsent(inputMaterial, k -> new ArrayList<>(1))
+                    .add(recipe);
+        }
+
+        for (FurnaceRecipeData.CustomFuel customFuel : furnaceData.getCustomFuels()) {
+            Material fuelMaterial = getFuelMaterial(customFuel);
+            if (fuelMaterial != null) {
+                fuels.computeIfAbsent(recipe.getType(), k -> new EnumMap<>(Material.class))
+                        .computeIfAbsent(fuelMaterial, k -> new ArrayList<>(1))
+                        .add(new FuelEntry(recipe, customFuel));
+            }
+        }
+    }
+
+    public void remove(String recipeKey) {
+        String key = recipeKey.toLowerCase();
+        for (Map<Material, List<CustomRecipe>> byMaterial : inputs.values()) {
+            byMaterial.values().removeIf(bucket -> {
+                bucket.removeIf(recipe -> recipe.getKey().equals(key));
+                return bucket.isEmpty();
+            });
+        }
+        for (Map<Material, List<FuelEntry>> byMaterial : fuels.values()) {
+            byMaterial.values().removeIf(bucket -> {
+                bucket.removeIf(entry -> entry.recipe().getKey().equals(key));
+                return bucket.isEmpty();
+            });
+        }
+    }
+
+    public void clear() {
+        inputs.clear();
+        fuels.clear();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<Material, List<CustomRecipe>> byMaterial : inputs.values()) {
+            for (List<CustomRecipe> bucket : byMaterial.values()) {
+                size += bucket.size();
+            }
+        }
+        return size;
+    }
+
+    public CustomRecipe findRecipe(ItemStack input, RecipeType type, Predicate<CustomRecipe> filter) {
+        if (input == null || input.getType() == Material.AIR) {
+            return null;
+        }
+
+        Map<Material, List<CustomRecipe>> byMaterial = inputs.get(type);
+        List<CustomRecipe> candidates = byMaterial != null ? byMaterial.get(input.getType()) : null;
+        if (candidates == null) {
+            return null;
+        }
+
+        for (CustomRecipe recipe : candidates) {
+            if (filter != null && !filter.test(recipe)) {
+                continue;
+            }
+            FurnaceRecipeData furnaceData = recipe.getFurnaceData();
+            if (furnaceData.getExactInput() == null ||
+                    IngredientMatcher.matches(furnaceData.getExactInput(), input, false)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    public FurnaceRecipeData.CustomFuel findCustomFuel(ItemStack item, RecipeType type, Predicate<CustomRecipe> filter) {
+        if (item == null || item.getType() == Material.AIR) {
+            return null;
+        }
+
+        Map<Material, List<FuelEntry>> byMaterial = fuels.get(type);
+        List<FuelEntry> candidates = byMaterial != null ? byMaterial.get(item.getType()) : null;
+        if (candidates == null) {
+            return null;
+        }
+
+        for (FuelEntry entry : candidates) {
+            if (filter != null && !filter.test(entry.recipe())) {
+                continue;
+            }
+            FurnaceRecipeData.CustomFuel customFuel = entry.customFuel();
+            if (customFuel.getExactItem() == null ||
+                    IngredientMatcher.matches(customFuel.getExactItem(), item, false)) {
+                return customFuel;
+            }
+        }
+        return null;
+    }
+
+    public FurnaceRecipeData.CustomFuel findCustomFuel(ItemStack item, Predicate<CustomRecipe> filter) {
+        for (RecipeType type : FUEL_TYPES) {
+            FurnaceRecipeData.CustomFuel customFuel = findCustomFuel(item, type, filter);
+            if (customFuel != null) {
+                return customFuel;
+            }
+        }
+        return null;
+    }
+
+    private static Material getInputMaterial(FurnaceRecipeData furnaceData) {
+        if (furnaceData.getExactInput() != null) {
+            return furnaceData.getExactInput().getType();
+        }
+        return furnaceData.getInput() != null ? furnaceData.getInput().material() : null;
+    }
+
+    private static Material getFuelMaterial(FurnaceRecipeData.CustomFuel customFuel) {
+        if (customFuel.getExactItem() != null) {
+            return customFuel.getExactItem().getType();
+        }
+        return customFuel.getIngredient() != null ? customFuel.getIngredient().material() : null;
+    }
+
+    private record FuelEntry(CustomRecipe recipe, FurnaceRecipeData.CustomFuel customFuel) {
+    }
+}
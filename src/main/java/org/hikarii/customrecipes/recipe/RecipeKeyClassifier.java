@@ -0,0 +1,60 @@
+package org.hikarii.customrecipes.recipe;
+
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.Recipe;
+import org.hikarii.customrecipes.CustomRecipes;
+import java.util.HashSet;
+import java.util.Set;
+
+public class RecipeKeyClassifier {
+    private final String namespace;
+    private final Set<NamespacedKey> trackedKeys = new HashSet<>();
+    private long fastPathEvents;
+    private long slowPathEvents;
+
+    public RecipeKeyClassifier(CustomRecipes plugin) {
+        this.namespace = plugin.getName().toLowerCase();
+    }
+
+    public NamespacedKey keyOf(Recipe recipe) {
+        return recipe instanceof Keyed keyed ? keyed.getKey() : null;
+    }
+
+    public boolean isTracked(NamespacedKey key) {
+        if (key != null && trackedKeys.contains(key)) {
+            slowPathEvents++;
+            return true;
+        }
+        fastPathEvents++;
+        return false;
+    }
+
+    public boolean isPluginKey(NamespacedKey key) {
+        return key != null && key.getNamespace().equals(namespace);
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public void setTracked(NamespacedKey key, boolean tracked) {
+        if (tracked) {
+            trackedKeys.add(key);
+        } else {
+            trackedKeys.remove(key);
+        }
+    }
+
+    public int getTrackedKeyCount() {
+        return trackedKeys.size();
+    }
+
+    public long getFastPathEvents() {
+        return fastPathEvents;
+    }
+
+    public long getSlowPathEvents() {
+        return slowPathEvents;
+    }
+}
\ No newline at end of file
@@ -3,10 +3,13 @@ package org.hikarii.customrecipes.recipe;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.BlastingRecipe;
 import org.bukkit.inventory.CampfireRecipe;
+import org.bukkit.inventory.CookingRecipe;
 import org.bukkit.inventory.FurnaceRecipe;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
 import org.bukkit.inventory.RecipeChoice;
 import org.bukkit.inventory.ShapedRecipe;
 import org.bukkit.inventory.SmokingRecipe;
@@ -15,6 +18,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.hikarii.customrecipes.CustomRecipes;
 import org.hikarii.customrecipes.config.DefaultRecipesManager;
 import org.hikarii.customrecipes.config.JsonRecipeFileManager;
+import org.hikarii.customrecipes.config.RecipeStateTracker;
 import org.hikarii.customrecipes.recipe.data.FurnaceRecipeData;
 import org.hikarii.customrecipes.recipe.data.RecipeIngredient;
 import org.hikarii.customrecipes.util.ItemStackSerializer;
@@ -25,22 +29,38 @@ import java.util.*;
 public class RecipeManager {
     private final CustomRecipes plugin;
     private final Map<String, CustomRecipe> recipes;
-    private final Set<NamespacedKey> registeredKeys;
+    private final Map<NamespacedKey, Recipe> registeredRecipes;
+    private final Set<String> registeredKeyNames;
+    private final ShapedRecipeIndex shapedRecipeIndex;
+    private final FurnaceRecipeIndex furnaceRecipeIndex;
+    private final Map<String, Integer> recipeOrdinals;
+    private final List<String> ordinalKeys;
+    private RecipeRegistration activeRegistration;
 
     public RecipeManager(CustomRecipes plugin) {
         this.plugin = plugin;
         this.recipes = new LinkedHashMap<>();
-        this.registeredKeys = new HashSet<>();
+        this.registeredRecipes = new HashMap<>();
+        this.registeredKeyNames = new HashSet<>();
+        this.shapedRecipeIndex = new ShapedRecipeIndex();
+        this.furnaceRecipeIndex = new FurnaceRecipeIndex();
+        this.recipeOrdinals = new java.util.concurrent.ConcurrentHashMap<>();
+        this.ordinalKeys = new ArrayList<>();
     }
 
     public void addRecipe(CustomRecipe recipe) {
         recipes.put(recipe.getKey(), recipe);
+        assignOrdinal(recipe.getKey());
+        shapedRecipeIndex.put(recipe);
+        furnaceRecipeIndex.put(recipe);
         plugin.debug("Added recipe: " + recipe.getKey());
     }
 
     public CustomRecipe removeRecipe(String key) {
         CustomRecipe removed = recipes.remove(key.toLowerCase());
         if (removed != null) {
+            shapedRecipeIndex.remove(key);
+            furnaceRecipeIndex.remove(key);
             plugin.debug("Removed recipe: " + key);
         }
         return removed;
@@ -60,33 +80,126 @@ public class RecipeManager {
 
     public void clearRecipes() {
         recipes.clear();
+        shapedRecipeIndex.clear();
+        furnaceRecipeIndex.clear();
         plugin.debug("Cleared all recipes from manager");
     }
 
+    public CustomRecipe findExactMatchRecipe(ItemStack[] matrix, Player player) {
+        RecipeWorldManager worldManager = plugin.getRecipeWorldManager();
+        return shapedRecipeIndex.findExactMatch(matrix, recipe ->
+                player == null || worldManager.isRecipeAllowedForPlayer(recipe.getKey(), player));
+    }
+
+    public ShapedRecipeIndex getShapedRecipeIndex() {
+        return shapedRecipeIndex;
+    }
+
+    public CustomRecipe findFurnaceRecipe(ItemStack input, RecipeType type) {
+        return furnaceRecipeIndex.findRecipe(input, type, recipe -> isRecipeEnabled(recipe.getKey()));
+    }
+
+    public FurnaceRecipeData.CustomFuel findCustomFuel(ItemStack item, RecipeType type) {
+        return furnaceRecipeIndex.findCustomFuel(item, type, recipe -> isRecipeEnabled(recipe.getKey()));
+    }
+
+    public FurnaceRecipeData.CustomFuel findCustomFuel(ItemStack item) {
+        return furnaceRecipeIndex.findCustomFuel(item, null);
+    }
+
+    public FurnaceRecipeIndex getFurnaceRecipeIndex() {
+        return furnaceRecipeIndex;
+    }
+
+    public int assignOrdinal(String key) {
+        Integer ordinal = getOrdinalOrNull(key);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (ordinalKeys) {
+            return recipeOrdinals.computeIfAbsent(key.toLowerCase(), k -> {
+                ordinalKeys.add(k);
+                return ordinalKeys.size() - 1;
+            });
+        }
+    }
+
+    public int getOrdinal(String key) {
+        Integer ordinal = getOrdinalOrNull(key);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public String getRecipeKey(int ordinal) {
+        synchronized (ordinalKeys) {
+            return ordinal >= 0 && ordinal < ordinalKeys.size() ? ordinalKeys.get(ordinal) : null;
+        }
+    }
+
+    private Integer getOrdinalOrNull(String key) {
+        Integer ordinal = recipeOrdinals.get(key);
+        return ordinal != null ? ordinal : recipeOrdinals.get(key.toLowerCase());
+    }
+
     public void registerAllRecipes() {
-        unregisterAll();
+        boolean ownsRegistration = beginRegistration();
         int registered = 0;
         int skipped = 0;
-        for (CustomRecipe recipe : recipes.values()) {
-            boolean isDisabled = plugin.getRecipeStateTracker().isRecipeDisabled(recipe.getKey());
+        int unchanged = 0;
+        RecipeRegistration.Result result = null;
+        try {
+            Map<NamespacedKey, Recipe> desired = new LinkedHashMap<>();
+            for (CustomRecipe recipe : recipes.values()) {
+                boolean isDisabled = plugin.getRecipeStateTracker().isRecipeDisabled(recipe.getKey());
+
+                if (isDisabled) {
+                    skipped++;
+                    continue;
+                }
 
-            if (isDisabled) {
-                skipped++;
-                continue;
+                NamespacedKey key = new NamespacedKey(plugin, recipe.getKey());
+                Recipe bukkitRecipe = createBukkitRecipe(key, recipe);
+                if (bukkitRecipe != null) {
+                    desired.put(key, bukkitRecipe);
+                } else {
+                    plugin.getLogger().warning("Failed to register recipe: " + recipe.getKey());
+                }
             }
 
-            if (registerRecipe(recipe)) {
+            for (NamespacedKey key : new ArrayList<>(registeredRecipes.keySet())) {
+                if (!desired.containsKey(key)) {
+                    removeBukkitRecipe(key);
+                    removeRegisteredKey(key);
+                    plugin.debug("Unregistered recipe: " + key.getKey());
+                }
+            }
+            for (Map.Entry<NamespacedKey, Recipe> entry : desired.entrySet()) {
+                if (!stageRecipe(entry.getKey(), entry.getValue())) {
+                    unchanged++;
+                }
                 registered++;
-            } else {
-                plugin.getLogger().warning("Failed to register recipe: " + recipe.getKey());
+            }
+        } finally {
+            if (ownsRegistration) {
+                result = commitRegistration();
             }
         }
+        if (result != null) {
+            registered -= result.failed().size();
+        }
+        shapedRecipeIndex.rebuild(recipes.values());
+        furnaceRecipeIndex.rebuild(recipes.values());
         plugin.getLogger().info("Registered " + registered + " custom recipes" +
                 (skipped > 0 ? " (" + skipped + " disabled)" : ""));
+        plugin.debug("Skipped " + unchanged + " unchanged recipes during registration");
+        plugin.debug("Indexed " + shapedRecipeIndex.size() + " shaped recipes with exact ingredients");
+        plugin.debug("Indexed " + furnaceRecipeIndex.size() + " furnace recipes by input material");
     }
 
     public boolean registerSingleRecipe(CustomRecipe recipe) {
         recipes.put(recipe.getKey(), recipe);
+        assignOrdinal(recipe.getKey());
+        shapedRecipeIndex.put(recipe);
+        furnaceRecipeIndex.put(recipe);
         boolean success = registerRecipe(recipe);
         if (success) {
             plugin.getLogger().info("Registered new recipe: " + recipe.getKey());
@@ -94,9 +207,79 @@ public class RecipeManager {
         return success;
     }
 
+    public RecipeRegistration.Result applyRecipeChanges(Map<String, CustomRecipe> updated, Collection<String> removed) {
+        boolean ownsRegistration = beginRegistration();
+        RecipeRegistration.Result result = null;
+        try {
+            for (String key : removed) {
+                CustomRecipe recipe = removeRecipe(key);
+                if (recipe != null) {
+                    unregisterRecipe(recipe.getKey());
+                }
+            }
+
+            RecipeStateTracker stateTracker = plugin.getRecipeStateTracker();
+            for (CustomRecipe recipe : updated.values()) {
+                addRecipe(recipe);
+                if (stateTracker.isRecipeDisabled(recipe.getKey())) {
+                    unregisterRecipe(recipe.getKey());
+                } else {
+                    registerRecipe(recipe);
+                }
+            }
+
+            for (CustomRecipe recipe : recipes.values()) {
+                if (updated.containsKey(recipe.getKey())) {
+                    continue;
+                }
+                boolean disabled = stateTracker.isRecipeDisabled(recipe.getKey());
+                boolean registered = registeredRecipes.containsKey(new NamespacedKey(plugin, recipe.getKey()));
+                if (disabled && registered) {
+                    unregisterRecipe(recipe.getKey());
+                } else if (!disabled && !registered) {
+                    registerRecipe(recipe);
+                }
+            }
+        } finally {
+            if (ownsRegistration) {
+                result = commitRegistration();
+            }
+        }
+        plugin.debug("Applied recipe changes: " + updated.size() + " updated, " + removed.size() + " removed");
+        return result;
+    }
+
+    private void unregisterRecipe(String key) {
+        NamespacedKey namespacedKey = new NamespacedKey(plugin, key);
+        if (removeRegisteredKey(namespacedKey)) {
+            removeBukkitRecipe(namespacedKey);
+        }
+    }
+
     private boolean registerRecipe(CustomRecipe recipe) {
+        NamespacedKey key = new NamespacedKey(plugin, recipe.getKey());
+        Recipe bukkitRecipe = createBukkitRecipe(key, recipe);
+        if (bukkitRecipe == null) {
+            return false;
+        }
+        if (stageRecipe(key, bukkitRecipe)) {
+            plugin.debug("Registered " + recipe.getType().name().toLowerCase(Locale.ROOT) + " recipe: " + recipe.getKey());
+        }
+        return true;
+    }
+
+    private boolean stageRecipe(NamespacedKey key, Recipe recipe) {
+        Recipe current = registeredRecipes.get(key);
+        if (current != null && RecipeRegistration.isSameRecipe(current, recipe)) {
+            return false;
+        }
+        addBukkitRecipe(recipe);
+        addRegisteredKey(key, recipe);
+        return true;
+    }
+
+    private Recipe createBukkitRecipe(NamespacedKey key, CustomRecipe recipe) {
         try {
-            NamespacedKey key = new NamespacedKey(plugin, recipe.getKey());
             if (recipe.getType() == RecipeType.SHAPED) {
                 boolean useCraftedNames = plugin.isUseCraftedCustomNames();
                 boolean keepSpawnEggNames = plugin.isKeepSpawnEggNames();
@@ -132,10 +315,7 @@ public class RecipeManager {
                         shapedRecipe.setIngredient(entry.getKey(), entry.getValue());
                     }
                 }
-                Bukkit.addRecipe(shapedRecipe);
-                registeredKeys.add(key);
-                plugin.debug("Registered shaped recipe: " + recipe.getKey());
-                return true;
+                return shapedRecipe;
             } else if (recipe.getType() == RecipeType.SHAPELESS) {
                 boolean useCraftedNames = plugin.isUseCraftedCustomNames();
                 boolean keepSpawnEggNames = plugin.isKeepSpawnEggNames();
@@ -175,13 +355,9 @@ public class RecipeManager {
                     }
                 }
 
-                Bukkit.addRecipe(shapelessRecipe);
-                registeredKeys.add(key);
-                plugin.debug("Registered shapeless recipe: " + recipe.getKey() +
-                        (shapelessData.hasExactIngredients() ? " (with exact ingredients)" : ""));
-                return true;
+                return shapelessRecipe;
             } else if (recipe.getType().isFurnaceType()) {
-                return registerFurnaceRecipe(key, recipe);
+                return createFurnaceRecipe(key, recipe);
             }
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to register recipe '" + recipe.getKey() + "': " + e.getMessage());
@@ -189,14 +365,14 @@ public class RecipeManager {
                 e.printStackTrace();
             }
         }
-        return false;
+        return null;
     }
 
-    private boolean registerFurnaceRecipe(NamespacedKey key, CustomRecipe recipe) {
+    private CookingRecipe<?> createFurnaceRecipe(NamespacedKey key, CustomRecipe recipe) {
         FurnaceRecipeData furnaceData = recipe.getFurnaceData();
         if (furnaceData == null) {
             plugin.getLogger().warning("Furnace recipe '" + recipe.getKey() + "' has no furnace data");
-            return false;
+            return null;
         }
 
         boolean useCraftedNames = plugin.isUseCraftedCustomNames();
@@ -215,76 +391,105 @@ public class RecipeManager {
         String group = furnaceData.getGroup();
 
         try {
-            switch (recipe.getType()) {
-                case FURNACE -> {
-                    FurnaceRecipe furnaceRecipe = new FurnaceRecipe(key, result, inputChoice, experience, cookingTime);
-                    if (!group.isEmpty()) {
-                        furnaceRecipe.setGroup(group);
-                    }
-                    Bukkit.addRecipe(furnaceRecipe);
-                    registeredKeys.add(key);
-                    plugin.debug("Registered furnace recipe: " + recipe.getKey());
-                    return true;
-                }
-                case BLAST_FURNACE -> {
-                    BlastingRecipe blastingRecipe = new BlastingRecipe(key, result, inputChoice, experience, cookingTime);
-                    if (!group.isEmpty()) {
-                        blastingRecipe.setGroup(group);
-                    }
-                    Bukkit.addRecipe(blastingRecipe);
-                    registeredKeys.add(key);
-                    plugin.debug("Registered blast furnace recipe: " + recipe.getKey());
-                    return true;
-                }
-                case SMOKER -> {
-                    SmokingRecipe smokingRecipe = new SmokingRecipe(key, result, inputChoice, experience, cookingTime);
-                    if (!group.isEmpty()) {
-                        smokingRecipe.setGroup(group);
-                    }
-                    Bukkit.addRecipe(smokingRecipe);
-                    registeredKeys.add(key);
-                    plugin.debug("Registered smoker recipe: " + recipe.getKey());
-                    return true;
-                }
-                case CAMPFIRE -> {
-                    CampfireRecipe campfireRecipe = new CampfireRecipe(key, result, inputChoice, experience, cookingTime);
-                    if (!group.isEmpty()) {
-                        campfireRecipe.setGroup(group);
-                    }
-                    Bukkit.addRecipe(campfireRecipe);
-                    registeredKeys.add(key);
-                    plugin.debug("Registered campfire recipe: " + recipe.getKey());
-                    return true;
-                }
-                default -> {
-                    plugin.getLogger().warning("Unknown furnace type: " + recipe.getType());
-                    return false;
-                }
+            CookingRecipe<?> cookingRecipe = switch (recipe.getType()) {
+                case FURNACE -> new FurnaceRecipe(key, result, inputChoice, experience, cookingTime);
+                case BLAST_FURNACE -> new BlastingRecipe(key, result, inputChoice, experience, cookingTime);
+                case SMOKER -> new SmokingRecipe(key, result, inputChoice, experience, cookingTime);
+                case CAMPFIRE -> new CampfireRecipe(key, result, inputChoice, experience, cookingTime);
+                default -> null;
+            };
+            if (cookingRecipe == null) {
+                plugin.getLogger().warning("Unknown furnace type: " + recipe.getType());
+                return null;
+            }
+            if (!group.isEmpty()) {
+                cookingRecipe.setGroup(group);
             }
+            return cookingRecipe;
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to register furnace recipe '" + recipe.getKey() + "': " + e.getMessage());
             if (plugin.isDebugMode()) {
                 e.printStackTrace();
             }
-            return false;
+            return null;
         }
     }
 
     public void unregisterAll() {
+        boolean ownsRegistration = beginRegistration();
         int unregistered = 0;
-        for (NamespacedKey key : registeredKeys) {
-            if (Bukkit.removeRecipe(key)) {
-                unregistered++;
-                plugin.debug("Unregistered recipe: " + key.getKey());
+        try {
+            for (NamespacedKey key : registeredRecipes.keySet()) {
+                if (removeBukkitRecipe(key)) {
+                    unregistered++;
+                    plugin.debug("Unregistered recipe: " + key.getKey());
+                }
+            }
+            clearRegisteredKeys();
+        } finally {
+            if (ownsRegistration) {
+                commitRegistration();
             }
         }
 
-        registeredKeys.clear();
         if (unregistered > 0) {
             plugin.getLogger().info("Unregistered " + unregistered + " custom recipes");
         }
     }
 
+    private void addRegisteredKey(NamespacedKey key, Recipe recipe) {
+        registeredRecipes.put(key, recipe);
+        registeredKeyNames.add(key.getKey());
+        plugin.getRecipeKeyClassifier().setTracked(key, true);
+    }
+
+    private boolean removeRegisteredKey(NamespacedKey key) {
+        plugin.getRecipeKeyClassifier().setTracked(key, false);
+        registeredKeyNames.remove(key.getKey());
+        return registeredRecipes.remove(key) != null;
+    }
+
+    private void clearRegisteredKeys() {
+        for (NamespacedKey key : registeredRecipes.keySet()) {
+            plugin.getRecipeKeyClassifier().setTracked(key, false);
+        }
+        registeredRecipes.clear();
+        registeredKeyNames.clear();
+    }
+
+    private boolean beginRegistration() {
+        if (activeRegistration != null) {
+            return false;
+        }
+        activeRegistration = new RecipeRegistration(plugin);
+        return true;
+    }
+
+    private RecipeRegistration.Result commitRegistration() {
+        RecipeRegistration registration = activeRegistration;
+        activeRegistration = null;
+        RecipeRegistration.Result result = registration.commit();
+        for (NamespacedKey key : result.failed()) {
+            removeRegisteredKey(key);
+            plugin.getLogger().warning("Failed to register recipe: " + key.getKey());
+        }
+        return result;
+    }
+
+    private boolean addBukkitRecipe(Recipe recipe) {
+        if (activeRegistration != null) {
+            return activeRegistration.add(recipe);
+        }
+        return Bukkit.addRecipe(recipe);
+    }
+
+    private boolean removeBukkitRecipe(NamespacedKey key) {
+        if (activeRegistration != null) {
+            return activeRegistration.remove(key);
+        }
+        return Bukkit.removeRecipe(key);
+    }
+
     public boolean hasRecipe(String key) {
         return recipes.containsKey(key.toLowerCase());
     }
@@ -296,7 +501,7 @@ public class RecipeManager {
         }
 
         NamespacedKey namespacedKey = new NamespacedKey(plugin, recipe.getKey());
-        if (registeredKeys.contains(namespacedKey)) {
+        if (registeredRecipes.containsKey(namespacedKey)) {
             return false;
         }
         return registerRecipe(recipe);
@@ -309,11 +514,11 @@ public class RecipeManager {
         }
 
         NamespacedKey namespacedKey = new NamespacedKey(plugin, recipe.getKey());
-        if (!registeredKeys.contains(namespacedKey)) {
+        if (!registeredRecipes.containsKey(namespacedKey)) {
             return false;
         }
-        if (Bukkit.removeRecipe(namespacedKey)) {
-            registeredKeys.remove(namespacedKey);
+        if (removeBukkitRecipe(namespacedKey)) {
+            removeRegisteredKey(namespacedKey);
             plugin.debug("Disabled recipe: " + key);
             return true;
         }
@@ -327,9 +532,9 @@ public class RecipeManager {
         }
 
         NamespacedKey namespacedKey = new NamespacedKey(plugin, recipe.getKey());
-        if (registeredKeys.contains(namespacedKey)) {
-            Bukkit.removeRecipe(namespacedKey);
-            registeredKeys.remove(namespacedKey);
+        if (registeredRecipes.containsKey(namespacedKey)) {
+            removeBukkitRecipe(namespacedKey);
+            removeRegisteredKey(namespacedKey);
         }
         plugin.debug("Deleted recipe: " + key);
         return true;
@@ -343,9 +548,9 @@ public class RecipeManager {
 
         removeRecipe(key);
         NamespacedKey namespacedKey = new NamespacedKey(plugin, recipe.getKey());
-        if (registeredKeys.contains(namespacedKey)) {
-            Bukkit.removeRecipe(namespacedKey);
-            registeredKeys.remove(namespacedKey);
+        if (registeredRecipes.containsKey(namespacedKey)) {
+            removeBukkitRecipe(namespacedKey);
+            removeRegisteredKey(namespacedKey);
         }
 
         plugin.getConfigManager().removeEnabledRecipe(key);
@@ -426,11 +631,18 @@ public class RecipeManager {
                 craftEvents
         );
         recipes.put(recipeKey.toLowerCase(), updatedRecipe);
+        shapedRecipeIndex.put(updatedRecipe);
+        furnaceRecipeIndex.put(updatedRecipe);
         NamespacedKey namespacedKey = new NamespacedKey(plugin, recipeKey);
-        if (registeredKeys.contains(namespacedKey)) {
-            Bukkit.removeRecipe(namespacedKey);
-            registeredKeys.remove(namespacedKey);
-            registerRecipe(updatedRecipe);
+        if (registeredRecipes.containsKey(namespacedKey)) {
+            boolean ownsRegistration = beginRegistration();
+            try {
+                registerRecipe(updatedRecipe);
+            } finally {
+                if (ownsRegistration) {
+                    commitRegistration();
+                }
+            }
         }
         saveRecipeToFile(updatedRecipe);
         plugin.debug("Updated result item for recipe: " + recipeKey);
@@ -511,7 +723,6 @@ public class RecipeManager {
         if (recipe == null) {
             return false;
         }
-        NamespacedKey namespacedKey = new NamespacedKey(plugin, recipe.getKey());
-        return registeredKeys.contains(namespacedKey);
+        return registeredKeyNames.contains(recipe.getKey().toLowerCase(Locale.ROOT));
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package org.hikarii.customrecipes.recipe;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.inventory.CookingRecipe;
+import org.bukkit.inventory.Recipe;
+import org.bukkit.inventory.ShapedRecipe;
+import org.bukkit.inventory.ShapelessRecipe;
+import org.hikarii.customrecipes.CustomRecipes;
+import java.lang.reflect.Method;
+import java.util.*;
+
+public class RecipeRegistration {
+    private static final Method ADD_WITHOUT_RESEND = findServerMethod("addRecipe", Recipe.class, boolean.class);
+    private static final Method REMOVE_WITHOUT_RESEND = findServerMethod("removeRecipe", NamespacedKey.class, boolean.class);
+    private static final Method UPDATE_RECIPES = findServerMethod("updateRecipes");
+
+    private final CustomRecipes plugin;
+    private final Map<NamespacedKey, Recipe> additions = new LinkedHashMap<>();
+    private final Set<NamespacedKey> removals = new LinkedHashSet<>();
+    private boolean committed;
+
+    public RecipeRegistration(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean add(Recipe recipe) {
+        if (!(recipe instanceof Keyed keyed)) {
+            return Bukkit.addRecipe(recipe);
+        }
+        NamespacedKey key = keyed.getKey();
+        if (Bukkit.getRecipe(key) != null) {
+            removals.add(key);
+        }
+        additions.put(key, recipe);
+        return true;
+    }
+
+    public boolean remove(NamespacedKey key) {
+        boolean pendingAdd = additions.remove(key) != null;
+        if (Bukkit.getRecipe(key) != null) {
+            removals.add(key);
+            return true;
+        }
+        return pendingAdd;
+    }
+
+    public Result commit() {
+        if (committed) {
+            throw new IllegalStateException("Recipe registration already committed");
+        }
+        committed = true;
+
+        long start = System.nanoTime();
+        int removed = 0;
+        int added = 0;
+        List<NamespacedKey> failed = new ArrayList<>();
+        for (NamespacedKey key : removals) {
+            if (removeRecipe(key)) {
+                removed++;
+            }
+        }
+        for (Map.Entry<NamespacedKey, Recipe> entry : additions.entrySet()) {
+            if (addRecipe(entry.getValue())) {
+                added++;
+            } else {
+                failed.add(entry.getKey());
+            }
+        }
+
+        boolean resent = false;
+        long resendStart = System.nanoTime();
+        if ((removed > 0 || added > 0) && UPDATE_RECIPES != null && !Bukkit.getOnlinePlayers().isEmpty()) {
+            try {
+                UPDATE_RECIPES.invoke(Bukkit.getServer());
+                resent = true;
+            } catch (ReflectiveOperationException e) {
+                plugin.debug("Failed to resend recipes: " + e.getMessage());
+            }
+        }
+        long end = System.nanoTime();
+
+        Result result = new Result(added, removed, failed, resent, (end - start) / 1000, (end - resendStart) / 1000);
+        plugin.debug("Recipe registration committed: " + added + " added, " + removed + " removed" +
+                (failed.isEmpty() ? "" : ", " + failed.size() + " failed") + " in " +
+                (result.micros() / 1000.0) + "ms" + (resent ? " (recipes resent)" : ""));
+        return result;
+    }
+
+    private boolean addRecipe(Recipe recipe) {
+        if (ADD_WITHOUT_RESEND != null) {
+            try {
+                return (boolean) ADD_WITHOUT_RESEND.invoke(Bukkit.getServer(), recipe, false);
+            } catch (ReflectiveOperationException ignored) {}
+        }
+        return Bukkit.addRecipe(recipe);
+    }
+
+    private boolean removeRecipe(NamespacedKey key) {
+        if (REMOVE_WITHOUT_RESEND != null) {
+            try {
+                return (boolean) REMOVE_WITHOUT_RESEND.invoke(Bukkit.getServer(), key, false);
+            } catch (ReflectiveOperationException ignored) {}
+        }
+        return Bukkit.removeRecipe(key);
+    }
+
+    public static boolean isSameRecipe(Recipe first, Recipe second) {
+        if (first.getClass() != second.getClass() || !first.getResult().equals(second.getResult())) {
+            return false;
+        }
+        if (first instanceof ShapedRecipe shapedFirst && second instanceof ShapedRecipe shapedSecond) {
+            return Arrays.equals(shapedFirst.getShape(), shapedSecond.getShape())
+                    && shapedFirst.getChoiceMap().equals(shapedSecond.getChoiceMap())
+                    && shapedFirst.getGroup().equals(shapedSecond.getGroup());
+        }
+        if (first instanceof ShapelessRecipe shapelessFirst && second instanceof ShapelessRecipe shapelessSecond) {
+            return shapelessFirst.getChoiceList().equals(shapelessSecond.getChoiceList())
+                    && shapelessFirst.getGroup().equals(shapelessSecond.getGroup());
+        }
+        if (first instanceof CookingRecipe<?> cookingFirst && second instanceof CookingRecipe<?> cookingSecond) {
+            return cookingFirst.getInputChoice().equals(cookingSecond.getInputChoice())
+                    && Float.compare(cookingFirst.getExperience(), cookingSecond.getExperience()) == 0
+                    && cookingFirst.getCookingTime() == cookingSecond.getCookingTime()
+                    && cookingFirst.getGroup().equals(cookingSecond.getGroup());
+        }
+        return false;
+    }
+
+    private static Method findServerMethod(String name, Class<?>... parameterTypes) {
+        try {
+            return Server.class.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    public record Result(int added, int removed, List<NamespacedKey> failed, boolean resent, long micros,
+                         long resendMicros) {
+    }
+}
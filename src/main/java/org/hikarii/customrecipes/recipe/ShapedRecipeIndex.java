@@ -0,0 +1,128 @@
+package org.hikarii.customrecipes.recipe;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.hikarii.customrecipes.recipe.data.IngredientMatcher;
+import org.hikarii.customrecipes.recipe.data.RecipeIngredient;
+import java.util.*;
+import java.util.function.Predicate;
+
+public class ShapedRecipeIndex {
+    private static final int GRID_SIZE = 9;
+
+    private final Map<List<Material>, List<CompiledRecipe>> buckets;
+    private final Map<String, List<Material>> signatures;
+
+    public ShapedRecipeIndex() {
+        this.buckets = new HashMap<>();
+        this.signatures = new HashMap<>();
+    }
+
+    public void rebuild(Collection<CustomRecipe> recipes) {
+        clear();
+        for (CustomRecipe recipe : recipes) {
+            put(recipe);
+        }
+    }
+
+    public void put(CustomRecipe recipe) {
+        remove(recipe.getKey());
+        CompiledRecipe compiled = compile(recipe);
+        if (compiled == null) {
+            return;
+        }
+        buckets.computeIfAbsent(compiled.signature(), k -> new ArrayList<>(1)).add(compiled);
+        signatures.put(recipe.getKey(), compiled.signature());
+    }
+
+    public void remove(String recipeKey) {
+        List<Material> signature = signatures.remove(recipeKey.toLowerCase());
+        if (signature == null) {
+            return;
+        }
+        List<CompiledRecipe> bucket = buckets.get(signature);
+        if (bucket == null) {
+            return;
+        }
+        bucket.removeIf(compiled -> compiled.recipe().getKey().equals(recipeKey.toLowerCase()));
+        if (bucket.isEmpty()) {
+            buckets.remove(signature);
+        }
+    }
+
+    public void clear() {
+        buckets.clear();
+        signatures.clear();
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    public CustomRecipe findExactMatch(ItemStack[] matrix, Predicate<CustomRecipe> filter) {
+        if (matrix == null || matrix.length != GRID_SIZE || buckets.isEmpty()) {
+            return null;
+        }
+
+        Material[] materials = new Material[GRID_SIZE];
+        for (int i = 0; i < GRID_SIZE; i++) {
+            ItemStack item = matrix[i];
+            materials[i] = item == null ? Material.AIR : item.getType();
+        }
+
+        List<CompiledRecipe> candidates = buckets.get(Arrays.asList(materials));
+        if (candidates == null) {
+            return null;
+        }
+
+        for (CompiledRecipe candidate : candidates) {
+            if (filter != null && !filter.test(candidate.recipe())) {
+                continue;
+            }
+            if (candidate.matches(matrix)) {
+                return candidate.recipe();
+            }
+        }
+        return null;
+    }
+
+    private static CompiledRecipe compile(CustomRecipe recipe) {
+        if (recipe.getType() != RecipeType.SHAPED || recipe.getRecipeData() == null) {
+            return null;
+        }
+
+        List<RecipeIngredient> ingredients = recipe.getRecipeData().ingredients();
+        if (ingredients.size() != GRID_SIZE) {
+            return null;
+        }
+
+        Material[] materials = new Material[GRID_SIZE];
+        ItemStack[] exactItems = new ItemStack[GRID_SIZE];
+        boolean hasExactIngredient = false;
+        for (int i = 0; i < GRID_SIZE; i++) {
+            RecipeIngredient ingredient = ingredients.get(i);
+            materials[i] = ingredient.isEmpty() ? Material.AIR : ingredient.material();
+            if (ingredient.hasExactItem() && materials[i] != Material.AIR) {
+                exactItems[i] = ingredient.getExactItem();
+                hasExactIngredient = true;
+            }
+        }
+
+        if (!hasExactIngredient) {
+            return null;
+        }
+        return new CompiledRecipe(recipe, List.of(materials), exactItems);
+    }
+
+    private record CompiledRecipe(CustomRecipe recipe, List<Material> signature, ItemStack[] exactItems) {
+        boolean matches(ItemStack[] matrix) {
+            for (int i = 0; i < GRID_SIZE; i++) {
+                ItemStack exactItem = exactItems[i];
+                if (exactItem != null && !IngredientMatcher.matches(exactItem, matrix[i], false)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -55,6 +55,15 @@ public class IngredientChoice {
         return false;
     }
 
+    public boolean matches(Material material) {
+        for (int i = 0; i < options.size(); i++) {
+            if (options.get(i) == material) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void cycleNext() {
         selectedIndex = (selectedIndex + 1) % options.size();
     }
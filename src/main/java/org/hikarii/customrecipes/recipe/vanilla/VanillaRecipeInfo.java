@@ -18,6 +18,8 @@ public class VanillaRecipeInfo {
     private final List<List<IngredientChoice>> ingredientGrid; 
     private final RecipeCategory category;
     private final RecipeStation station;
+    private List<IngredientChoice> ingredients;
+    private int[] shapeBounds;
 
     public VanillaRecipeInfo(String key, String displayName, Material resultMaterial,
                              int resultAmount, RecipeType type, List<List<IngredientChoice>> ingredientGrid,
@@ -81,6 +83,138 @@ public class VanillaRecipeInfo {
         return new IngredientChoice(Material.AIR);
     }
 
+    public boolean matchesMatrix(ItemStack[] matrix) {
+        if (matrix == null || !type.isCraftingType()) {
+            return false;
+        }
+        if (type == RecipeType.SHAPELESS) {
+            return matchesShapeless(matrix);
+        }
+        return matchesShaped(matrix, matrix.length == 4 ? 2 : 3);
+    }
+
+    private boolean matchesShaped(ItemStack[] matrix, int size) {
+        int[] bounds = getShapeBounds();
+        int minRow = size;
+        int maxRow = -1;
+        int minCol = size;
+        int maxCol = -1;
+        for (int i = 0; i < matrix.length; i++) {
+            if (!isEmpty(matrix[i])) {
+                int row = i / size;
+                int col = i % size;
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minCol = Math.min(minCol, col);
+                maxCol = Math.max(maxCol, col);
+            }
+        }
+        if (maxRow < 0 || bounds[1] < 0) {
+            return false;
+        }
+        int height = maxRow - minRow + 1;
+        int width = maxCol - minCol + 1;
+        if (height != bounds[1] - bounds[0] + 1 || width != bounds[3] - bounds[2] + 1) {
+            return false;
+        }
+        return matchesShape(matrix, size, minRow, minCol, height, width, bounds, false) ||
+                matchesShape(matrix, size, minRow, minCol, height, width, bounds, true);
+    }
+
+    private boolean matchesShape(ItemStack[] matrix, int size, int minRow, int minCol,
+                                 int height, int width, int[] bounds, boolean mirrored) {
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                IngredientChoice choice = choiceAt(bounds[0] + row, bounds[2] + (mirrored ? width - 1 - col : col));
+                ItemStack item = matrix[(minRow + row) * size + minCol + col];
+                if (choice == null || !choice.isValid()) {
+                    if (!isEmpty(item)) {
+                        return false;
+                    }
+                } else if (isEmpty(item) || !choice.matches(item.getType())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesShapeless(ItemStack[] matrix) {
+        List<IngredientChoice> required = getIngredients();
+        int items = 0;
+        for (ItemStack item : matrix) {
+            if (!isEmpty(item)) {
+                items++;
+            }
+        }
+        return items > 0 && items == required.size() && matchesShapeless(matrix, 0, required, 0);
+    }
+
+    private static boolean matchesShapeless(ItemStack[] matrix, int slot, List<IngredientChoice> required, int used) {
+        while (slot < matrix.length && isEmpty(matrix[slot])) {
+            slot++;
+        }
+        if (slot == matrix.length) {
+            return true;
+        }
+        Material material = matrix[slot].getType();
+        for (int i = 0; i < required.size(); i++) {
+            if ((used & (1 << i)) == 0 && required.get(i).matches(material) &&
+                    matchesShapeless(matrix, slot + 1, required, used | (1 << i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<IngredientChoice> getIngredients() {
+        if (ingredients == null) {
+            List<IngredientChoice> valid = new ArrayList<>();
+            for (List<IngredientChoice> row : ingredientGrid) {
+                for (IngredientChoice choice : row) {
+                    if (choice.isValid()) {
+                        valid.add(choice);
+                    }
+                }
+            }
+            ingredients = valid;
+        }
+        return ingredients;
+    }
+
+    private int[] getShapeBounds() {
+        if (shapeBounds == null) {
+            int[] bounds = {Integer.MAX_VALUE, -1, Integer.MAX_VALUE, -1};
+            for (int row = 0; row < ingredientGrid.size(); row++) {
+                List<IngredientChoice> rowList = ingredientGrid.get(row);
+                for (int col = 0; col < rowList.size(); col++) {
+                    if (rowList.get(col).isValid()) {
+                        bounds[0] = Math.min(bounds[0], row);
+                        bounds[1] = Math.max(bounds[1], row);
+                        bounds[2] = Math.min(bounds[2], col);
+                        bounds[3] = Math.max(bounds[3], col);
+                    }
+                }
+            }
+            shapeBounds = bounds;
+        }
+        return shapeBounds;
+    }
+
+    private IngredientChoice choiceAt(int row, int col) {
+        if (row < ingredientGrid.size()) {
+            List<IngredientChoice> rowList = ingredientGrid.get(row);
+            if (col < rowList.size()) {
+                return rowList.get(col);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEmpty(ItemStack item) {
+        return item == null || item.getType() == Material.AIR;
+    }
+
     public RecipeCategory getCategory() {
         return category;
     }
@@ -4,23 +4,31 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
 import org.bukkit.inventory.RecipeChoice;
 import org.bukkit.inventory.ShapedRecipe;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
 import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.config.RecipeBundleCache;
+import org.hikarii.customrecipes.config.RecipeFingerprint;
 import org.hikarii.customrecipes.recipe.RecipeConditions;
+import org.hikarii.customrecipes.recipe.RecipeRegistration;
 import org.hikarii.customrecipes.recipe.RecipeType;
 import org.hikarii.customrecipes.util.ItemStackSerializer;
 import org.hikarii.customrecipes.util.MaterialVersionAdapter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
 
 public class VanillaRecipeManager {
     private final CustomRecipes plugin;
@@ -29,7 +37,16 @@ public class VanillaRecipeManager {
     private final File vanillaFurnaceRecipesDataFile;
     private final Map<String, VanillaRecipeInfo> allVanillaRecipes;
     private final Map<String, VanillaRecipeState> modifiedRecipes;
-    private int cleanupTaskId = -1;
+    private final Map<RecipeType, Map<Material, List<FurnaceEntry>>> furnaceTable;
+    private final Map<Material, List<VanillaRecipeInfo>> disabledByResult;
+    private final Set<NamespacedKey> disabledKeys;
+    private final NamespacedKey recipeBookGenerationKey;
+    private long recipeBookGeneration = -1L;
+    private final Map<String, Long> stateHashes;
+    private RecipeRegistration activeRegistration;
+    private boolean playerSyncRequested;
+    private long enforcementChecks;
+    private long reRemovedRecipes;
 
     public VanillaRecipeManager(CustomRecipes plugin) {
         this.plugin = plugin;
@@ -38,6 +55,11 @@ public class VanillaRecipeManager {
         this.vanillaFurnaceRecipesDataFile = new File(plugin.getDataFolder(), "vanilla-furnace-recipes.yml");
         this.allVanillaRecipes = new LinkedHashMap<>();
         this.modifiedRecipes = new HashMap<>();
+        this.furnaceTable = new EnumMap<>(RecipeType.class);
+        this.disabledByResult = new EnumMap<>(Material.class);
+        this.disabledKeys = new HashSet<>();
+        this.recipeBookGenerationKey = new NamespacedKey(plugin, "recipe-book-generation");
+        this.stateHashes = new HashMap<>();
         if (!vanillaRecipesFolder.exists()) {
             vanillaRecipesFolder.mkdirs();
         }
@@ -47,36 +69,116 @@ public class VanillaRecipeManager {
             plugin.getLogger().warning("Vanilla recipes migration failed, but continuing...");
         }
         plugin.getLogger().info("Detected Minecraft version 1." + MaterialVersionAdapter.getMinorVersion() + " - materials will be adapted accordingly");
-        loadVanillaRecipesData();
-        loadVanillaFurnaceRecipesData();
+        loadVanillaRecipeSources();
         loadModifiedRecipes();
         applyModifications();
-        startRecipeCleanupTask();
+        rebuildFurnaceTable();
+        rebuildDisabledIndex();
     }
 
-    private void startRecipeCleanupTask() {
-        
-        this.cleanupTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, () -> {
-            removeDisabledRecipes();
-        }, 100L, 100L);
-        plugin.getLogger().info("Started vanilla recipe cleanup task (runs every 5 seconds)");
+    public int enforceRemovedRecipes(String reason) {
+        enforcementChecks++;
+        List<NamespacedKey> reAdded = new ArrayList<>();
+        for (Map.Entry<String, VanillaRecipeState> entry : modifiedRecipes.entrySet()) {
+            VanillaRecipeState state = entry.getValue();
+            if (!state.isDisabled() && !state.hasChangedRecipe() && state.getCustomResultAmount() == null) {
+                continue;
+            }
+            NamespacedKey key = NamespacedKey.minecraft(entry.getKey());
+            if (Bukkit.getRecipe(key) != null) {
+                reAdded.add(key);
+            }
+        }
+        if (reAdded.isEmpty()) {
+            plugin.debug("No removed vanilla recipes came back after " + reason);
+            return 0;
+        }
+
+        boolean ownsRegistration = beginRegistration();
+        for (NamespacedKey key : reAdded) {
+            removeBukkitRecipe(key);
+        }
+        if (ownsRegistration) {
+            commitRegistration();
+        }
+        reRemovedRecipes += reAdded.size();
+        plugin.getLogger().info("Removed " + reAdded.size() + " vanilla recipe(s) that were registered again after " + reason +
+                " (" + reRemovedRecipes + " re-removals in " + enforcementChecks + " checks)");
+        return reAdded.size();
+    }
+
+    public long getEnforcementChecks() {
+        return enforcementChecks;
+    }
+
+    public long getReRemovedRecipes() {
+        return reRemovedRecipes;
     }
 
-    public void stopCleanupTask() {
-        if (cleanupTaskId != -1) {
-            Bukkit.getScheduler().cancelTask(cleanupTaskId);
-            cleanupTaskId = -1;
+    private boolean beginRegistration() {
+        if (activeRegistration != null) {
+            return false;
         }
+        activeRegistration = new RecipeRegistration(plugin);
+        return true;
     }
 
-    private void removeDisabledRecipes() {
-        for (Map.Entry<String, VanillaRecipeState> entry : modifiedRecipes.entrySet()) {
-            if (entry.getValue().isDisabled()) {
-                String recipeKey = entry.getKey();
-                NamespacedKey minecraftKey = NamespacedKey.minecraft(recipeKey);
-                Bukkit.removeRecipe(minecraftKey);
-            }
+    private RecipeRegistration.Result commitRegistration() {
+        RecipeRegistration registration = activeRegistration;
+        activeRegistration = null;
+        boolean syncPlayers = playerSyncRequested;
+        playerSyncRequested = false;
+        RecipeRegistration.Result result = registration.commit();
+        for (NamespacedKey key : result.failed()) {
+            plugin.getLogger().warning("Failed to register recipe " + key.getKey());
+        }
+        // players are only stamped with the new recipe book generation once the changes reached the server
+        if (syncPlayers && result.added() + result.removed() > 0) {
+            updateRecipesForAllPlayers();
         }
+        return result;
+    }
+
+    private void requestPlayerSync() {
+        if (activeRegistration != null) {
+            playerSyncRequested = true;
+        } else {
+            updateRecipesForAllPlayers();
+        }
+    }
+
+    private boolean addBukkitRecipe(Recipe recipe) {
+        if (activeRegistration != null) {
+            return activeRegistration.add(recipe);
+        }
+        return Bukkit.addRecipe(recipe);
+    }
+
+    private boolean removeBukkitRecipe(NamespacedKey key) {
+        if (activeRegistration != null) {
+            return activeRegistration.remove(key);
+        }
+        return Bukkit.removeRecipe(key);
+    }
+
+    private void loadVanillaRecipeSources() {
+        if (!vanillaRecipesDataFile.exists()) {
+            plugin.saveResource("vanilla-recipes.yml", false);
+        }
+        if (!vanillaFurnaceRecipesDataFile.exists()) {
+            plugin.saveResource("vanilla-furnace-recipes.yml", false);
+        }
+
+        RecipeBundleCache bundleCache = plugin.getConfigManager().getRecipeBundleCache();
+        Map<String, VanillaRecipeInfo> cached = bundleCache.loadVanillaRecipes(vanillaRecipesDataFile, vanillaFurnaceRecipesDataFile);
+        if (cached != null) {
+            allVanillaRecipes.putAll(cached);
+            plugin.getLogger().info("Loaded " + cached.size() + " vanilla recipes from cache");
+            return;
+        }
+        loadVanillaRecipesData();
+        loadVanillaFurnaceRecipesData();
+        bundleCache.saveVanillaRecipes(allVanillaRecipes, vanillaRecipesDataFile, vanillaFurnaceRecipesDataFile);
     }
 
     private void loadVanillaRecipesData() {
@@ -339,115 +441,180 @@ public class VanillaRecipeManager {
         int loaded = 0;
         for (File file : files) {
             try {
-                YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
-                String recipeKey = file.getName().replace(".yml", "");
-                boolean disabled = config.getBoolean("disabled", false);
-                String originalKey = config.getString("original-recipe-key");
-                int currentVariant = config.getInt("current-variant-index", 0);
-                VanillaRecipeState state = new VanillaRecipeState(disabled, originalKey);
-                state.setCurrentVariantIndex(currentVariant);
-
-                if (config.contains("custom-result-amount")) {
-                    state.setResultAmount(config.getInt("custom-result-amount"));
-                }
+                VanillaStateChange change = readStateChange(file);
+                modifiedRecipes.put(change.recipeKey(), change.state());
+                stateHashes.put(change.recipeKey(), change.hash());
+                loaded++;
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to load modified recipe " + file.getName() + ": " + e.getMessage());
+            }
+        }
+        if (loaded > 0) {
+            plugin.getLogger().info("Loaded " + loaded + " modified vanilla recipes");
+        }
+    }
 
-                ConfigurationSection variantsSection = config.getConfigurationSection("variants");
-                if (variantsSection != null) {
-                    for (String variantKey : variantsSection.getKeys(false)) {
-                        try {
-                            int variantIndex = Integer.parseInt(variantKey);
-                            List<String> pattern = variantsSection.getStringList(variantKey + ".pattern");
-                            String typeStr = variantsSection.getString(variantKey + ".type", "SHAPED");
-                            RecipeType type = RecipeType.fromString(typeStr);
-                            state.setPatternForVariant(variantIndex, pattern);
-                            state.setTypeForVariant(variantIndex, type);
-
-                            if (variantsSection.contains(variantKey + ".disabled")) {
-                                state.setVariantDisabled(variantIndex, variantsSection.getBoolean(variantKey + ".disabled"));
-                            }
+    public VanillaStateChange readStateChange(File file) throws IOException, InvalidConfigurationException {
+        String recipeKey = file.getName().replace(".yml", "");
+        if (!file.isFile()) {
+            return new VanillaStateChange(recipeKey, null, 0L);
+        }
+        byte[] content = Files.readAllBytes(file.toPath());
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(new String(content, StandardCharsets.UTF_8));
+        return new VanillaStateChange(recipeKey, readRecipeState(config), RecipeFingerprint.of(file, content).hash());
+    }
 
-                            if (variantsSection.contains(variantKey + ".result-amount")) {
-                                state.setResultAmountForVariant(variantIndex, variantsSection.getInt(variantKey + ".result-amount"));
-                            }
+    private VanillaRecipeState readRecipeState(ConfigurationSection config) {
+        boolean disabled = config.getBoolean("disabled", false);
+        String originalKey = config.getString("original-recipe-key");
+        int currentVariant = config.getInt("current-variant-index", 0);
+        VanillaRecipeState state = new VanillaRecipeState(disabled, originalKey);
+        state.setCurrentVariantIndex(currentVariant);
 
-                            List<String> exactIngredients = variantsSection.getStringList(variantKey + ".exact-ingredients");
-                            if (!exactIngredients.isEmpty()) {
-                                List<ItemStack> exactItems = new ArrayList<>();
-                                for (String serialized : exactIngredients) {
-                                    if (serialized != null && !serialized.isEmpty()) {
-                                        try {
-                                            exactItems.add(ItemStackSerializer.fromBase64(serialized));
-                                        } catch (Exception e) {
-                                            exactItems.add(null);
-                                            plugin.getLogger().warning("Failed to deserialize exact item: " + e.getMessage());
-                                        }
-                                    } else {
-                                        exactItems.add(null);
-                                    }
+        if (config.contains("custom-result-amount")) {
+            state.setResultAmount(config.getInt("custom-result-amount"));
+        }
+
+        ConfigurationSection variantsSection = config.getConfigurationSection("variants");
+        if (variantsSection != null) {
+            for (String variantKey : variantsSection.getKeys(false)) {
+                try {
+                    int variantIndex = Integer.parseInt(variantKey);
+                    List<String> pattern = variantsSection.getStringList(variantKey + ".pattern");
+                    String typeStr = variantsSection.getString(variantKey + ".type", "SHAPED");
+                    RecipeType type = RecipeType.fromString(typeStr);
+                    state.setPatternForVariant(variantIndex, pattern);
+                    state.setTypeForVariant(variantIndex, type);
+
+                    if (variantsSection.contains(variantKey + ".disabled")) {
+                        state.setVariantDisabled(variantIndex, variantsSection.getBoolean(variantKey + ".disabled"));
+                    }
+
+                    if (variantsSection.contains(variantKey + ".result-amount")) {
+                        state.setResultAmountForVariant(variantIndex, variantsSection.getInt(variantKey + ".result-amount"));
+                    }
+
+                    List<String> exactIngredients = variantsSection.getStringList(variantKey + ".exact-ingredients");
+                    if (!exactIngredients.isEmpty()) {
+                        List<ItemStack> exactItems = new ArrayList<>();
+                        for (String serialized : exactIngredients) {
+                            if (serialized != null && !serialized.isEmpty()) {
+                                try {
+                                    exactItems.add(ItemStackSerializer.fromBase64(serialized));
+                                } catch (Exception e) {
+                                    exactItems.add(null);
+                                    plugin.getLogger().warning("Failed to deserialize exact item: " + e.getMessage());
                                 }
-                                state.setExactItemsForVariant(variantIndex, exactItems);
+                            } else {
+                                exactItems.add(null);
                             }
-                        } catch (NumberFormatException ignored) {}
+                        }
+                        state.setExactItemsForVariant(variantIndex, exactItems);
                     }
-                }
+                } catch (NumberFormatException ignored) {}
+            }
+        }
 
-                if (config.contains("craft-event-preset")) {
-                    state.setCraftEventPresetName(config.getString("craft-event-preset"));
-                }
+        if (config.contains("craft-event-preset")) {
+            state.setCraftEventPresetName(config.getString("craft-event-preset"));
+        }
 
-                if (config.contains("conditions")) {
-                    ConfigurationSection condSection = config.getConfigurationSection("conditions");
-                    if (condSection != null) {
-                        String permission = condSection.getString("permission");
-                        int xpLevel = condSection.getInt("xp-level", 0);
-                        int xpReward = condSection.getInt("xp-reward", 0);
-                        int cooldown = condSection.getInt("cooldown", 0);
-                        int dailyLimit = condSection.getInt("limit-daily", 0);
-                        int weeklyLimit = condSection.getInt("limit-weekly", 0);
-                        int totalLimit = condSection.getInt("limit-total", 0);
-                        double moneyCost = condSection.getDouble("money-cost", 0.0);
-                        state.setConditions(new RecipeConditions(permission, xpLevel, xpReward, cooldown, dailyLimit, weeklyLimit, totalLimit, moneyCost));
-                    }
+        if (config.contains("conditions")) {
+            ConfigurationSection condSection = config.getConfigurationSection("conditions");
+            if (condSection != null) {
+                String permission = condSection.getString("permission");
+                int xpLevel = condSection.getInt("xp-level", 0);
+                int xpReward = condSection.getInt("xp-reward", 0);
+                int cooldown = condSection.getInt("cooldown", 0);
+                int dailyLimit = condSection.getInt("limit-daily", 0);
+                int weeklyLimit = condSection.getInt("limit-weekly", 0);
+                int totalLimit = condSection.getInt("limit-total", 0);
+                double moneyCost = condSection.getDouble("money-cost", 0.0);
+                state.setConditions(new RecipeConditions(permission, xpLevel, xpReward, cooldown, dailyLimit, weeklyLimit, totalLimit, moneyCost));
+            }
+        }
+
+        return state;
+    }
+
+    public int applyStateChanges(List<VanillaStateChange> changes) {
+        boolean ownsRegistration = beginRegistration();
+        int applied = 0;
+        for (VanillaStateChange change : changes) {
+            String recipeKey = change.recipeKey();
+            Long knownHash = stateHashes.get(recipeKey);
+            if (change.state() == null ? knownHash == null : knownHash != null && knownHash == change.hash()) {
+                continue;
+            }
+
+            VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
+            NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
+            removeBukkitRecipe(originalKey);
+            removeBukkitRecipe(new NamespacedKey(plugin, recipeKey + "_custom_amount"));
+            if (info != null) {
+                int maxVariants = getMaxVariantsForRecipe(recipeKey);
+                for (int i = 0; i < maxVariants; i++) {
+                    removeBukkitRecipe(new NamespacedKey(plugin, recipeKey + "_variant_" + i));
                 }
+            }
 
+            VanillaRecipeState state = change.state();
+            if (state == null) {
+                modifiedRecipes.remove(recipeKey);
+                stateHashes.remove(recipeKey);
+                if (info != null) {
+                    registerOriginalRecipe(originalKey, info);
+                }
+            } else {
                 modifiedRecipes.put(recipeKey, state);
-                loaded++;
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load modified recipe " + file.getName() + ": " + e.getMessage());
+                stateHashes.put(recipeKey, change.hash());
+                if (state.isDisabled()) {
+                    plugin.debug("Vanilla recipe disabled by file change: " + recipeKey);
+                } else if (state.hasChangedRecipe()) {
+                    registerAllVariants(recipeKey, state);
+                } else if (info != null && state.getCustomResultAmount() != null) {
+                    registerRecipe(new NamespacedKey(plugin, recipeKey + "_custom_amount"), info, info.getPattern(), 0, state);
+                } else if (info != null) {
+                    registerOriginalRecipe(originalKey, info);
+                }
             }
+            refreshRecipeIndexes(recipeKey);
+            applied++;
+            plugin.debug("Applied file change to vanilla recipe: " + recipeKey);
         }
-        if (loaded > 0) {
-            plugin.getLogger().info("Loaded " + loaded + " modified vanilla recipes");
+        if (applied > 0) {
+            requestPlayerSync();
+        }
+        if (ownsRegistration) {
+            commitRegistration();
         }
+        return applied;
+    }
+
+    public File getVanillaRecipesFolder() {
+        return vanillaRecipesFolder;
     }
 
     private void applyModifications() {
+        boolean ownsRegistration = beginRegistration();
         int disabled = 0;
         int changed = 0;
 
-        List<NamespacedKey> disabledKeys = new ArrayList<>();
-        for (Map.Entry<String, VanillaRecipeState> entry : modifiedRecipes.entrySet()) {
-            String recipeKey = entry.getKey();
-            VanillaRecipeState state = entry.getValue();
-            if (state.isDisabled()) {
-                disabledKeys.add(NamespacedKey.minecraft(recipeKey));
-            }
-        }
-
         for (Map.Entry<String, VanillaRecipeState> entry : modifiedRecipes.entrySet()) {
             String recipeKey = entry.getKey();
             VanillaRecipeState state = entry.getValue();
             if (state.isDisabled()) {
                 
                 NamespacedKey key = NamespacedKey.minecraft(recipeKey);
-                boolean removed = Bukkit.removeRecipe(key);
+                boolean removed = removeBukkitRecipe(key);
 
                 VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
                 if (info != null) {
                     int maxVariants = getMaxVariantsForRecipe(recipeKey);
                     for (int i = 0; i < maxVariants; i++) {
                         NamespacedKey variantKey = new NamespacedKey(plugin, recipeKey + "_variant_" + i);
-                        Bukkit.removeRecipe(variantKey);
+                        removeBukkitRecipe(variantKey);
                     }
                 }
 
@@ -458,7 +625,7 @@ public class VanillaRecipeManager {
             } else if (state.hasChangedRecipe() || state.getCustomResultAmount() != null) {
                 
                 NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
-                Bukkit.removeRecipe(originalKey);
+                removeBukkitRecipe(originalKey);
 
                 if (state.hasChangedRecipe()) {
                     
@@ -466,7 +633,7 @@ public class VanillaRecipeManager {
                 } else {
                     
                     NamespacedKey customKey = new NamespacedKey(plugin, recipeKey + "_custom_amount");
-                    Bukkit.removeRecipe(customKey); 
+                    removeBukkitRecipe(customKey); 
                     VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
                     if (info != null) {
                         registerRecipe(customKey, info, info.getPattern(), 0, state);
@@ -481,21 +648,19 @@ public class VanillaRecipeManager {
         if (disabled > 0 || changed > 0) {
             plugin.getLogger().info("Applied vanilla recipe modifications: " +
                     disabled + " disabled, " + changed + " changed");
-            
-            final List<NamespacedKey> finalDisabledKeys = new ArrayList<>(disabledKeys);
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                
-                for (org.bukkit.entity.Player player : Bukkit.getOnlinePlayers()) {
-                    for (NamespacedKey key : finalDisabledKeys) {
-                        player.undiscoverRecipe(key);
-                        plugin.debug("Undiscovered disabled recipe for " + player.getName() + ": " + key.getKey());
-                    }
-                }
-            }, 40L); 
+        }
+        if (ownsRegistration) {
+            RecipeRegistration.Result result = commitRegistration();
+            if (result.added() + result.removed() > 0) {
+                Bukkit.getScheduler().runTaskLater(plugin, this::updateRecipesForAllPlayers, 40L);
+            }
+        } else if (disabled > 0 || changed > 0) {
+            playerSyncRequested = true;
         }
     }
 
     public void toggleRecipe(String recipeKey) {
+        boolean ownsRegistration = beginRegistration();
         VanillaRecipeState state = modifiedRecipes.get(recipeKey);
         if (state == null) {
             state = new VanillaRecipeState(true, "minecraft:" + recipeKey);
@@ -504,24 +669,21 @@ public class VanillaRecipeManager {
             state.setDisabled(!state.isDisabled());
         }
         saveRecipeState(recipeKey, state);
+        refreshRecipeIndexes(recipeKey);
         if (state.isDisabled()) {
             
             NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
-            for (org.bukkit.entity.Player player : Bukkit.getOnlinePlayers()) {
-                player.undiscoverRecipe(originalKey);
-            }
-
-            Bukkit.removeRecipe(originalKey);
+            removeBukkitRecipe(originalKey);
 
             NamespacedKey customAmountKey = new NamespacedKey(plugin, recipeKey + "_custom_amount");
-            Bukkit.removeRecipe(customAmountKey);
+            removeBukkitRecipe(customAmountKey);
 
             VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
             if (info != null) {
                 int maxVariants = getMaxVariantsForRecipe(recipeKey);
                 for (int i = 0; i < maxVariants; i++) {
                     NamespacedKey variantKey = new NamespacedKey(plugin, recipeKey + "_variant_" + i);
-                    Bukkit.removeRecipe(variantKey);
+                    removeBukkitRecipe(variantKey);
                 }
             }
             plugin.debug("Disabled vanilla recipe: " + recipeKey);
@@ -530,7 +692,7 @@ public class VanillaRecipeManager {
             if (info != null) {
                 
                 NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
-                Bukkit.removeRecipe(originalKey);
+                removeBukkitRecipe(originalKey);
 
                 boolean hasModifications = state.hasChangedRecipe() || state.getCustomResultAmount() != null;
 
@@ -550,12 +712,15 @@ public class VanillaRecipeManager {
                     plugin.getLogger().info("Re-enabled vanilla recipe: " + recipeKey);
                 }
             }
-            
-            updateRecipesForAllPlayers();
+        }
+        requestPlayerSync();
+        if (ownsRegistration) {
+            commitRegistration();
         }
     }
 
     public void updateRecipeVariant(String recipeKey, int variantIndex, List<String> newPattern, RecipeType newType) {
+        boolean ownsRegistration = beginRegistration();
         VanillaRecipeState state = modifiedRecipes.get(recipeKey);
         if (state == null) {
             state = new VanillaRecipeState(false, "minecraft:" + recipeKey);
@@ -566,23 +731,28 @@ public class VanillaRecipeManager {
         state.setTypeForVariant(variantIndex, newType);
         state.setDisabled(false);
         saveRecipeState(recipeKey, state);
+        refreshRecipeIndexes(recipeKey);
         NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
-        Bukkit.removeRecipe(originalKey);
+        removeBukkitRecipe(originalKey);
         VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
         if (info != null) {
             int maxVariants = getMaxVariantsForRecipe(recipeKey);
             for (int i = 0; i < maxVariants; i++) {
                 NamespacedKey variantKey = new NamespacedKey(plugin, recipeKey + "_variant_" + i);
-                Bukkit.removeRecipe(variantKey);
+                removeBukkitRecipe(variantKey);
             }
         }
         registerAllVariants(recipeKey, state);
         
-        updateRecipesForAllPlayers();
+        requestPlayerSync();
+        if (ownsRegistration) {
+            commitRegistration();
+        }
     }
 
     public void updateRecipeVariant(String recipeKey, int variantIndex, List<String> newPattern,
                                      RecipeType newType, List<ItemStack> exactItems) {
+        boolean ownsRegistration = beginRegistration();
         VanillaRecipeState state = modifiedRecipes.get(recipeKey);
         if (state == null) {
             state = new VanillaRecipeState(false, "minecraft:" + recipeKey);
@@ -594,22 +764,27 @@ public class VanillaRecipeManager {
         state.setExactItemsForVariant(variantIndex, exactItems);
         state.setDisabled(false);
         saveRecipeState(recipeKey, state);
+        refreshRecipeIndexes(recipeKey);
         NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
-        Bukkit.removeRecipe(originalKey);
+        removeBukkitRecipe(originalKey);
         VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
         if (info != null) {
             int maxVariants = getMaxVariantsForRecipe(recipeKey);
             for (int i = 0; i < maxVariants; i++) {
                 NamespacedKey variantKey = new NamespacedKey(plugin, recipeKey + "_variant_" + i);
-                Bukkit.removeRecipe(variantKey);
+                removeBukkitRecipe(variantKey);
             }
         }
         registerAllVariants(recipeKey, state);
         
-        updateRecipesForAllPlayers();
+        requestPlayerSync();
+        if (ownsRegistration) {
+            commitRegistration();
+        }
     }
 
     public void updateRecipeResultAmount(String recipeKey, int newAmount) {
+        boolean ownsRegistration = beginRegistration();
         VanillaRecipeState state = modifiedRecipes.get(recipeKey);
         if (state == null) {
             state = new VanillaRecipeState(false, "minecraft:" + recipeKey);
@@ -618,19 +793,20 @@ public class VanillaRecipeManager {
         state.setResultAmount(newAmount);
         state.setDisabled(false);
         saveRecipeState(recipeKey, state);
+        refreshRecipeIndexes(recipeKey);
 
         NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
-        Bukkit.removeRecipe(originalKey);
+        removeBukkitRecipe(originalKey);
 
         NamespacedKey customAmountKey = new NamespacedKey(plugin, recipeKey + "_custom_amount");
-        Bukkit.removeRecipe(customAmountKey);
+        removeBukkitRecipe(customAmountKey);
 
         VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
         if (info != null) {
             int maxVariants = getMaxVariantsForRecipe(recipeKey);
             for (int i = 0; i < maxVariants; i++) {
                 NamespacedKey variantKey = new NamespacedKey(plugin, recipeKey + "_variant_" + i);
-                Bukkit.removeRecipe(variantKey);
+                removeBukkitRecipe(variantKey);
             }
 
             if (state.hasChangedRecipe()) {
@@ -642,11 +818,15 @@ public class VanillaRecipeManager {
             }
         }
 
-        updateRecipesForAllPlayers();
+        requestPlayerSync();
         plugin.debug("Updated result amount for recipe " + recipeKey + " to " + newAmount);
+        if (ownsRegistration) {
+            commitRegistration();
+        }
     }
 
     public void updateVariantResultAmount(String recipeKey, int variantIndex, int newAmount) {
+        boolean ownsRegistration = beginRegistration();
         VanillaRecipeState state = modifiedRecipes.get(recipeKey);
         if (state == null) {
             state = new VanillaRecipeState(false, "minecraft:" + recipeKey);
@@ -655,22 +835,26 @@ public class VanillaRecipeManager {
         }
         state.setResultAmountForVariant(variantIndex, newAmount);
         saveRecipeState(recipeKey, state);
+        refreshRecipeIndexes(recipeKey);
 
         NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
-        Bukkit.removeRecipe(originalKey);
+        removeBukkitRecipe(originalKey);
 
         VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
         if (info != null) {
             int maxVariants = getMaxVariantsForRecipe(recipeKey);
             for (int i = 0; i < maxVariants; i++) {
                 NamespacedKey variantKey = new NamespacedKey(plugin, recipeKey + "_variant_" + i);
-                Bukkit.removeRecipe(variantKey);
+                removeBukkitRecipe(variantKey);
             }
             registerAllVariants(recipeKey, state);
         }
 
-        updateRecipesForAllPlayers();
+        requestPlayerSync();
         plugin.debug("Updated result amount for recipe " + recipeKey + " variant " + variantIndex + " to " + newAmount);
+        if (ownsRegistration) {
+            commitRegistration();
+        }
     }
 
     public void setCraftEventPreset(String recipeKey, String presetName) {
@@ -706,6 +890,7 @@ public class VanillaRecipeManager {
     }
 
     public void toggleVariant(String recipeKey, int variantIndex) {
+        boolean ownsRegistration = beginRegistration();
         VanillaRecipeState state = modifiedRecipes.get(recipeKey);
         if (state == null) {
             state = new VanillaRecipeState(false, "minecraft:" + recipeKey);
@@ -716,22 +901,26 @@ public class VanillaRecipeManager {
         boolean newDisabledState = !state.isVariantDisabled(variantIndex);
         state.setVariantDisabled(variantIndex, newDisabledState);
         saveRecipeState(recipeKey, state);
+        refreshRecipeIndexes(recipeKey);
 
         NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
-        Bukkit.removeRecipe(originalKey);
+        removeBukkitRecipe(originalKey);
 
         VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
         if (info != null) {
             int maxVariants = getMaxVariantsForRecipe(recipeKey);
             for (int i = 0; i < maxVariants; i++) {
                 NamespacedKey variantKey = new NamespacedKey(plugin, recipeKey + "_variant_" + i);
-                Bukkit.removeRecipe(variantKey);
+                removeBukkitRecipe(variantKey);
             }
             registerAllVariants(recipeKey, state);
         }
 
-        updateRecipesForAllPlayers();
+        requestPlayerSync();
         plugin.debug("Toggled variant " + variantIndex + " for recipe " + recipeKey + " to " + (newDisabledState ? "disabled" : "enabled"));
+        if (ownsRegistration) {
+            commitRegistration();
+        }
     }
 
     public boolean isVariantDisabled(String recipeKey, int variantIndex) {
@@ -749,12 +938,13 @@ public class VanillaRecipeManager {
     private void registerAllVariants(String recipeKey, VanillaRecipeState state) {
         VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
         if (info == null) return;
+        boolean ownsRegistration = beginRegistration();
         int maxVariants = getMaxVariantsForRecipe(recipeKey);
         NamespacedKey originalKey = NamespacedKey.minecraft(recipeKey);
-        Bukkit.removeRecipe(originalKey);
+        removeBukkitRecipe(originalKey);
         for (int i = 0; i < maxVariants; i++) {
             NamespacedKey key = new NamespacedKey(plugin, recipeKey + "_variant_" + i);
-            Bukkit.removeRecipe(key);
+            removeBukkitRecipe(key);
         }
 
         for (int variantIndex = 0; variantIndex < maxVariants; variantIndex++) {
@@ -767,6 +957,9 @@ public class VanillaRecipeManager {
                 registerRecipe(key, info, pattern, variantIndex, state);
             }
         }
+        if (ownsRegistration) {
+            commitRegistration();
+        }
     }
 
     public void setCurrentVariant(String recipeKey, int variantIndex) {
@@ -861,7 +1054,10 @@ public class VanillaRecipeManager {
     }
 
     public void resetRecipe(String recipeKey) {
+        boolean ownsRegistration = beginRegistration();
         modifiedRecipes.remove(recipeKey);
+        stateHashes.remove(recipeKey);
+        refreshRecipeIndexes(recipeKey);
         File file = new File(vanillaRecipesFolder, recipeKey + ".yml");
         if (file.exists()) {
             file.delete();
@@ -872,17 +1068,20 @@ public class VanillaRecipeManager {
             int maxVariants = getMaxVariantsForRecipe(recipeKey);
             for (int i = 0; i < maxVariants; i++) {
                 NamespacedKey variantKey = new NamespacedKey(plugin, recipeKey + "_variant_" + i);
-                Bukkit.removeRecipe(variantKey);
+                removeBukkitRecipe(variantKey);
             }
         }
         NamespacedKey key = NamespacedKey.minecraft(recipeKey);
-        Bukkit.removeRecipe(key);
+        removeBukkitRecipe(key);
         if (info != null) {
             registerOriginalRecipe(key, info);
             plugin.getLogger().info("Reset vanilla recipe: " + recipeKey);
         }
         
-        updateRecipesForAllPlayers();
+        requestPlayerSync();
+        if (ownsRegistration) {
+            commitRegistration();
+        }
     }
 
     private boolean registerChangedRecipe(NamespacedKey key, VanillaRecipeInfo info, VanillaRecipeState state) {
@@ -1001,7 +1200,7 @@ public class VanillaRecipeManager {
                         recipe.setIngredient(ch, entry.getKey());
                     }
                 }
-                Bukkit.addRecipe(recipe);
+                addBukkitRecipe(recipe);
                 return true;
             } else if (info.getType() == RecipeType.SHAPELESS) {
                 org.bukkit.inventory.ShapelessRecipe recipe =
@@ -1031,7 +1230,7 @@ public class VanillaRecipeManager {
                         gridIndex++;
                     }
                 }
-                Bukkit.addRecipe(recipe);
+                addBukkitRecipe(recipe);
                 return true;
             }
         } catch (Exception e) {
@@ -1118,13 +1317,165 @@ public class VanillaRecipeManager {
                 }
             }
 
-            config.save(file);
+            byte[] content = config.saveToString().getBytes(StandardCharsets.UTF_8);
+            Files.write(file.toPath(), content);
+            stateHashes.put(recipeKey, RecipeFingerprint.of(file, content).hash());
             plugin.debug("Saved vanilla recipe state: " + recipeKey);
         } catch (IOException e) {
             plugin.getLogger().warning("Failed to save vanilla recipe state: " + e.getMessage());
         }
     }
 
+    private void rebuildFurnaceTable() {
+        furnaceTable.clear();
+        int entries = 0;
+        for (Map.Entry<String, VanillaRecipeInfo> entry : allVanillaRecipes.entrySet()) {
+            VanillaRecipeInfo info = entry.getValue();
+            List<Material> inputs = getFurnaceInputs(info);
+            for (int i = 0; i < inputs.size(); i++) {
+                furnaceTable.computeIfAbsent(info.getType(), k -> new EnumMap<>(Material.class))
+                        .computeIfAbsent(inputs.get(i), k -> new ArrayList<>(1))
+                        .add(createFurnaceEntry(entry.getKey(), i, info.getResultMaterial()));
+                entries++;
+            }
+        }
+        plugin.debug("Indexed " + entries + " vanilla furnace recipe inputs");
+    }
+
+    private void refreshRecipeIndexes(String recipeKey) {
+        refreshFurnaceEntries(recipeKey);
+        refreshDisabledEntry(recipeKey);
+    }
+
+    private void rebuildDisabledIndex() {
+        disabledByResult.clear();
+        for (String recipeKey : modifiedRecipes.keySet()) {
+            refreshDisabledEntry(recipeKey);
+        }
+        plugin.debug("Indexed " + disabledByResult.size() + " result materials of disabled vanilla recipes");
+    }
+
+    private void refreshDisabledEntry(String recipeKey) {
+        boolean disabled = isRecipeDisabled(recipeKey);
+        NamespacedKey minecraftKey = NamespacedKey.minecraft(recipeKey);
+        plugin.getRecipeKeyClassifier().setTracked(minecraftKey, disabled);
+        if (disabled ? disabledKeys.add(minecraftKey) : disabledKeys.remove(minecraftKey)) {
+            recipeBookGeneration = -1L;
+        }
+        VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
+        if (info == null || !info.getType().isCraftingType()) {
+            return;
+        }
+        for (Material result : getResultMaterials(info)) {
+            List<VanillaRecipeInfo> bucket = disabledByResult.get(result);
+            if (disabled) {
+                if (bucket == null) {
+                    bucket = new ArrayList<>(1);
+                    disabledByResult.put(result, bucket);
+                }
+                if (!bucket.contains(info)) {
+                    bucket.add(info);
+                }
+            } else if (bucket != null) {
+                bucket.remove(info);
+                if (bucket.isEmpty()) {
+                    disabledByResult.remove(result);
+                }
+            }
+        }
+    }
+
+    private Set<Material> getResultMaterials(VanillaRecipeInfo info) {
+        Set<Material> results = EnumSet.of(info.getResultMaterial());
+        for (ItemStack variantResult : info.getVariantResults().values()) {
+            results.add(variantResult.getType());
+        }
+        return results;
+    }
+
+    public List<VanillaRecipeInfo> getDisabledRecipesByResult(Material resultMaterial) {
+        List<VanillaRecipeInfo> disabled = disabledByResult.get(resultMaterial);
+        return disabled != null ? disabled : Collections.emptyList();
+    }
+
+    private void refreshFurnaceEntries(String recipeKey) {
+        VanillaRecipeInfo info = allVanillaRecipes.get(recipeKey);
+        if (info == null) {
+            return;
+        }
+        Map<Material, List<FurnaceEntry>> byInput = furnaceTable.get(info.getType());
+        if (byInput == null) {
+            return;
+        }
+
+        for (Material input : getFurnaceInputs(info)) {
+            List<FurnaceEntry> bucket = byInput.get(input);
+            if (bucket != null) {
+                bucket.replaceAll(entry -> entry.recipeKey().equals(recipeKey)
+                        ? createFurnaceEntry(recipeKey, entry.variantIndex(), entry.resultMaterial())
+                        : entry);
+            }
+        }
+    }
+
+    private List<Material> getFurnaceInputs(VanillaRecipeInfo info) {
+        if (!info.getType().isFurnaceType()) {
+            return Collections.emptyList();
+        }
+        List<List<IngredientChoice>> grid = info.getIngredientGrid();
+        if (grid.isEmpty() || grid.get(0).isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        IngredientChoice inputChoice = grid.get(0).get(0);
+        if (inputChoice.hasMultipleOptions()) {
+            return inputChoice.getOptions();
+        }
+        return inputChoice.getSelected() != null ? List.of(inputChoice.getSelected()) : Collections.emptyList();
+    }
+
+    private FurnaceEntry createFurnaceEntry(String recipeKey, int variantIndex, Material resultMaterial) {
+        VanillaRecipeState state = modifiedRecipes.get(recipeKey);
+        if (state == null) {
+            return new FurnaceEntry(recipeKey, variantIndex, resultMaterial, false, null);
+        }
+
+        Integer customAmount = state.getResultAmountForVariant(variantIndex);
+        if (customAmount == null) {
+            customAmount = state.getCustomResultAmount();
+        }
+        boolean disabled = state.isDisabled() || state.isVariantDisabled(variantIndex);
+        return new FurnaceEntry(recipeKey, variantIndex, resultMaterial, disabled, customAmount);
+    }
+
+    public FurnaceEntry findFurnaceEntry(RecipeType type, Material input, Material result) {
+        Map<Material, List<FurnaceEntry>> byInput = furnaceTable.get(type);
+        List<FurnaceEntry> bucket = byInput != null ? byInput.get(input) : null;
+        if (bucket == null) {
+            return null;
+        }
+        for (FurnaceEntry entry : bucket) {
+            if (entry.resultMaterial() == result) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    public boolean isFurnaceInputDisabled(RecipeType type, Material input) {
+        Map<Material, List<FurnaceEntry>> byInput = furnaceTable.get(type);
+        List<FurnaceEntry> bucket = byInput != null ? byInput.get(input) : null;
+        if (bucket == null) {
+            return false;
+        }
+        for (FurnaceEntry entry : bucket) {
+            if (entry.disabled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public Map<String, VanillaRecipeInfo> getAllVanillaRecipes() {
         return Collections.unmodifiableMap(allVanillaRecipes);
     }
@@ -1147,13 +1498,6 @@ public class VanillaRecipeManager {
         return state != null && state.hasChangedRecipe();
     }
 
-    public java.util.Set<String> getAllDisabledRecipeKeys() {
-        return modifiedRecipes.entrySet().stream()
-                .filter(entry -> entry.getValue().isDisabled())
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
-    }
-
     public List<VanillaRecipeInfo> searchRecipes(String query) {
         String lowerQuery = query.toLowerCase();
         return allVanillaRecipes.values().stream()
@@ -1201,19 +1545,43 @@ public class VanillaRecipeManager {
 
     public void updateRecipesForPlayer(org.bukkit.entity.Player player) {
         try {
-            
-            for (Map.Entry<String, VanillaRecipeState> entry : modifiedRecipes.entrySet()) {
-                if (entry.getValue().isDisabled()) {
-                    NamespacedKey key = NamespacedKey.minecraft(entry.getKey());
-                    player.undiscoverRecipe(key);
-                    plugin.debug("Undiscovered recipe for player " + player.getName() + ": " + entry.getKey());
+            long generation = getRecipeBookGeneration();
+            PersistentDataContainer data = player.getPersistentDataContainer();
+            Long synced = data.get(recipeBookGenerationKey, PersistentDataType.LONG);
+            if (synced != null && synced == generation) {
+                return;
+            }
+
+            List<NamespacedKey> discovered = new ArrayList<>();
+            for (NamespacedKey key : disabledKeys) {
+                if (player.hasDiscoveredRecipe(key)) {
+                    discovered.add(key);
                 }
             }
+            if (!discovered.isEmpty()) {
+                player.undiscoverRecipes(discovered);
+                plugin.debug("Undiscovered " + discovered.size() + " disabled recipe(s) for player " + player.getName());
+            }
+            data.set(recipeBookGenerationKey, PersistentDataType.LONG, generation);
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to update recipes for player " + player.getName() + ": " + e.getMessage());
         }
     }
 
+    private long getRecipeBookGeneration() {
+        if (recipeBookGeneration == -1L) {
+            List<String> keys = new ArrayList<>(disabledKeys.size());
+            for (NamespacedKey key : disabledKeys) {
+                keys.add(key.getKey());
+            }
+            Collections.sort(keys);
+            CRC32C crc = new CRC32C();
+            crc.update(String.join("\n", keys).getBytes(StandardCharsets.UTF_8));
+            recipeBookGeneration = crc.getValue();
+        }
+        return recipeBookGeneration;
+    }
+
     public static class VanillaRecipeState {
         private boolean disabled; 
         private final String originalRecipeKey;
@@ -1367,4 +1735,11 @@ public class VanillaRecipeManager {
             return variantExactItems;
         }
     }
+
+    public record FurnaceEntry(String recipeKey, int variantIndex, Material resultMaterial,
+                               boolean disabled, Integer customAmount) {
+    }
+
+    public record VanillaStateChange(String recipeKey, VanillaRecipeState state, long hash) {
+    }
 }
\ No newline at end of file
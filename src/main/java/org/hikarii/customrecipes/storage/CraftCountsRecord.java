@@ -0,0 +1,7 @@
+package org.hikarii.customrecipes.storage;
+
+import java.time.LocalDate;
+
+public record CraftCountsRecord(int dailyCount, int weeklyCount, int totalCount,
+                                LocalDate lastDailyReset, int lastWeekNumber, int lastWeekYear) {
+}
@@ -0,0 +1,10 @@
+package org.hikarii.customrecipes.storage;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record CraftSaveResult(long bytesWritten, Set<UUID> failedPlayers) {
+    public boolean isComplete() {
+        return failedPlayers.isEmpty();
+    }
+}
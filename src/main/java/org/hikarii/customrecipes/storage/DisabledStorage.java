@@ -0,0 +1,46 @@
+package org.hikarii.customrecipes.storage;
+
+import org.hikarii.customrecipes.data.RecipeBitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+public class DisabledStorage implements PlayerDataStorage {
+    @Override
+    public String getName() {
+        return "disabled";
+    }
+
+    @Override
+    public PlayerCraftRecord loadCraftData(UUID playerUUID) {
+        return PlayerCraftRecord.empty(playerUUID);
+    }
+
+    @Override
+    public CraftSaveResult saveCraftData(Collection<PlayerCraftRecord> records) {
+        return new CraftSaveResult(0, Collections.emptySet());
+    }
+
+    @Override
+    public void loadDiscoveries(Map<UUID, RecipeBitSet> target) {
+        target.clear();
+    }
+
+    @Override
+    public void addDiscovery(UUID playerUUID, String recipeKey) {
+    }
+
+    @Override
+    public void loadFavorites(Map<UUID, RecipeBitSet> target) {
+        target.clear();
+    }
+
+    @Override
+    public void setFavorite(UUID playerUUID, String recipeKey, boolean favorite) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,140 @@
+package org.hikarii.customrecipes.storage;
+
+import org.hikarii.customrecipes.data.RecipeBitSet;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+public final class DiscoverySnapshotCodec {
+    private static final int MAGIC = 0x43524453;
+    private static final int VERSION = 1;
+    private static final short JAVA_SERIALIZATION_MAGIC = (short) 0xACED;
+
+    private DiscoverySnapshotCodec() {
+    }
+
+    public static byte[] encode(Map<UUID, RecipeBitSet> discoveries, IntFunction<String> recipeKeys) throws IOException {
+        Map<UUID, long[]> players = new LinkedHashMap<>();
+        int highestOrdinal = -1;
+        for (Map.Entry<UUID, RecipeBitSet> entry : discoveries.entrySet()) {
+            long[] bits = entry.getValue().toWords();
+            for (int w = bits.length - 1; w >= 0; w--) {
+                if (bits[w] != 0) {
+                    highestOrdinal = Math.max(highestOrdinal, (w << 6) + 63 - Long.numberOfLeadingZeros(bits[w]));
+                    break;
+                }
+            }
+            players.put(entry.getKey(), bits);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(highestOrdinal + 1);
+            for (int ordinal = 0; ordinal <= highestOrdinal; ordinal++) {
+                String recipeKey = recipeKeys.apply(ordinal);
+                byte[] encoded = (recipeKey != null ? recipeKey : "").getBytes(StandardCharsets.UTF_8);
+                out.writeShort(encoded.length);
+                out.write(encoded);
+            }
+
+            int words = (highestOrdinal + 64) >>> 6;
+            out.writeInt(words);
+            out.writeInt(players.size());
+            for (Map.Entry<UUID, long[]> entry : players.entrySet()) {
+                long[] bits = entry.getValue();
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                for (int w = 0; w < words; w++) {
+                    out.writeLong(w < bits.length ? bits[w] : 0L);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Map<UUID, RecipeBitSet> decode(File file, ToIntFunction<String> ordinals) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.remaining() >= 2 && buffer.getShort(0) == JAVA_SERIALIZATION_MAGIC) {
+            return decodeLegacy(file, ordinals);
+        }
+        return decode(buffer, ordinals);
+    }
+
+    private static Map<UUID, RecipeBitSet> decode(ByteBuffer buffer, ToIntFunction<String> ordinals) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a discovered recipes file");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported discovered recipes format version " + version);
+            }
+
+            int[] remap = new int[buffer.getInt()];
+            int highestOrdinal = -1;
+            for (int i = 0; i < remap.length; i++) {
+                byte[] encoded = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(encoded);
+                remap[i] = ordinals.applyAsInt(new String(encoded, StandardCharsets.UTF_8));
+                highestOrdinal = Math.max(highestOrdinal, remap[i]);
+            }
+
+            int words = buffer.getInt();
+            int players = buffer.getInt();
+            int targetWords = (highestOrdinal + 64) >>> 6;
+            Map<UUID, RecipeBitSet> discoveries = new HashMap<>(Math.max(16, players * 4 / 3 + 1));
+            for (int i = 0; i < players; i++) {
+                UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+                long[] bits = new long[targetWords];
+                for (int w = 0; w < words; w++) {
+                    long word = buffer.getLong();
+                    while (word != 0) {
+                        int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                        if (index < remap.length) {
+                            int ordinal = remap[index];
+                            bits[ordinal >>> 6] |= 1L << ordinal;
+                        }
+                        word &= word - 1;
+                    }
+                }
+                discoveries.put(uuid, RecipeBitSet.fromWords(bits));
+            }
+            return discoveries;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupted discovered recipes file", e);
+        }
+    }
+
+    private static Map<UUID, RecipeBitSet> decodeLegacy(File file, ToIntFunction<String> ordinals) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+            @SuppressWarnings("unchecked")
+            Map<UUID, Set<String>> loaded = (Map<UUID, Set<String>>) ois.readObject();
+            Map<UUID, RecipeBitSet> discoveries = new HashMap<>();
+            for (Map.Entry<UUID, Set<String>> entry : loaded.entrySet()) {
+                RecipeBitSet recipes = new RecipeBitSet();
+                for (String recipeKey : entry.getValue()) {
+                    recipes.set(ordinals.applyAsInt(recipeKey));
+                }
+                discoveries.put(entry.getKey(), recipes);
+            }
+            return discoveries;
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    public static boolean isLegacy(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readShort() == JAVA_SERIALIZATION_MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
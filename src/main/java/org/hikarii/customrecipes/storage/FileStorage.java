@@ -0,0 +1,440 @@
+package org.hikarii.customrecipes.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.data.RecipeBitSet;
+import org.hikarii.customrecipes.recipe.RecipeManager;
+import org.hikarii.customrecipes.util.FileUtil;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
+
+public class FileStorage implements PlayerDataStorage {
+    private static final long DISCOVERY_FLUSH_DELAY_TICKS = 20L;
+    private static final int DISCOVERY_COMPACT_THRESHOLD = 1024;
+    private static final long FAVORITES_FLUSH_DELAY_TICKS = 20L;
+
+    private final CustomRecipes plugin;
+    private final File craftDataFolder;
+    private final File legacyCraftDataFile;
+    private final File discoveriesFile;
+    private final File favoritesFile;
+    private final File discoveryLogFile;
+    private final Object craftLock = new Object();
+    private final Object discoveryLock = new Object();
+    private final Object favoritesLock = new Object();
+    private volatile Map<UUID, RecipeBitSet> discoveries = new ConcurrentHashMap<>();
+    private final Queue<DiscoveryEntry> pendingDiscoveries = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean discoveryFlushScheduled = new AtomicBoolean();
+    private int loggedDiscoveries;
+    private volatile Map<UUID, RecipeBitSet> favorites = new ConcurrentHashMap<>();
+    private final AtomicBoolean favoritesDirty = new AtomicBoolean();
+    private final AtomicBoolean favoritesFlushScheduled = new AtomicBoolean();
+
+    public FileStorage(CustomRecipes plugin) {
+        this.plugin = plugin;
+        this.craftDataFolder = new File(plugin.getDataFolder(), "craft-data");
+        this.legacyCraftDataFile = new File(plugin.getDataFolder(), "craft-data.yml");
+        this.discoveriesFile = new File(plugin.getDataFolder(), "discovered-recipes.dat");
+        this.discoveryLogFile = new File(plugin.getDataFolder(), "discovered-recipes.log");
+        this.favoritesFile = new File(plugin.getDataFolder(), "player-favorites.yml");
+        migrateLegacyCraftData();
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public PlayerCraftRecord loadCraftData(UUID playerUUID) {
+        File file = getCraftDataFile(playerUUID);
+        // craft files are replaced atomically, so reads never wait for a save batch
+        if (!file.exists()) {
+            return PlayerCraftRecord.empty(playerUUID);
+        }
+
+        try {
+            YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+            Map<String, CraftCountsRecord> counts = new HashMap<>();
+            ConfigurationSection countsSection = config.getConfigurationSection("counts");
+            if (countsSection != null) {
+                for (String recipeKey : countsSection.getKeys(false)) {
+                    ConfigurationSection recipeSection = countsSection.getConfigurationSection(recipeKey);
+                    if (recipeSection != null) {
+                        counts.put(recipeKey, readCounts(recipeSection));
+                    }
+                }
+            }
+
+            Map<String, Long> cooldowns = new HashMap<>();
+            ConfigurationSection cooldownSection = config.getConfigurationSection("cooldowns");
+            if (cooldownSection != null) {
+                for (String recipeKey : cooldownSection.getKeys(false)) {
+                    cooldowns.put(recipeKey, cooldownSection.getLong(recipeKey));
+                }
+            }
+            return new PlayerCraftRecord(playerUUID, counts, cooldowns);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to load craft data for " + playerUUID + ": " + e.getMessage());
+            return PlayerCraftRecord.empty(playerUUID);
+        }
+    }
+
+    @Override
+    public CraftSaveResult saveCraftData(Collection<PlayerCraftRecord> records) {
+        long bytes = 0;
+        Set<UUID> failed = new HashSet<>();
+        synchronized (craftLock) {
+            for (PlayerCraftRecord record : records) {
+                try {
+                    byte[] data = toYaml(record).saveToString().getBytes(StandardCharsets.UTF_8);
+                    FileUtil.writeAtomically(getCraftDataFile(record.playerUUID()), data);
+                    bytes += data.length;
+                } catch (IOException e) {
+                    failed.add(record.playerUUID());
+                    plugin.getLogger().warning("Failed to save craft data for " + record.playerUUID() +
+                            ": " + e.getMessage());
+                }
+            }
+        }
+        return new CraftSaveResult(bytes, failed);
+    }
+
+    public List<PlayerCraftRecord> loadAllCraftData() {
+        List<PlayerCraftRecord> records = new ArrayList<>();
+        File[] files = craftDataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null) {
+            return records;
+        }
+
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                UUID uuid = UUID.fromString(name.substring(0, name.length() - ".yml".length()));
+                PlayerCraftRecord record = loadCraftData(uuid);
+                if (!record.isEmpty()) {
+                    records.add(record);
+                }
+            } catch (IllegalArgumentException ignored) {}
+        }
+        return records;
+    }
+
+    @Override
+    public void loadDiscoveries(Map<UUID, RecipeBitSet> target) {
+        synchronized (discoveryLock) {
+            discoveries = target;
+            boolean legacyFormat = discoveriesFile.exists() && DiscoverySnapshotCodec.isLegacy(discoveriesFile);
+            readDiscoveries(target, plugin.getRecipeManager()::assignOrdinal);
+            if (loggedDiscoveries > 0 || legacyFormat) {
+                compactDiscoveries();
+            }
+        }
+    }
+
+    public Map<UUID, Set<String>> exportDiscoveries() {
+        List<String> recipeKeys = new ArrayList<>();
+        Map<String, Integer> ordinals = new HashMap<>();
+        Map<UUID, RecipeBitSet> loaded = new HashMap<>();
+        synchronized (discoveryLock) {
+            readDiscoveries(loaded, recipeKey -> ordinals.computeIfAbsent(recipeKey, k -> {
+                recipeKeys.add(k);
+                return recipeKeys.size() - 1;
+            }));
+        }
+
+        Map<UUID, Set<String>> exported = new HashMap<>();
+        for (Map.Entry<UUID, RecipeBitSet> entry : loaded.entrySet()) {
+            Set<String> keys = new HashSet<>();
+            entry.getValue().forEach(ordinal -> keys.add(recipeKeys.get(ordinal)));
+            exported.put(entry.getKey(), keys);
+        }
+        return exported;
+    }
+
+    private void readDiscoveries(Map<UUID, RecipeBitSet> target, ToIntFunction<String> ordinals) {
+        target.clear();
+        if (discoveriesFile.exists()) {
+            try {
+                long start = System.nanoTime();
+                target.putAll(DiscoverySnapshotCodec.decode(discoveriesFile, ordinals));
+                plugin.debug("Read discovered recipes for " + target.size() + " players in " +
+                        ((System.nanoTime() - start) / 1_000_000.0) + "ms");
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to load discovered recipes data: " + e.getMessage());
+            }
+        }
+
+        loggedDiscoveries = replayDiscoveryLog(target, ordinals);
+        if (loggedDiscoveries > 0) {
+            plugin.debug("Replayed " + loggedDiscoveries + " logged recipe discoveries");
+        }
+    }
+
+    @Override
+    public void addDiscovery(UUID playerUUID, String recipeKey) {
+        pendingDiscoveries.add(new DiscoveryEntry(playerUUID, recipeKey));
+        if (discoveryFlushScheduled.compareAndSet(false, true)) {
+            try {
+                plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
+                    discoveryFlushScheduled.set(false);
+                    flushDiscoveries(false);
+                }, DISCOVERY_FLUSH_DELAY_TICKS);
+            } catch (IllegalPluginAccessException e) {
+                discoveryFlushScheduled.set(false);
+                flushDiscoveries(false);
+            }
+        }
+    }
+
+    private void flushDiscoveries(boolean compact) {
+        synchronized (discoveryLock) {
+            List<DiscoveryEntry> batch = new ArrayList<>();
+            DiscoveryEntry entry;
+            while ((entry = pendingDiscoveries.poll()) != null) {
+                batch.add(entry);
+            }
+
+            if (!batch.isEmpty()) {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new FileOutputStream(discoveryLogFile, true)))) {
+                    for (DiscoveryEntry discovery : batch) {
+                        out.writeLong(discovery.playerUUID().getMostSignificantBits());
+                        out.writeLong(discovery.playerUUID().getLeastSignificantBits());
+                        out.writeUTF(discovery.recipeKey());
+                    }
+                    loggedDiscoveries += batch.size();
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Failed to append discovered recipes log: " + e.getMessage());
+                    pendingDiscoveries.addAll(batch);
+                    return;
+                }
+            }
+
+            if (compact ? loggedDiscoveries > 0 : loggedDiscoveries >= DISCOVERY_COMPACT_THRESHOLD) {
+                compactDiscoveries();
+            }
+        }
+    }
+
+    private void compactDiscoveries() {
+        try {
+            FileUtil.writeAtomically(discoveriesFile,
+                    DiscoverySnapshotCodec.encode(discoveries, plugin.getRecipeManager()::getRecipeKey));
+            Files.deleteIfExists(discoveryLogFile.toPath());
+            plugin.debug("Compacted " + loggedDiscoveries + " logged recipe discoveries into " +
+                    discoveriesFile.getName());
+            loggedDiscoveries = 0;
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to save discovered recipes data: " + e.getMessage());
+        }
+    }
+
+    private int replayDiscoveryLog(Map<UUID, RecipeBitSet> target, ToIntFunction<String> ordinals) {
+        if (!discoveryLogFile.exists()) {
+            return 0;
+        }
+
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(discoveryLogFile)))) {
+            while (true) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                String recipeKey = in.readUTF();
+                target.computeIfAbsent(uuid, k -> new RecipeBitSet()).set(ordinals.applyAsInt(recipeKey));
+                replayed++;
+            }
+        } catch (EOFException ignored) {
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to read discovered recipes log: " + e.getMessage());
+        }
+        return replayed;
+    }
+
+    @Override
+    public void loadFavorites(Map<UUID, RecipeBitSet> target) {
+        favorites = target;
+        target.clear();
+        if (!favoritesFile.exists()) {
+            return;
+        }
+
+        RecipeManager recipeManager = plugin.getRecipeManager();
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(favoritesFile);
+        for (String uuidStr : config.getKeys(false)) {
+            try {
+                UUID uuid = UUID.fromString(uuidStr);
+                RecipeBitSet playerFavorites = new RecipeBitSet();
+                for (String recipeKey : config.getStringList(uuidStr)) {
+                    playerFavorites.set(recipeManager.assignOrdinal(recipeKey));
+                }
+                target.put(uuid, playerFavorites);
+            } catch (IllegalArgumentException ignored) {
+
+            }
+        }
+    }
+
+    public Map<UUID, Set<String>> exportFavorites() {
+        Map<UUID, Set<String>> exported = new HashMap<>();
+        if (favoritesFile.exists()) {
+            YamlConfiguration config = YamlConfiguration.loadConfiguration(favoritesFile);
+            for (String uuidStr : config.getKeys(false)) {
+                try {
+                    UUID uuid = UUID.fromString(uuidStr);
+                    exported.put(uuid, new HashSet<>(config.getStringList(uuidStr)));
+                } catch (IllegalArgumentException ignored) {
+
+                }
+            }
+        }
+        return exported;
+    }
+
+    @Override
+    public void setFavorite(UUID playerUUID, String recipeKey, boolean favorite) {
+        favoritesDirty.set(true);
+        if (favoritesFlushScheduled.compareAndSet(false, true)) {
+            try {
+                plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
+                    favoritesFlushScheduled.set(false);
+                    flushFavorites();
+                }, FAVORITES_FLUSH_DELAY_TICKS);
+            } catch (IllegalPluginAccessException e) {
+                favoritesFlushScheduled.set(false);
+                flushFavorites();
+            }
+        }
+    }
+
+    private void flushFavorites() {
+        synchronized (favoritesLock) {
+            if (!favoritesDirty.getAndSet(false)) {
+                return;
+            }
+
+            RecipeManager recipeManager = plugin.getRecipeManager();
+            YamlConfiguration config = new YamlConfiguration();
+            for (Map.Entry<UUID, RecipeBitSet> entry : favorites.entrySet()) {
+                List<String> keys = new ArrayList<>();
+                entry.getValue().forEach(ordinal -> keys.add(recipeManager.getRecipeKey(ordinal)));
+                if (!keys.isEmpty()) {
+                    config.set(entry.getKey().toString(), keys);
+                }
+            }
+            try {
+                FileUtil.writeAtomically(favoritesFile, config.saveToString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                favoritesDirty.set(true);
+                plugin.getLogger().warning("Could not save player favorites: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        flushDiscoveries(true);
+        flushFavorites();
+    }
+
+    private CraftCountsRecord readCounts(ConfigurationSection recipeSection) {
+        LocalDate lastDailyReset = LocalDate.now();
+        String dailyResetStr = recipeSection.getString("daily-reset");
+        if (dailyResetStr != null) {
+            try {
+                lastDailyReset = LocalDate.parse(dailyResetStr);
+            } catch (Exception ignored) {}
+        }
+
+        return new CraftCountsRecord(
+                recipeSection.getInt("daily", 0),
+                recipeSection.getInt("weekly", 0),
+                recipeSection.getInt("total", 0),
+                lastDailyReset,
+                recipeSection.getInt("week-number", 0),
+                recipeSection.getInt("week-year", 0)
+        );
+    }
+
+    private YamlConfiguration toYaml(PlayerCraftRecord record) {
+        YamlConfiguration config = new YamlConfiguration();
+        for (Map.Entry<String, CraftCountsRecord> entry : record.counts().entrySet()) {
+            String path = "counts." + entry.getKey();
+            CraftCountsRecord counts = entry.getValue();
+
+            config.set(path + ".daily", counts.dailyCount());
+            config.set(path + ".weekly", counts.weeklyCount());
+            config.set(path + ".total", counts.totalCount());
+            if (counts.lastDailyReset() != null) {
+                config.set(path + ".daily-reset", counts.lastDailyReset().toString());
+            }
+            config.set(path + ".week-number", counts.lastWeekNumber());
+            config.set(path + ".week-year", counts.lastWeekYear());
+        }
+        for (Map.Entry<String, Long> entry : record.cooldowns().entrySet()) {
+            config.set("cooldowns." + entry.getKey(), entry.getValue());
+        }
+        return config;
+    }
+
+    private File getCraftDataFile(UUID playerUUID) {
+        return new File(craftDataFolder, playerUUID + ".yml");
+    }
+
+    private void migrateLegacyCraftData() {
+        if (!legacyCraftDataFile.exists()) return;
+
+        try {
+            YamlConfiguration legacy = YamlConfiguration.loadConfiguration(legacyCraftDataFile);
+            List<PlayerCraftRecord> records = new ArrayList<>();
+            for (String uuidStr : legacy.getKeys(false)) {
+                try {
+                    UUID uuid = UUID.fromString(uuidStr);
+                    ConfigurationSection section = legacy.getConfigurationSection(uuidStr);
+                    if (section == null || getCraftDataFile(uuid).exists()) continue;
+
+                    Map<String, CraftCountsRecord> counts = new HashMap<>();
+                    for (String recipeKey : section.getKeys(false)) {
+                        ConfigurationSection recipeSection = section.getConfigurationSection(recipeKey);
+                        if (recipeSection != null) {
+                            counts.put(recipeKey, readCounts(recipeSection));
+                        }
+                    }
+                    if (!counts.isEmpty()) {
+                        records.add(new PlayerCraftRecord(uuid, counts, Collections.emptyMap()));
+                    }
+                } catch (IllegalArgumentException ignored) {}
+            }
+
+            CraftSaveResult result = saveCraftData(records);
+            if (!result.isComplete()) {
+                plugin.getLogger().warning("Could not migrate craft tracking data for " + result.failedPlayers().size() +
+                        " players, keeping " + legacyCraftDataFile.getName() + " to retry on next start");
+                return;
+            }
+
+            File migrated = new File(plugin.getDataFolder(), "craft-data.yml.migrated");
+            if (legacyCraftDataFile.renameTo(migrated)) {
+                plugin.getLogger().info("Migrated craft tracking data for " + records.size() +
+                        " players to per-player files");
+            } else {
+                plugin.getLogger().warning("Migrated craft tracking data, but could not rename " +
+                        legacyCraftDataFile.getName());
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to migrate craft tracking data: " + e.getMessage());
+        }
+    }
+
+    private record DiscoveryEntry(UUID playerUUID, String recipeKey) {}
+}
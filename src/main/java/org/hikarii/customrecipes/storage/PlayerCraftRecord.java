@@ -0,0 +1,15 @@
+package org.hikarii.customrecipes.storage;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+public record PlayerCraftRecord(UUID playerUUID, Map<String, CraftCountsRecord> counts, Map<String, Long> cooldowns) {
+    public static PlayerCraftRecord empty(UUID playerUUID) {
+        return new PlayerCraftRecord(playerUUID, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty() && cooldowns.isEmpty();
+    }
+}
@@ -0,0 +1,50 @@
+package org.hikarii.customrecipes.storage;
+
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.data.RecipeBitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface PlayerDataStorage {
+    String getName();
+
+    PlayerCraftRecord loadCraftData(UUID playerUUID);
+
+    CraftSaveResult saveCraftData(Collection<PlayerCraftRecord> records);
+
+    void loadDiscoveries(Map<UUID, RecipeBitSet> target);
+
+    void addDiscovery(UUID playerUUID, String recipeKey);
+
+    void loadFavorites(Map<UUID, RecipeBitSet> target);
+
+    void setFavorite(UUID playerUUID, String recipeKey, boolean favorite);
+
+    void close();
+
+    static PlayerDataStorage create(CustomRecipes plugin) {
+        String type = plugin.getConfig().getString("storage.type", "file").toLowerCase();
+        if (!type.equals("sqlite")) {
+            return new FileStorage(plugin);
+        }
+
+        SqliteStorage sqliteStorage = null;
+        try {
+            sqliteStorage = new SqliteStorage(plugin);
+            if (!sqliteStorage.isMigrated()) {
+                new StorageMigrator(plugin).migrate(new FileStorage(plugin), sqliteStorage);
+            }
+            return sqliteStorage;
+        } catch (StorageException e) {
+            if (sqliteStorage != null) {
+                sqliteStorage.close();
+            }
+            // the data files may already have been imported, writing to them now would split the player data
+            plugin.getLogger().severe("Failed to open SQLite storage: " + e.getMessage());
+            plugin.getLogger().severe("Player data persistence is DISABLED: craft limits, cooldowns, discovered " +
+                    "recipes and favorites will not be loaded or saved until storage.type: sqlite can be opened");
+            return new DisabledStorage();
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package org.hikarii.customrecipes.storage;
+
+import org.hikarii.customrecipes.CustomRecipes;
+import org.hikarii.customrecipes.data.RecipeBitSet;
+import org.hikarii.customrecipes.recipe.RecipeManager;
+import java.io.File;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SqliteStorage implements PlayerDataStorage {
+    private static final String DATABASE_FILE_NAME = "player-data.db";
+    private static final String MIGRATED_KEY = "migrated";
+    private static final long CLOSE_TIMEOUT_SECONDS = 10L;
+    private static final long RETRY_DELAY_TICKS = 100L;
+
+    private final CustomRecipes plugin;
+    private final File databaseFile;
+    private final ExecutorService executor;
+    private final Deque<PendingWrite> pendingWrites = new ConcurrentLinkedDeque<>();
+    private final AtomicBoolean retryScheduled = new AtomicBoolean();
+    private Connection connection;
+
+    public SqliteStorage(CustomRecipes plugin) throws StorageException {
+        this.plugin = plugin;
+        this.databaseFile = new File(plugin.getDataFolder(), DATABASE_FILE_NAME);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CustomRecipes-SQLite");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            call(() -> {
+                open();
+                return null;
+            });
+        } catch (StorageException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    @Override
+    public PlayerCraftRecord loadCraftData(UUID playerUUID) {
+        try {
+            return call(() -> readCraftData(playerUUID));
+        } catch (StorageException e) {
+            plugin.getLogger().warning("Failed to load craft data for " + playerUUID + ": " + e.getMessage());
+            return PlayerCraftRecord.empty(playerUUID);
+        }
+    }
+
+    @Override
+    public CraftSaveResult saveCraftData(Collection<PlayerCraftRecord> records) {
+        if (records.isEmpty()) {
+            return new CraftSaveResult(0, Collections.emptySet());
+        }
+
+        List<PlayerCraftRecord> batch = new ArrayList<>(records);
+        try {
+            return new CraftSaveResult(call(() -> writeCraftData(batch)), Collections.emptySet());
+        } catch (StorageException e) {
+            plugin.getLogger().warning("Failed to save craft data for " + batch.size() + " player(s): " + e.getMessage());
+            Set<UUID> failed = new HashSet<>();
+            for (PlayerCraftRecord record : batch) {
+                failed.add(record.playerUUID());
+            }
+            return new CraftSaveResult(0, failed);
+        }
+    }
+
+    @Override
+    public void loadDiscoveries(Map<UUID, RecipeBitSet> target) {
+        target.clear();
+        try {
+            target.putAll(call(() -> readRecipeSets("SELECT uuid, recipe FROM discovered_recipes")));
+        } catch (StorageException e) {
+            plugin.getLogger().warning("Failed to load discovered recipes data: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void addDiscovery(UUID playerUUID, String recipeKey) {
+        enqueue(new PendingWrite(WriteType.ADD_DISCOVERY, playerUUID, recipeKey));
+    }
+
+    @Override
+    public void loadFavorites(Map<UUID, RecipeBitSet> target) {
+        target.clear();
+        try {
+            target.putAll(call(() -> readRecipeSets("SELECT uuid, recipe FROM favorite_recipes")));
+        } catch (StorageException e) {
+            plugin.getLogger().warning("Could not load player favorites: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void setFavorite(UUID playerUUID, String recipeKey, boolean favorite) {
+        enqueue(new PendingWrite(favorite ? WriteType.ADD_FAVORITE : WriteType.REMOVE_FAVORITE,
+                playerUUID, recipeKey));
+    }
+
+    public boolean isMigrated() throws StorageException {
+        return call(() -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT value FROM storage_meta WHERE key = ?")) {
+                statement.setString(1, MIGRATED_KEY);
+                try (ResultSet result = statement.executeQuery()) {
+                    return result.next();
+                }
+            }
+        });
+    }
+
+    public void importData(List<PlayerCraftRecord> craftData, Map<UUID, Set<String>> discoveries,
+                           Map<UUID, Set<String>> favorites) throws StorageException {
+        call(() -> {
+            connection.setAutoCommit(false);
+            try {
+                writeCraftRows(craftData);
+                insertRecipeSets("INSERT OR IGNORE INTO discovered_recipes (uuid, recipe) VALUES (?, ?)", discoveries);
+                insertRecipeSets("INSERT OR IGNORE INTO favorite_recipes (uuid, recipe) VALUES (?, ?)", favorites);
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT OR REPLACE INTO storage_meta (key, value) VALUES (?, ?)")) {
+                    statement.setString(1, MIGRATED_KEY);
+                    statement.setString(2, String.valueOf(System.currentTimeMillis()));
+                    statement.executeUpdate();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.execute(() -> {
+            flushPendingWrites();
+            if (!pendingWrites.isEmpty()) {
+                plugin.getLogger().severe("SQLite storage is closing with " + pendingWrites.size() +
+                        " unsaved player data changes");
+            }
+            try {
+                if (connection != null && !connection.isClosed()) {
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().warning("Failed to close SQLite storage: " + e.getMessage());
+            }
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("SQLite storage did not shut down in time, " +
+                        pendingWrites.size() + " writes were lost");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void open() throws SQLException {
+        if (!plugin.getDataFolder().exists()) {
+            plugin.getDataFolder().mkdirs();
+        }
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("SQLite driver not available", e);
+        }
+
+        connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("CREATE TABLE IF NOT EXISTS craft_counts (" +
+                    "uuid TEXT NOT NULL, recipe TEXT NOT NULL, " +
+                    "daily INTEGER NOT NULL, weekly INTEGER NOT NULL, total INTEGER NOT NULL, " +
+                    "daily_reset TEXT, week_number INTEGER NOT NULL, week_year INTEGER NOT NULL, " +
+                    "PRIMARY KEY (uuid, recipe))");
+            statement.execute("CREATE TABLE IF NOT EXISTS craft_cooldowns (" +
+                    "uuid TEXT NOT NULL, recipe TEXT NOT NULL, last_craft INTEGER NOT NULL, " +
+                    "PRIMARY KEY (uuid, recipe))");
+            statement.execute("CREATE TABLE IF NOT EXISTS discovered_recipes (" +
+                    "uuid TEXT NOT NULL, recipe TEXT NOT NULL, PRIMARY KEY (uuid, recipe))");
+            statement.execute("CREATE TABLE IF NOT EXISTS favorite_recipes (" +
+                    "uuid TEXT NOT NULL, recipe TEXT NOT NULL, PRIMARY KEY (uuid, recipe))");
+            statement.execute("CREATE TABLE IF NOT EXISTS storage_meta (" +
+                    "key TEXT PRIMARY KEY, value TEXT)");
+        }
+    }
+
+    private PlayerCraftRecord readCraftData(UUID playerUUID) throws SQLException {
+        String uuid = playerUUID.toString();
+        Map<String, CraftCountsRecord> counts = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT recipe, daily, weekly, total, daily_reset, week_number, week_year " +
+                        "FROM craft_counts WHERE uuid = ?")) {
+            statement.setString(1, uuid);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    LocalDate lastDailyReset = LocalDate.now();
+                    String dailyResetStr = result.getString("daily_reset");
+                    if (dailyResetStr != null) {
+                        try {
+                            lastDailyReset = LocalDate.parse(dailyResetStr);
+                        } catch (Exception ignored) {}
+                    }
+                    counts.put(result.getString("recipe"), new CraftCountsRecord(
+                            result.getInt("daily"),
+                            result.getInt("weekly"),
+                            result.getInt("total"),
+                            lastDailyReset,
+                            result.getInt("week_number"),
+                            result.getInt("week_year")
+                    ));
+                }
+            }
+        }
+
+        Map<String, Long> cooldowns = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT recipe, last_craft FROM craft_cooldowns WHERE uuid = ?")) {
+            statement.setString(1, uuid);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    cooldowns.put(result.getString("recipe"), result.getLong("last_craft"));
+                }
+            }
+        }
+        return new PlayerCraftRecord(playerUUID, counts, cooldowns);
+    }
+
+    private long writeCraftData(List<PlayerCraftRecord> records) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            long rows = writeCraftRows(records);
+            connection.commit();
+            return rows;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private long writeCraftRows(List<PlayerCraftRecord> records) throws SQLException {
+        long rows = 0;
+        try (PreparedStatement counts = connection.prepareStatement(
+                "INSERT OR REPLACE INTO craft_counts " +
+                        "(uuid, recipe, daily, weekly, total, daily_reset, week_number, week_year) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement cooldowns = connection.prepareStatement(
+                     "INSERT OR REPLACE INTO craft_cooldowns (uuid, recipe, last_craft) VALUES (?, ?, ?)")) {
+            for (PlayerCraftRecord record : records) {
+                String uuid = record.playerUUID().toString();
+                for (Map.Entry<String, CraftCountsRecord> entry : record.counts().entrySet()) {
+                    CraftCountsRecord value = entry.getValue();
+                    counts.setString(1, uuid);
+                    counts.setString(2, entry.getKey());
+                    counts.setInt(3, value.dailyCount());
+                    counts.setInt(4, value.weeklyCount());
+                    counts.setInt(5, value.totalCount());
+                    counts.setString(6, value.lastDailyReset() != null ? value.lastDailyReset().toString() : null);
+                    counts.setInt(7, value.lastWeekNumber());
+                    counts.setInt(8, value.lastWeekYear());
+                    counts.addBatch();
+                    rows++;
+                }
+                for (Map.Entry<String, Long> entry : record.cooldowns().entrySet()) {
+                    cooldowns.setString(1, uuid);
+                    cooldowns.setString(2, entry.getKey());
+                    cooldowns.setLong(3, entry.getValue());
+                    cooldowns.addBatch();
+                    rows++;
+                }
+            }
+            counts.executeBatch();
+            cooldowns.executeBatch();
+        }
+        return rows;
+    }
+
+    private Map<UUID, RecipeBitSet> readRecipeSets(String query) throws SQLException {
+        RecipeManager recipeManager = plugin.getRecipeManager();
+        Map<UUID, RecipeBitSet> sets = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(query)) {
+            while (result.next()) {
+                try {
+                    UUID uuid = UUID.fromString(result.getString("uuid"));
+                    sets.computeIfAbsent(uuid, k -> new RecipeBitSet())
+                            .set(recipeManager.assignOrdinal(result.getString("recipe")));
+                } catch (IllegalArgumentException ignored) {}
+            }
+        }
+        return sets;
+    }
+
+    private void insertRecipeSets(String sql, Map<UUID, Set<String>> sets) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Map.Entry<UUID, Set<String>> entry : sets.entrySet()) {
+                for (String recipeKey : entry.getValue()) {
+                    statement.setString(1, entry.getKey().toString());
+                    statement.setString(2, recipeKey);
+                    statement.addBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void enqueue(PendingWrite write) {
+        pendingWrites.add(write);
+        try {
+            executor.execute(this::flushPendingWrites);
+        } catch (RejectedExecutionException e) {
+            plugin.getLogger().warning("SQLite storage is closed, dropping write for " + write.playerUUID());
+        }
+    }
+
+    private void flushPendingWrites() {
+        if (pendingWrites.isEmpty() || connection == null) {
+            return;
+        }
+
+        List<PendingWrite> batch = new ArrayList<>();
+        PendingWrite write;
+        while ((write = pendingWrites.poll()) != null) {
+            batch.add(write);
+        }
+
+        Map<PendingWrite, Boolean> favorites = new LinkedHashMap<>();
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement addDiscovery = connection.prepareStatement(
+                    "INSERT OR IGNORE INTO discovered_recipes (uuid, recipe) VALUES (?, ?)");
+                 PreparedStatement addFavorite = connection.prepareStatement(
+                         "INSERT OR IGNORE INTO favorite_recipes (uuid, recipe) VALUES (?, ?)");
+                 PreparedStatement removeFavorite = connection.prepareStatement(
+                         "DELETE FROM favorite_recipes WHERE uuid = ? AND recipe = ?")) {
+                for (PendingWrite pending : batch) {
+                    if (pending.type() == WriteType.ADD_DISCOVERY) {
+                        addDiscovery.setString(1, pending.playerUUID().toString());
+                        addDiscovery.setString(2, pending.recipeKey());
+                        addDiscovery.addBatch();
+                    } else {
+                        // only the last toggle of a favorite matters, which keeps the two batches order independent
+                        PendingWrite key = new PendingWrite(WriteType.ADD_FAVORITE, pending.playerUUID(), pending.recipeKey());
+                        favorites.remove(key);
+                        favorites.put(key, pending.type() == WriteType.ADD_FAVORITE);
+                    }
+                }
+                for (Map.Entry<PendingWrite, Boolean> entry : favorites.entrySet()) {
+                    PreparedStatement statement = entry.getValue() ? addFavorite : removeFavorite;
+                    statement.setString(1, entry.getKey().playerUUID().toString());
+                    statement.setString(2, entry.getKey().recipeKey());
+                    statement.addBatch();
+                }
+                addDiscovery.executeBatch();
+                addFavorite.executeBatch();
+                removeFavorite.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                pendingWrites.addFirst(batch.get(i));
+            }
+            plugin.getLogger().warning("Failed to write " + batch.size() + " player data changes, retrying: " + e.getMessage());
+            scheduleRetry();
+        }
+    }
+
+    private void scheduleRetry() {
+        if (!plugin.isEnabled() || !retryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
+            retryScheduled.set(false);
+            try {
+                executor.execute(this::flushPendingWrites);
+            } catch (RejectedExecutionException ignored) {}
+        }, RETRY_DELAY_TICKS);
+    }
+
+    private <T> T call(Callable<T> task) throws StorageException {
+        try {
+            return executor.submit(() -> {
+                flushPendingWrites();
+                return task.call();
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while waiting for SQLite storage", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new StorageException(cause.getMessage(), cause);
+        } catch (RejectedExecutionException e) {
+            throw new StorageException("SQLite storage is closed", e);
+        }
+    }
+
+    private enum WriteType {
+        ADD_DISCOVERY,
+        ADD_FAVORITE,
+        REMOVE_FAVORITE
+    }
+
+    private record PendingWrite(WriteType type, UUID playerUUID, String recipeKey) {}
+}
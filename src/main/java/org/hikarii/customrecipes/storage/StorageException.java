@@ -0,0 +1,11 @@
+package org.hikarii.customrecipes.storage;
+
+public class StorageException extends Exception {
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,28 @@
+package org.hikarii.customrecipes.storage;
+
+import org.hikarii.customrecipes.CustomRecipes;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public class StorageMigrator {
+    private final CustomRecipes plugin;
+
+    public StorageMigrator(CustomRecipes plugin) {
+        this.plugin = plugin;
+    }
+
+    public void migrate(FileStorage source, SqliteStorage target) throws StorageException {
+        long start = System.currentTimeMillis();
+        List<PlayerCraftRecord> craftData = source.loadAllCraftData();
+        Map<UUID, Set<String>> discoveries = source.exportDiscoveries();
+        Map<UUID, Set<String>> favorites = source.exportFavorites();
+        target.importData(craftData, discoveries, favorites);
+
+        plugin.getLogger().info("Imported player data into SQLite storage: " + craftData.size() +
+                " craft records, " + discoveries.size() + " discovery sets, " + favorites.size() +
+                " favorite sets (" + (System.currentTimeMillis() - start) + "ms)");
+        plugin.getLogger().info("Original data files were left in place and are no longer used");
+    }
+}
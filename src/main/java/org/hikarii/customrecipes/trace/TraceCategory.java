@@ -0,0 +1,20 @@
+package org.hikarii.customrecipes.trace;
+
+public enum TraceCategory {
+    CRAFT("craft"),
+    PREVIEW("preview"),
+    FURNACE("furnace"),
+    VANILLA("vanilla"),
+    RECIPE_BOOK("recipe-book"),
+    PLACEMENT("placement");
+
+    private final String configKey;
+
+    TraceCategory(String configKey) {
+        this.configKey = configKey;
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+}
@@ -0,0 +1,178 @@
+package org.hikarii.customrecipes.trace;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.hikarii.customrecipes.CustomRecipes;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+
+public class TraceManager {
+    private static final String TRACE_FILE_NAME = "trace.log";
+    private static final int DEFAULT_BUFFER_SIZE = 4096;
+    private static final int DEFAULT_MAX_FILE_SIZE_MB = 10;
+    private static final long FLUSH_INTERVAL_TICKS = 20L;
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final CustomRecipes plugin;
+    private final File traceFile;
+    private final File rolledTraceFile;
+    private final boolean[] enabledCategories;
+    private final Object bufferLock = new Object();
+    private final Object writeLock = new Object();
+    private volatile boolean consoleOutput;
+    private volatile long maxFileBytes;
+    private TraceEntry[] buffer;
+    private int head;
+    private int size;
+    private long droppedEntries;
+    private long totalDropped;
+    private int writerTaskId = -1;
+
+    public TraceManager(CustomRecipes plugin) {
+        this.plugin = plugin;
+        this.traceFile = new File(plugin.getDataFolder(), TRACE_FILE_NAME);
+        this.rolledTraceFile = new File(plugin.getDataFolder(), TRACE_FILE_NAME + ".1");
+        this.enabledCategories = new boolean[TraceCategory.values().length];
+        this.buffer = new TraceEntry[DEFAULT_BUFFER_SIZE];
+        reload();
+    }
+
+    public void reload() {
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("trace");
+        consoleOutput = section != null && section.getBoolean("console", false);
+        int bufferSize = section != null ? section.getInt("buffer-size", DEFAULT_BUFFER_SIZE) : DEFAULT_BUFFER_SIZE;
+        int maxFileSizeMb = section != null ? section.getInt("max-file-size-mb", DEFAULT_MAX_FILE_SIZE_MB) : DEFAULT_MAX_FILE_SIZE_MB;
+        maxFileBytes = Math.max(1, maxFileSizeMb) * 1024L * 1024L;
+        for (TraceCategory category : TraceCategory.values()) {
+            enabledCategories[category.ordinal()] = section == null ||
+                    section.getBoolean("categories." + category.getConfigKey(), true);
+        }
+
+        bufferSize = Math.max(64, bufferSize);
+        if (bufferSize != buffer.length) {
+            flush();
+            synchronized (bufferLock) {
+                buffer = new TraceEntry[bufferSize];
+                head = 0;
+                size = 0;
+            }
+        }
+    }
+
+    public void start() {
+        if (writerTaskId != -1) {
+            return;
+        }
+        writerTaskId = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+                this::flush, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS).getTaskId();
+    }
+
+    public void shutdown() {
+        if (writerTaskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(writerTaskId);
+            writerTaskId = -1;
+        }
+        flush();
+    }
+
+    public boolean isEnabled(TraceCategory category) {
+        return plugin.isDebugMode() && enabledCategories[category.ordinal()];
+    }
+
+    public void trace(TraceCategory category, Supplier<String> message) {
+        if (!isEnabled(category)) {
+            return;
+        }
+        append(new TraceEntry(System.currentTimeMillis(), category, Thread.currentThread().getName(), message.get()));
+    }
+
+    public long getTotalDropped() {
+        synchronized (bufferLock) {
+            return totalDropped;
+        }
+    }
+
+    public File getTraceFile() {
+        return traceFile;
+    }
+
+    private void append(TraceEntry entry) {
+        synchronized (bufferLock) {
+            int capacity = buffer.length;
+            buffer[(head + size) % capacity] = entry;
+            if (size < capacity) {
+                size++;
+            } else {
+                head = (head + 1) % capacity;
+                droppedEntries++;
+                totalDropped++;
+            }
+        }
+    }
+
+    public void flush() {
+        TraceEntry[] entries;
+        long dropped;
+        synchronized (bufferLock) {
+            if (size == 0 && droppedEntries == 0) {
+                return;
+            }
+            entries = new TraceEntry[size];
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % buffer.length;
+                entries[i] = buffer[index];
+                buffer[index] = null;
+            }
+            dropped = droppedEntries;
+            head = 0;
+            size = 0;
+            droppedEntries = 0;
+        }
+
+        synchronized (writeLock) {
+            try {
+                if (!traceFile.getParentFile().exists()) {
+                    traceFile.getParentFile().mkdirs();
+                }
+                if (traceFile.length() >= maxFileBytes) {
+                    Files.move(traceFile.toPath(), rolledTraceFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(traceFile.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    if (dropped > 0) {
+                        writer.write(TIME_FORMAT.format(Instant.now()) + " [TRACE] " + dropped +
+                                " entries dropped (buffer full)");
+                        writer.newLine();
+                    }
+                    for (TraceEntry entry : entries) {
+                        writer.write(entry.format());
+                        writer.newLine();
+                    }
+                }
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to write trace file: " + e.getMessage());
+            }
+
+            if (consoleOutput) {
+                for (TraceEntry entry : entries) {
+                    plugin.getLogger().info("[" + entry.category() + "] " + entry.message());
+                }
+            }
+        }
+    }
+
+    private record TraceEntry(long timestamp, TraceCategory category, String thread, String message) {
+        String format() {
+            return TIME_FORMAT.format(Instant.ofEpochMilli(timestamp)) + " [" + category + "] [" + thread + "] " + message;
+        }
+    }
+}